@@ -3,6 +3,7 @@ plugins {
     id("org.springframework.boot") version "2.7.18"
     id("io.spring.dependency-management") version "1.1.7"
     id("application")
+    id("me.champeau.jmh") version "0.7.2"
 }
 
 version = "1.0"
@@ -14,18 +15,69 @@ repositories {
 dependencies {
     implementation("org.springframework.boot:spring-boot-starter-web")
     implementation ("org.springframework.boot:spring-boot-starter-webflux")
+    implementation("org.springframework.boot:spring-boot-starter-actuator")
+    runtimeOnly("io.micrometer:micrometer-registry-prometheus")
+    // Трассировка OpenTelemetry: выгрузка в журнал или в коллектор по OTLP/HTTP через HTTP-клиент JDK
+    implementation(platform("io.opentelemetry:opentelemetry-bom:1.38.0"))
+    implementation("io.opentelemetry:opentelemetry-api")
+    implementation("io.opentelemetry:opentelemetry-sdk")
+    implementation("io.opentelemetry:opentelemetry-exporter-logging")
+    implementation("io.opentelemetry:opentelemetry-exporter-otlp") {
+        exclude(group = "io.opentelemetry", module = "opentelemetry-exporter-sender-okhttp")
+    }
+    runtimeOnly("io.opentelemetry:opentelemetry-exporter-sender-jdk")
+    compileOnly("io.prometheus:simpleclient_tracer_common")
     testImplementation("org.springframework.boot:spring-boot-starter-test")
     testImplementation("org.mockito:mockito-junit-jupiter")
+    testImplementation("io.opentelemetry:opentelemetry-sdk-testing")
 }
 
 application {
     mainClass.set("neoflex.VacationPayCalculatorApplication")
 }
 
+// Нагрузочный сценарий с заглушкой isdayoff.ru (src/loadTest/java), запускается задачей loadTest
+val loadTest: SourceSet by sourceSets.creating {
+    compileClasspath += sourceSets.main.get().output
+    runtimeClasspath += sourceSets.main.get().output
+}
+
+configurations["loadTestImplementation"].extendsFrom(configurations.implementation.get())
+configurations["loadTestRuntimeOnly"].extendsFrom(configurations.runtimeOnly.get())
+
 tasks.test {
     useJUnitPlatform()
 }
 
+tasks.register<JavaExec>("loadTest") {
+    group = "verification"
+    description = "Нагрузочный сценарий /calculate с локальной заглушкой isdayoff.ru: пропускная способность, p50/p99/p999, ошибки"
+    mainClass.set("neoflex.loadtest.LoadTestRunner")
+    classpath = loadTest.runtimeClasspath
+    systemProperty("loadtest.report-file", layout.buildDirectory.file("reports/loadtest/summary.txt").get().asFile)
+    systemProperties(project.properties.filterKeys { it.startsWith("loadtest.") || it.startsWith("stub.") })
+}
+
+tasks.register<JavaExec>("loadTestVirtualThreads") {
+    group = "verification"
+    description = "Нагрузочный сценарий loadTest на пуле потоков Tomcat и на виртуальных потоках с результатами рядом (Java 21+)"
+    mainClass.set("neoflex.loadtest.LoadTestRunner")
+    classpath = loadTest.runtimeClasspath
+    systemProperty("loadtest.compare-virtual-threads", "true")
+    systemProperty("loadtest.report-file", layout.buildDirectory.file("reports/loadtest/virtual-threads.txt").get().asFile)
+    systemProperties(project.properties.filterKeys { it.startsWith("loadtest.") || it.startsWith("stub.") })
+}
+
+jmh {
+    jmhVersion.set("1.37")
+    warmupIterations.set(3)
+    iterations.set(5)
+    fork.set(1)
+    profilers.set(listOf("gc"))
+    resultFormat.set("JSON")
+    resultsFile.set(layout.buildDirectory.file("reports/jmh/results.json"))
+}
+
 tasks.jar {
     archiveBaseName.set("vacation-pay-calculator")
     archiveVersion.set("1.0")
@@ -33,4 +85,59 @@ tasks.jar {
     manifest {
         attributes("Main-Class" to "neoflex.VacationPayCalculatorApplication")
     }
-}
\ No newline at end of file
+}
+// Быстрый запуск: архив AppCDS по классам, загружаемым при старте, и сравнение времени запуска и RSS.
+// Архив записывается пробным запуском (JDK 13+) и подключается параметром -XX:SharedArchiveFile.
+// Classpath состоит только из JAR-файлов, так как AppCDS не архивирует классы из каталогов
+val cdsArchiveFile = layout.buildDirectory.file("cds/vacation-pay-calculator.jsa")
+val startupReportFile = layout.buildDirectory.file("reports/startup/startup.tsv")
+val startupArgs = listOf(
+    "--startup.exit-after-start=true",
+    "--startup.report-file=${startupReportFile.get().asFile}",
+    "--server.port=0",
+    "--management.server.port=0",
+    "--warmup.enabled=false"
+)
+
+tasks.register<JavaExec>("cdsArchive") {
+    group = "fast startup"
+    description = "Записывает архив AppCDS пробным запуском приложения"
+    dependsOn(tasks.jar)
+    mainClass.set(application.mainClass)
+    classpath = files(tasks.jar) + configurations.runtimeClasspath.get()
+    jvmArgs("-XX:ArchiveClassesAtExit=${cdsArchiveFile.get().asFile}")
+    args(startupArgs + "--startup.variant=cds-training")
+    outputs.file(cdsArchiveFile)
+    doFirst { cdsArchiveFile.get().asFile.parentFile.mkdirs() }
+}
+
+tasks.register<JavaExec>("startupDefault") {
+    group = "fast startup"
+    description = "Запускает приложение без архива AppCDS и записывает время запуска и RSS"
+    dependsOn(tasks.jar)
+    mainClass.set(application.mainClass)
+    classpath = files(tasks.jar) + configurations.runtimeClasspath.get()
+    args(startupArgs + "--startup.variant=default")
+    doFirst { startupReportFile.get().asFile.delete() }
+}
+
+tasks.register<JavaExec>("startupCds") {
+    group = "fast startup"
+    description = "Запускает приложение с архивом AppCDS и записывает время запуска и RSS"
+    dependsOn("cdsArchive")
+    mustRunAfter("startupDefault")
+    mainClass.set(application.mainClass)
+    classpath = files(tasks.jar) + configurations.runtimeClasspath.get()
+    jvmArgs("-XX:SharedArchiveFile=${cdsArchiveFile.get().asFile}")
+    args(startupArgs + "--startup.variant=appcds")
+}
+
+tasks.register("startupReport") {
+    group = "fast startup"
+    description = "Сравнивает время запуска и RSS приложения без архива AppCDS и с ним"
+    dependsOn("startupDefault", "startupCds")
+    doLast {
+        println("вариант\tзапуск, мс\tRSS, КБ")
+        println(startupReportFile.get().asFile.readText().trim())
+    }
+}
@@ -0,0 +1,75 @@
+package neoflex.benchmark;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.opentelemetry.api.OpenTelemetry;
+import neoflex.domain.calendar.CalendarCountries;
+import neoflex.domain.calendar.CalendarProvider;
+import neoflex.domain.calendar.CalendarStore;
+import neoflex.domain.calendar.YearCalendar;
+import neoflex.domain.service.DayStatusService;
+import reactor.core.publisher.Mono;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+
+/**
+ * Набор данных для бенчмарков: {@link DayStatusService} с заранее загруженными в память календарями,
+ * в которых нерабочими считаются суббота и воскресенье. Бенчмарки не обращаются ни к сети, ни к диску
+ */
+final class CalendarFixture {
+
+    /**
+     * Первый год, календарь которого загружается заранее
+     */
+    static final int FIRST_YEAR = 2020;
+
+    /**
+     * Последний год, календарь которого загружается заранее
+     */
+    static final int LAST_YEAR = 2040;
+
+    private CalendarFixture() {
+    }
+
+    /**
+     * Создаёт сервис рабочих дней и загружает в него календари лет с {@link #FIRST_YEAR} по {@link #LAST_YEAR}
+     *
+     * @return сервис рабочих дней с прогретым кешем
+     */
+    static DayStatusService preloadedDayStatusService() {
+        CalendarProvider provider = new CalendarProvider() {
+            @Override
+            public String getName() {
+                return "fixture";
+            }
+
+            @Override
+            public Mono<YearCalendar> getYearCalendar(String country, int year) {
+                return Mono.just(weekendCalendar(year));
+            }
+        };
+        DayStatusService dayStatusService = new DayStatusService(provider, CalendarStore.disabled(),
+                CalendarCountries.defaults(), Duration.ofHours(24), 32, Duration.ofHours(1),
+                2000, 2100, new SimpleMeterRegistry(), OpenTelemetry.noop().getTracer(DayStatusService.class.getName()));
+        for (int year = FIRST_YEAR; year <= LAST_YEAR; year++) {
+            dayStatusService.getYearCalendar(year);
+        }
+        return dayStatusService;
+    }
+
+    /**
+     * Строит календарь года, в котором нерабочими являются только суббота и воскресенье
+     *
+     * @param year год
+     * @return календарь года
+     */
+    private static YearCalendar weekendCalendar(int year) {
+        StringBuilder codes = new StringBuilder(366);
+        for (LocalDate date = LocalDate.of(year, 1, 1); date.getYear() == year; date = date.plusDays(1)) {
+            boolean weekend = date.getDayOfWeek() == DayOfWeek.SATURDAY || date.getDayOfWeek() == DayOfWeek.SUNDAY;
+            codes.append(weekend ? '1' : '0');
+        }
+        return YearCalendar.parse(year, codes);
+    }
+}
@@ -0,0 +1,59 @@
+package neoflex.benchmark;
+
+import neoflex.domain.service.DayStatusService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Бенчмарк обращений к прогретому кешу календарей {@link DayStatusService}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CalendarLookupBenchmark {
+
+    /**
+     * Количество дат, по которым циклически проходит бенчмарк
+     */
+    private static final int DATES_COUNT = 1024;
+
+    private DayStatusService dayStatusService;
+
+    private LocalDate[] dates;
+
+    private int next;
+
+    @Setup
+    public void setUp() {
+        dayStatusService = CalendarFixture.preloadedDayStatusService();
+        dates = new LocalDate[DATES_COUNT];
+        LocalDate first = LocalDate.of(CalendarFixture.FIRST_YEAR, 1, 1);
+        for (int i = 0; i < DATES_COUNT; i++) {
+            dates[i] = first.plusDays(i * 7L);
+        }
+    }
+
+    @Benchmark
+    public boolean isWorkDay() {
+        LocalDate date = dates[next++ & (DATES_COUNT - 1)];
+        return dayStatusService.isWorkDay(date);
+    }
+
+    @Benchmark
+    public int countWorkDaysWithinYear() {
+        return dayStatusService.countWorkDays(LocalDate.of(2025, 1, 9), LocalDate.of(2025, 12, 24));
+    }
+
+    @Benchmark
+    public int countWorkDaysAcrossYears() {
+        return dayStatusService.countWorkDays(LocalDate.of(2024, 12, 20), LocalDate.of(2034, 1, 10));
+    }
+}
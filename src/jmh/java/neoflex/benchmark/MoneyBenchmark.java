@@ -0,0 +1,48 @@
+package neoflex.benchmark;
+
+import neoflex.domain.strategy.PayStrategy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Бенчмарк формулы отпускных: прежний расчёт в {@code double}, расчёт в целых копейках
+ * и эталонный расчёт в {@link BigDecimal}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MoneyBenchmark {
+
+    private static final BigDecimal AVERAGE_MONTH_DAYS = new BigDecimal("29.3");
+
+    public double averageSalary = 87_654.32;
+
+    public int days = 28;
+
+    @Benchmark
+    public double doublePath() {
+        double oneDayPay = averageSalary / PayStrategy.AVERAGE_MONTH_DAYS;
+        return Math.round(oneDayPay * days * 100.0) / 100.0;
+    }
+
+    @Benchmark
+    public double fixedPoint() {
+        return PayStrategy.payFor(averageSalary, days);
+    }
+
+    @Benchmark
+    public double bigDecimal() {
+        return BigDecimal.valueOf(averageSalary)
+                .multiply(BigDecimal.valueOf(days))
+                .divide(AVERAGE_MONTH_DAYS, 2, RoundingMode.HALF_UP)
+                .doubleValue();
+    }
+}
@@ -0,0 +1,54 @@
+package neoflex.benchmark;
+
+import neoflex.domain.service.DayStatusService;
+import neoflex.domain.strategy.PayStrategyByDates;
+import neoflex.domain.strategy.PayStrategyByDays;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Бенчмарк расчёта отпускных по дням и по датам на прогретом кеше календарей.
+ * Длина диапазона дат меняется от недели до десяти лет
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PayStrategyBenchmark {
+
+    /**
+     * Длина отпуска в днях для расчёта по датам
+     */
+    @Param({"7", "30", "365", "3650"})
+    public int rangeDays;
+
+    private PayStrategyByDays byDays;
+
+    private PayStrategyByDates byDates;
+
+    @Setup
+    public void setUp() {
+        DayStatusService dayStatusService = CalendarFixture.preloadedDayStatusService();
+        LocalDate startDate = LocalDate.of(2025, 3, 3);
+        byDays = new PayStrategyByDays(87_654.32, 28);
+        byDates = new PayStrategyByDates(87_654.32, startDate, startDate.plusDays(rangeDays - 1), dayStatusService);
+    }
+
+    @Benchmark
+    public double calculateByDays() {
+        return byDays.calculate();
+    }
+
+    @Benchmark
+    public double calculateByDates() {
+        return byDates.calculate();
+    }
+}
@@ -0,0 +1,54 @@
+package neoflex.benchmark;
+
+import neoflex.domain.service.DayStatusService;
+import neoflex.domain.strategy.PayStrategy;
+import neoflex.domain.strategy.PayStrategyBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Бенчмарк проверки входных данных и построения стратегии {@link PayStrategyBuilder}
+ * в том виде, в каком это происходит на каждый запрос
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PayStrategyBuilderBenchmark {
+
+    private DayStatusService dayStatusService;
+
+    private LocalDate startDate;
+
+    private LocalDate endDate;
+
+    @Setup
+    public void setUp() {
+        dayStatusService = CalendarFixture.preloadedDayStatusService();
+        startDate = LocalDate.of(2025, 4, 14);
+        endDate = LocalDate.of(2025, 4, 27);
+    }
+
+    @Benchmark
+    public PayStrategy buildByDays() {
+        return new PayStrategyBuilder(dayStatusService)
+                .withAverageSalary(60_000.0)
+                .withVacationDays(14)
+                .build();
+    }
+
+    @Benchmark
+    public PayStrategy buildByDates() {
+        return new PayStrategyBuilder(dayStatusService)
+                .withAverageSalary(60_000.0)
+                .withStartEndDates(startDate, endDate)
+                .build();
+    }
+}
@@ -0,0 +1,78 @@
+package neoflex.benchmark;
+
+import io.opentelemetry.api.OpenTelemetry;
+import neoflex.domain.service.DayStatusService;
+import neoflex.domain.service.VacationPayService;
+import neoflex.domain.strategy.PayStrategyBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Сравнение расчёта через {@link VacationPayService} с прежним путём обработки запроса:
+ * новый {@link PayStrategyBuilder} и новая стратегия на каждый расчёт.
+ * Разница в {@code gc.alloc.rate.norm} показывает объём памяти, сэкономленный на запросе
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class VacationPayServiceBenchmark {
+
+    private DayStatusService dayStatusService;
+
+    private VacationPayService vacationPayService;
+
+    private double averageSalary;
+
+    private int vacationDays;
+
+    private LocalDate startDate;
+
+    private LocalDate endDate;
+
+    @Setup
+    public void setUp() {
+        dayStatusService = CalendarFixture.preloadedDayStatusService();
+        vacationPayService = new VacationPayService(dayStatusService,
+                OpenTelemetry.noop().getTracer(VacationPayService.class.getName()));
+        averageSalary = 60_000.0;
+        vacationDays = 14;
+        startDate = LocalDate.of(2025, 4, 14);
+        endDate = LocalDate.of(2025, 4, 27);
+    }
+
+    @Benchmark
+    public double serviceByDays() {
+        return vacationPayService.calculateByDays(averageSalary, vacationDays);
+    }
+
+    @Benchmark
+    public double builderByDays() {
+        return new PayStrategyBuilder(dayStatusService)
+                .withAverageSalary(averageSalary)
+                .withVacationDays(vacationDays)
+                .build()
+                .calculate();
+    }
+
+    @Benchmark
+    public double serviceByDates() {
+        return vacationPayService.calculateByDates(averageSalary, startDate, endDate);
+    }
+
+    @Benchmark
+    public double builderByDates() {
+        return new PayStrategyBuilder(dayStatusService)
+                .withAverageSalary(averageSalary)
+                .withStartEndDates(startDate, endDate)
+                .build()
+                .calculate();
+    }
+}
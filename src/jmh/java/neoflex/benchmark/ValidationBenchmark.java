@@ -0,0 +1,62 @@
+package neoflex.benchmark;
+
+import neoflex.domain.service.DayStatusService;
+import neoflex.domain.strategy.PayStrategyBuilder;
+import neoflex.domain.strategy.ValidationError;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Бенчмарк отклонения некорректного запроса: исключение из {@link PayStrategyBuilder#build()}
+ * с созданием тела ответа в обработчике против заранее созданной {@link ValidationError}.
+ * Выделение памяти сравнивается запуском с профилировщиком {@code -prof gc}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ValidationBenchmark {
+
+    private DayStatusService dayStatusService;
+
+    private LocalDate startDate;
+
+    private LocalDate endDate;
+
+    @Setup
+    public void setUp() {
+        dayStatusService = CalendarFixture.preloadedDayStatusService();
+        startDate = LocalDate.of(2025, 4, 27);
+        endDate = LocalDate.of(2025, 4, 14);
+    }
+
+    @Benchmark
+    public Map<String, String> rejectByException() {
+        try {
+            new PayStrategyBuilder(dayStatusService)
+                    .withAverageSalary(60_000.0)
+                    .withStartEndDates(startDate, endDate)
+                    .build();
+            return null;
+        } catch (IllegalArgumentException e) {
+            return Map.of("error", e.getMessage());
+        }
+    }
+
+    @Benchmark
+    public Map<String, String> rejectByResult() {
+        ValidationError error = new PayStrategyBuilder(dayStatusService)
+                .withAverageSalary(60_000.0)
+                .withStartEndDates(startDate, endDate)
+                .validate();
+        return error != null ? error.getBody() : null;
+    }
+}
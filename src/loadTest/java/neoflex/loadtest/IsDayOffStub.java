@@ -0,0 +1,187 @@
+package neoflex.loadtest;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.Year;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Заглушка isdayoff.ru, работающая в том же процессе. Отвечает на {@code GET /api/getdata?year=&pre=1}
+ * календарём, в котором нерабочими днями считаются суббота и воскресенье, и позволяет имитировать
+ * задержку ответа, долю ошибок 503 и медленную передачу тела ответа небольшими порциями
+ */
+final class IsDayOffStub implements AutoCloseable {
+
+    /**
+     * Размер порции тела ответа при медленной передаче
+     */
+    private static final int SLOW_DRIP_CHUNK = 16;
+
+    private final HttpServer server;
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    /**
+     * Задержка перед ответом в миллисекундах
+     */
+    private final long latencyMillis;
+
+    /**
+     * Доля запросов, на которые возвращается ошибка 503
+     */
+    private final double errorRate;
+
+    /**
+     * Доля ответов, тело которых передаётся медленно
+     */
+    private final double slowDripRate;
+
+    /**
+     * Пауза между порциями тела при медленной передаче в миллисекундах
+     */
+    private final long slowDripPauseMillis;
+
+    /**
+     * Количество обработанных запросов
+     */
+    private final AtomicLong requests = new AtomicLong();
+
+    /**
+     * Запускает заглушку на свободном порту
+     *
+     * @param latencyMillis       задержка перед ответом в миллисекундах
+     * @param errorRate           доля ответов 503, от 0 до 1
+     * @param slowDripRate        доля медленно передаваемых ответов, от 0 до 1
+     * @param slowDripPauseMillis пауза между порциями тела медленного ответа в миллисекундах
+     * @throws IOException если не удалось открыть порт
+     */
+    IsDayOffStub(long latencyMillis, double errorRate, double slowDripRate, long slowDripPauseMillis) throws IOException {
+        this.latencyMillis = latencyMillis;
+        this.errorRate = errorRate;
+        this.slowDripRate = slowDripRate;
+        this.slowDripPauseMillis = slowDripPauseMillis;
+        this.server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/api/getdata", this::handle);
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    /**
+     * @return базовый URL заглушки для параметра {@code calendar.isdayoff.base-url}
+     */
+    String getBaseUrl() {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    /**
+     * @return количество обработанных запросов
+     */
+    long getRequests() {
+        return requests.get();
+    }
+
+    /**
+     * Обрабатывает запрос календаря года
+     *
+     * @param exchange HTTP-обмен
+     * @throws IOException если клиент закрыл соединение
+     */
+    private void handle(HttpExchange exchange) throws IOException {
+        requests.incrementAndGet();
+        try {
+            sleep(latencyMillis);
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            Integer year = parseYear(exchange.getRequestURI().getQuery());
+            if (year == null) {
+                exchange.sendResponseHeaders(400, -1);
+                return;
+            }
+            if (random.nextDouble() < errorRate) {
+                exchange.sendResponseHeaders(503, -1);
+                return;
+            }
+
+            byte[] body = weekendCodes(year).getBytes(StandardCharsets.US_ASCII);
+            exchange.getResponseHeaders().set("Content-Type", "text/plain");
+            exchange.sendResponseHeaders(200, body.length);
+            OutputStream out = exchange.getResponseBody();
+            if (random.nextDouble() < slowDripRate) {
+                for (int offset = 0; offset < body.length; offset += SLOW_DRIP_CHUNK) {
+                    out.write(body, offset, Math.min(SLOW_DRIP_CHUNK, body.length - offset));
+                    out.flush();
+                    sleep(slowDripPauseMillis);
+                }
+            } else {
+                out.write(body);
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    /**
+     * Извлекает год из строки запроса
+     *
+     * @param query строка запроса
+     * @return год или null, если параметр отсутствует или некорректен
+     */
+    private static Integer parseYear(String query) {
+        if (query == null) {
+            return null;
+        }
+        for (String parameter : query.split("&")) {
+            if (parameter.startsWith("year=")) {
+                try {
+                    return Integer.parseInt(parameter.substring("year=".length()));
+                } catch (NumberFormatException e) {
+                    return null;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Строит коды дней года в формате isdayoff.ru: 1 — суббота и воскресенье, 0 — остальные дни
+     *
+     * @param year год
+     * @return коды дней
+     */
+    private static String weekendCodes(int year) {
+        int daysCount = Year.of(year).length();
+        StringBuilder codes = new StringBuilder(daysCount);
+        LocalDate date = LocalDate.of(year, 1, 1);
+        for (int i = 0; i < daysCount; i++, date = date.plusDays(1)) {
+            DayOfWeek dayOfWeek = date.getDayOfWeek();
+            codes.append(dayOfWeek == DayOfWeek.SATURDAY || dayOfWeek == DayOfWeek.SUNDAY ? '1' : '0');
+        }
+        return codes.toString();
+    }
+
+    private static void sleep(long millis) {
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,437 @@
+package neoflex.loadtest;
+
+import neoflex.VacationPayCalculatorApplication;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Нагрузочный сценарий для {@code GET /calculate}. Запускает заглушку isdayoff.ru ({@link IsDayOffStub})
+ * и приложение на свободных портах, затем в течение заданного времени отправляет запросы из нескольких потоков
+ * и выводит пропускную способность, процентили задержки p50/p99/p999 успешных ответов и отдельно — долю
+ * отклонённых из-за перегрузки (503) запросов и прочих ошибок, чтобы отказы не искажали задержки.
+ * <p>
+ * Даты отпуска распределяются по {@code loadtest.years} годам начиная с {@code loadtest.first-year}; по умолчанию
+ * все эти годы помещаются в кеш календарей ({@code calendar.cache.max-years}) и загружаются во время прогрева,
+ * поэтому сценарий измеряет расчёт, а не вытеснение из кеша и ограничение обращений к заглушке.
+ * <p>
+ * При {@code loadtest.compare-virtual-threads=true} сценарий выполняется дважды с одинаковыми параметрами —
+ * на пуле потоков Tomcat и на виртуальных потоках ({@code virtual-threads.enabled}), каждый раз с новыми
+ * заглушкой и приложением, — и результаты выводятся рядом. Режим виртуальных потоков требует Java 21 или новее.
+ * <p>
+ * Параметры задаются системными свойствами (в задаче {@code loadTest} — через {@code -P}):
+ * {@code loadtest.duration}, {@code loadtest.warmup} (секунды), {@code loadtest.concurrency},
+ * {@code loadtest.first-year}, {@code loadtest.years}, {@code loadtest.compare-virtual-threads},
+ * {@code loadtest.min-throughput} (запросов в секунду; при меньшем значении процесс завершается с кодом 1),
+ * {@code loadtest.app-args} (дополнительные аргументы приложения через пробел), {@code loadtest.report-file},
+ * {@code stub.latency-ms}, {@code stub.error-rate}, {@code stub.slow-drip-rate}, {@code stub.slow-drip-pause-ms}
+ */
+public final class LoadTestRunner {
+
+    /**
+     * Первый год дат отпуска в запросах по умолчанию
+     */
+    private static final int DEFAULT_FIRST_YEAR = 2015;
+
+    /**
+     * Количество лет, по которым распределяются даты отпуска в запросах, по умолчанию.
+     * Вместе с годом, в который может закончиться отпуск последнего года, помещается в кеш календарей
+     */
+    private static final int DEFAULT_YEARS = 20;
+
+    /**
+     * Статус ответа на запрос, отклонённый из-за перегрузки источника календаря
+     */
+    private static final int REJECTED_STATUS = 503;
+
+    private LoadTestRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        double minThroughput = Double.parseDouble(System.getProperty("loadtest.min-throughput", "0"));
+        List<String> extraArgs = new ArrayList<>();
+        String appArgs = System.getProperty("loadtest.app-args", "").trim();
+        if (!appArgs.isEmpty()) {
+            extraArgs.addAll(Arrays.asList(appArgs.split("\\s+")));
+        }
+
+        String report;
+        double throughput;
+        if (Boolean.getBoolean("loadtest.compare-virtual-threads")) {
+            Result platform = runScenario(withArg(extraArgs, "--virtual-threads.enabled=false"));
+            Result virtual = runScenario(withArg(extraArgs, "--virtual-threads.enabled=true"));
+            report = "Пул потоков Tomcat:" + System.lineSeparator() + platform.format() + System.lineSeparator()
+                    + "Виртуальные потоки:" + System.lineSeparator() + virtual.format() + System.lineSeparator()
+                    + Result.compare("Пул потоков Tomcat", platform, "Виртуальные потоки", virtual);
+            throughput = Math.min(platform.throughput(), virtual.throughput());
+        } else {
+            Result result = runScenario(extraArgs);
+            report = result.format();
+            throughput = result.throughput();
+        }
+        System.out.println(report);
+        writeReport(report);
+        if (throughput < minThroughput) {
+            System.err.printf("Пропускная способность %.1f запр/с ниже порога %.1f запр/с%n", throughput, minThroughput);
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Запускает заглушку isdayoff.ru и приложение, выполняет нагрузочный сценарий и останавливает их
+     *
+     * @param extraArgs дополнительные аргументы приложения
+     * @return результаты измерения
+     * @throws Exception если заглушку или приложение не удалось запустить
+     */
+    private static Result runScenario(List<String> extraArgs) throws Exception {
+        long durationSeconds = Long.getLong("loadtest.duration", 30);
+        long warmupSeconds = Long.getLong("loadtest.warmup", 5);
+        int concurrency = Integer.getInteger("loadtest.concurrency", 64);
+        int firstYear = Integer.getInteger("loadtest.first-year", DEFAULT_FIRST_YEAR);
+        int years = Integer.getInteger("loadtest.years", DEFAULT_YEARS);
+
+        try (IsDayOffStub stub = new IsDayOffStub(
+                Long.getLong("stub.latency-ms", 50),
+                Double.parseDouble(System.getProperty("stub.error-rate", "0.02")),
+                Double.parseDouble(System.getProperty("stub.slow-drip-rate", "0.01")),
+                Long.getLong("stub.slow-drip-pause-ms", 20))) {
+            List<String> appArgs = new ArrayList<>(List.of(
+                    "--server.port=0",
+                    "--management.server.port=0",
+                    "--calendar.providers=isdayoff",
+                    "--calendar.isdayoff.base-url=" + stub.getBaseUrl(),
+                    "--calendar.store.enabled=false"));
+            appArgs.addAll(extraArgs);
+
+            ConfigurableApplicationContext context =
+                    SpringApplication.run(VacationPayCalculatorApplication.class, appArgs.toArray(new String[0]));
+            try {
+                int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+                return run("http://localhost:" + port, stub, concurrency, firstYear, years,
+                        warmupSeconds, durationSeconds);
+            } finally {
+                context.close();
+            }
+        }
+    }
+
+    /**
+     * @param args аргументы приложения
+     * @param arg  добавляемый аргумент
+     * @return копия аргументов с добавленным в конец аргументом
+     */
+    private static List<String> withArg(List<String> args, String arg) {
+        List<String> result = new ArrayList<>(args);
+        result.add(arg);
+        return result;
+    }
+
+    /**
+     * Выполняет нагрузочный сценарий
+     *
+     * @param baseUrl         адрес приложения
+     * @param stub            заглушка isdayoff.ru, к которой обращается приложение
+     * @param concurrency     количество параллельных клиентов
+     * @param firstYear       первый год дат отпуска
+     * @param years           количество лет дат отпуска
+     * @param warmupSeconds   длительность прогрева, не учитываемого в результатах
+     * @param durationSeconds длительность измерения
+     * @return результаты измерения
+     * @throws InterruptedException если ожидание клиентов прервано
+     */
+    private static Result run(String baseUrl, IsDayOffStub stub, int concurrency, int firstYear, int years,
+                              long warmupSeconds, long durationSeconds) throws InterruptedException {
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        long measureFrom = System.nanoTime() + TimeUnit.SECONDS.toNanos(warmupSeconds);
+        long measureUntil = measureFrom + TimeUnit.SECONDS.toNanos(durationSeconds);
+        Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+        LatencyRecorder[] recorders = new LatencyRecorder[concurrency];
+        Thread[] clients = new Thread[concurrency];
+
+        for (int i = 0; i < concurrency; i++) {
+            LatencyRecorder recorder = new LatencyRecorder();
+            recorders[i] = recorder;
+            clients[i] = new Thread(() -> {
+                while (true) {
+                    long start = System.nanoTime();
+                    if (start >= measureUntil) {
+                        return;
+                    }
+                    String error = send(client, baseUrl, firstYear, years);
+                    if (start >= measureFrom) {
+                        if (error == null) {
+                            recorder.record(System.nanoTime() - start);
+                        } else {
+                            errors.computeIfAbsent(error, key -> new LongAdder()).increment();
+                        }
+                    }
+                }
+            }, "load-client-" + i);
+            clients[i].start();
+        }
+        for (Thread thread : clients) {
+            thread.join();
+        }
+        return new Result(LatencyRecorder.merge(recorders), errors, durationSeconds, stub.getRequests());
+    }
+
+    /**
+     * Отправляет один запрос расчёта: по количеству дней или по датам в случайном году
+     *
+     * @param client    HTTP-клиент
+     * @param baseUrl   адрес приложения
+     * @param firstYear первый год дат отпуска
+     * @param years     количество лет дат отпуска
+     * @return описание ошибки или null при ответе 200
+     */
+    private static String send(HttpClient client, String baseUrl, int firstYear, int years) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String query = "averageSalary=" + (30_000 + random.nextInt(200_000));
+        if (random.nextBoolean()) {
+            query += "&vacationDays=" + (1 + random.nextInt(28));
+        } else {
+            LocalDate startDate = LocalDate.ofYearDay(firstYear + random.nextInt(years), 1 + random.nextInt(365));
+            query += "&startDate=" + startDate + "&endDate=" + startDate.plusDays(random.nextInt(40));
+        }
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/calculate?" + query))
+                .timeout(Duration.ofSeconds(30))
+                .GET()
+                .build();
+        try {
+            int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+            return status == 200 ? null : "HTTP " + status;
+        } catch (IOException e) {
+            return e.getClass().getSimpleName();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return "InterruptedException";
+        }
+    }
+
+    /**
+     * Записывает отчёт в файл {@code loadtest.report-file}, если он задан
+     *
+     * @param report текст отчёта
+     * @throws IOException если файл не удалось записать
+     */
+    private static void writeReport(String report) throws IOException {
+        String reportFile = System.getProperty("loadtest.report-file", "");
+        if (reportFile.isEmpty()) {
+            return;
+        }
+        Path path = Paths.get(reportFile);
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        Files.write(path, report.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Задержки запросов одного клиента в наносекундах
+     */
+    private static final class LatencyRecorder {
+
+        private long[] latencies = new long[1024];
+
+        private int size;
+
+        void record(long latencyNanos) {
+            if (size == latencies.length) {
+                latencies = Arrays.copyOf(latencies, size * 2);
+            }
+            latencies[size++] = latencyNanos;
+        }
+
+        /**
+         * Объединяет задержки всех клиентов
+         *
+         * @param recorders задержки клиентов
+         * @return отсортированный массив задержек
+         */
+        static long[] merge(LatencyRecorder[] recorders) {
+            int total = 0;
+            for (LatencyRecorder recorder : recorders) {
+                total += recorder.size;
+            }
+            long[] merged = new long[total];
+            int offset = 0;
+            for (LatencyRecorder recorder : recorders) {
+                System.arraycopy(recorder.latencies, 0, merged, offset, recorder.size);
+                offset += recorder.size;
+            }
+            Arrays.sort(merged);
+            return merged;
+        }
+    }
+
+    /**
+     * Результаты нагрузочного сценария
+     */
+    private static final class Result {
+
+        /**
+         * Отсортированные задержки успешных ответов
+         */
+        private final long[] sortedLatencies;
+
+        private final Map<String, LongAdder> errors;
+
+        private final long durationSeconds;
+
+        private final long stubRequests;
+
+        private final long rejected;
+
+        private final long failed;
+
+        Result(long[] sortedLatencies, Map<String, LongAdder> errors, long durationSeconds, long stubRequests) {
+            this.sortedLatencies = sortedLatencies;
+            this.errors = errors;
+            this.durationSeconds = durationSeconds;
+            this.stubRequests = stubRequests;
+            long rejectedCount = 0;
+            long failedCount = 0;
+            for (Map.Entry<String, LongAdder> error : errors.entrySet()) {
+                if (isRejection(error.getKey())) {
+                    rejectedCount += error.getValue().sum();
+                } else {
+                    failedCount += error.getValue().sum();
+                }
+            }
+            this.rejected = rejectedCount;
+            this.failed = failedCount;
+        }
+
+        /**
+         * @return количество успешных ответов в секунду
+         */
+        double throughput() {
+            return (double) sortedLatencies.length / durationSeconds;
+        }
+
+        /**
+         * @param error описание ошибки {@link #send}
+         * @return true — если запрос отклонён из-за перегрузки
+         */
+        static boolean isRejection(String error) {
+            return error.equals("HTTP " + REJECTED_STATUS);
+        }
+
+        /**
+         * Возвращает процентиль задержки методом ближайшего ранга
+         *
+         * @param percentile процентиль от 0 до 100
+         * @return задержка в миллисекундах
+         */
+        double percentileMillis(double percentile) {
+            if (sortedLatencies.length == 0) {
+                return 0;
+            }
+            int rank = (int) Math.ceil(percentile / 100 * sortedLatencies.length);
+            return sortedLatencies[Math.max(rank, 1) - 1] / 1_000_000.0;
+        }
+
+        /**
+         * @return всего запросов за время измерения
+         */
+        long total() {
+            return sortedLatencies.length + rejected + failed;
+        }
+
+        String format() {
+            long total = total();
+            StringBuilder report = new StringBuilder()
+                    .append(String.format("Запросов: %d за %d с, успешных %d, пропускная способность %.1f запр/с%n",
+                            total, durationSeconds, sortedLatencies.length, throughput()))
+                    .append(String.format("Задержка успешных ответов, мс: p50 %.2f, p99 %.2f, p999 %.2f, max %.2f%n",
+                            percentileMillis(50), percentileMillis(99), percentileMillis(99.9), percentileMillis(100)))
+                    .append(String.format("Отклонено из-за перегрузки (HTTP %d): %d (%.3f%%)%n",
+                            REJECTED_STATUS, rejected, share(rejected, total)))
+                    .append(String.format("Прочие ошибки: %d (%.3f%%)%n", failed, share(failed, total)));
+            new TreeMap<>(errors).forEach((error, count) -> {
+                if (!isRejection(error)) {
+                    report.append(String.format("  %s: %d (%.3f%%)%n", error, count.sum(), share(count.sum(), total)));
+                }
+            });
+            report.append(String.format("Запросов к заглушке isdayoff.ru: %d%n", stubRequests));
+            return report.toString();
+        }
+
+        /**
+         * Формирует таблицу результатов двух запусков, выведенных рядом
+         *
+         * @param firstName  название первого запуска
+         * @param first      результаты первого запуска
+         * @param secondName название второго запуска
+         * @param second     результаты второго запуска
+         * @return таблица сравнения
+         */
+        static String compare(String firstName, Result first, String secondName, Result second) {
+            String row = "%-32s %20s %20s%n";
+            return new StringBuilder()
+                    .append(String.format(row, "", firstName, secondName))
+                    .append(String.format(row, "Успешных ответов, запр/с",
+                            String.format("%.1f", first.throughput()), String.format("%.1f", second.throughput())))
+                    .append(latencyRow(row, "p50, мс", 50, first, second))
+                    .append(latencyRow(row, "p99, мс", 99, first, second))
+                    .append(latencyRow(row, "p999, мс", 99.9, first, second))
+                    .append(latencyRow(row, "max, мс", 100, first, second))
+                    .append(String.format(row, "Отклонено (HTTP " + REJECTED_STATUS + "), %",
+                            String.format("%.3f", share(first.rejected, first.total())),
+                            String.format("%.3f", share(second.rejected, second.total()))))
+                    .append(String.format(row, "Прочие ошибки, %",
+                            String.format("%.3f", share(first.failed, first.total())),
+                            String.format("%.3f", share(second.failed, second.total()))))
+                    .append(String.format(row, "Запросов к заглушке",
+                            first.stubRequests, second.stubRequests))
+                    .toString();
+        }
+
+        /**
+         * @param row        формат строки таблицы
+         * @param name       название строки
+         * @param percentile процентиль от 0 до 100
+         * @param first      результаты первого запуска
+         * @param second     результаты второго запуска
+         * @return строка таблицы сравнения с процентилем задержки двух запусков
+         */
+        private static String latencyRow(String row, String name, double percentile, Result first, Result second) {
+            return String.format(row, name, String.format("%.2f", first.percentileMillis(percentile)),
+                    String.format("%.2f", second.percentileMillis(percentile)));
+        }
+
+        /**
+         * @param count количество запросов
+         * @param total всего запросов
+         * @return доля запросов в процентах
+         */
+        private static double share(long count, long total) {
+            return total == 0 ? 0 : 100.0 * count / total;
+        }
+    }
+}
@@ -2,12 +2,14 @@ package neoflex;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * Главный класс приложения "Калькулятор отпускных".
  * Запускает Spring Boot-приложение
  */
 @SpringBootApplication
+@EnableScheduling
 public class VacationPayCalculatorApplication {
 
     /**
@@ -0,0 +1,158 @@
+package neoflex.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import neoflex.domain.calendar.CalendarCountries;
+import neoflex.domain.calendar.CalendarProvider;
+import neoflex.domain.calendar.CircuitBreaker;
+import neoflex.domain.calendar.CompositeCalendarProvider;
+import neoflex.domain.calendar.IsDayOffCalendarProvider;
+import neoflex.domain.calendar.LocalFileCalendarProvider;
+import neoflex.domain.calendar.ResilientCalendarProvider;
+import neoflex.domain.calendar.ThrottlingCalendarProvider;
+import neoflex.domain.calendar.TokenBucket;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Конфигурационный класс Spring, создающий источники производственных календарей
+ * и составной источник, опрашивающий их в порядке, заданном настройкой {@code calendar.providers}.
+ * Составной источник защищён общим таймаутом, повторами, автоматическим выключателем и запасным календарём,
+ * а нагрузка на каждый источник и время одной попытки ограничены {@link ThrottlingCalendarProvider}:
+ * так ожидание в его очереди не засчитывается в таймаут попытки и не размыкает выключатель
+ */
+@Configuration
+public class CalendarProviderConfig {
+
+    /**
+     * Префикс настроек ограничения нагрузки на источники: {@code calendar.bulkhead.<имя источника>.<настройка>},
+     * при отсутствии настройки источника — {@code calendar.bulkhead.<настройка>}
+     */
+    private static final String BULKHEAD_PREFIX = "calendar.bulkhead.";
+
+    /**
+     * Создаёт источник календарей на основе API isdayoff.ru
+     *
+     * @param webClient        WebClient с базовым URL сервиса
+     * @return источник календарей isdayoff.ru
+     */
+    @Bean
+    public IsDayOffCalendarProvider isDayOffCalendarProvider(WebClient webClient) {
+        return new IsDayOffCalendarProvider(webClient);
+    }
+
+    /**
+     * Создаёт источник календарей из локальных файлов производственного календаря
+     *
+     * @param directory        каталог с файлами {@code <страна>/<год>.txt}
+     * @param countries        поддерживаемые страны
+     * @return локальный источник календарей
+     */
+    @Bean
+    public LocalFileCalendarProvider localFileCalendarProvider(
+            @Value("${calendar.local.directory:calendars}") String directory, CalendarCountries countries) {
+        return new LocalFileCalendarProvider(directory, countries.getDefault());
+    }
+
+    /**
+     * Создаёт составной источник календарей, используемый {@code DayStatusService},
+     * и оборачивает его в {@link ResilientCalendarProvider}
+     *
+     * @param isDayOffProvider источник isdayoff.ru
+     * @param localProvider    локальный источник
+     * @param order            имена источников в порядке опроса
+     * @param attemptTimeout   ограничение времени одной попытки
+     * @param totalTimeout     ограничение общего времени всех попыток
+     * @param maxRetries       максимальное количество повторов
+     * @param minBackoff       начальная задержка перед повтором
+     * @param maxBackoff       максимальная задержка перед повтором
+     * @param failureThreshold количество ошибок подряд, размыкающее выключатель
+     * @param openDuration     время в разомкнутом состоянии
+     * @param fallbackEnabled  возвращать ли запасной календарь при недоступности источников
+     * @param environment      окружение с настройками ограничения нагрузки на источники
+     * @param meterRegistry    реестр метрик
+     * @return защищённый составной источник календарей
+     * @throws IllegalStateException если в настройке указан неизвестный источник
+     */
+    @Bean
+    @Primary
+    public CalendarProvider calendarProvider(IsDayOffCalendarProvider isDayOffProvider,
+                                             LocalFileCalendarProvider localProvider,
+                                             @Value("${calendar.providers:isdayoff}") List<String> order,
+                                             @Value("${calendar.resilience.attempt-timeout:3s}") Duration attemptTimeout,
+                                             @Value("${calendar.resilience.total-timeout:8s}") Duration totalTimeout,
+                                             @Value("${calendar.resilience.max-retries:2}") int maxRetries,
+                                             @Value("${calendar.resilience.min-backoff:200ms}") Duration minBackoff,
+                                             @Value("${calendar.resilience.max-backoff:2s}") Duration maxBackoff,
+                                             @Value("${calendar.resilience.failure-threshold:5}") int failureThreshold,
+                                             @Value("${calendar.resilience.open-duration:30s}") Duration openDuration,
+                                             @Value("${calendar.resilience.fallback-enabled:true}") boolean fallbackEnabled,
+                                             Environment environment,
+                                             MeterRegistry meterRegistry) {
+        Map<String, CalendarProvider> providersByName = Stream.of(isDayOffProvider, localProvider)
+                .collect(Collectors.toMap(CalendarProvider::getName, Function.identity()));
+
+        List<CalendarProvider> providers = new ArrayList<>();
+        for (String name : order) {
+            CalendarProvider provider = providersByName.get(name.trim());
+            if (provider == null) {
+                throw new IllegalStateException("Неизвестный источник календаря: " + name);
+            }
+            providers.add(throttled(provider, attemptTimeout, environment, meterRegistry));
+        }
+        return new ResilientCalendarProvider(new CompositeCalendarProvider(providers),
+                new CircuitBreaker(failureThreshold, openDuration),
+                Duration.ZERO, totalTimeout, maxRetries, minBackoff, maxBackoff, fallbackEnabled);
+    }
+
+    /**
+     * Оборачивает источник в {@link ThrottlingCalendarProvider} с настройками этого источника.
+     * По умолчанию очередь вмещает все годы поддерживаемого диапазона и пачки пакетного расчёта,
+     * а время ожидания в ней не ограничено: обращение отклоняется только при заполненной очереди
+     *
+     * @param provider       источник календарей
+     * @param attemptTimeout ограничение времени одной попытки, отсчитываемое с начала обращения к источнику
+     * @param environment    окружение с настройками
+     * @param meterRegistry  реестр метрик
+     * @return источник с ограничением нагрузки
+     */
+    private static CalendarProvider throttled(CalendarProvider provider, Duration attemptTimeout,
+                                              Environment environment, MeterRegistry meterRegistry) {
+        String name = provider.getName();
+        int maxConcurrent = bulkheadProperty(environment, name, "max-concurrent", Integer.class, 8);
+        int queueSize = bulkheadProperty(environment, name, "queue-size", Integer.class, 1000);
+        double rate = bulkheadProperty(environment, name, "rate", Double.class, 20.0);
+        int burst = bulkheadProperty(environment, name, "burst", Integer.class, 40);
+        Duration maxQueueWait = bulkheadProperty(environment, name, "max-queue-wait", Duration.class, Duration.ZERO);
+        return new ThrottlingCalendarProvider(provider, maxConcurrent, queueSize, new TokenBucket(rate, burst),
+                attemptTimeout, maxQueueWait, meterRegistry);
+    }
+
+    /**
+     * Читает настройку ограничения нагрузки источника, а при её отсутствии — общую настройку
+     *
+     * @param environment  окружение с настройками
+     * @param provider     имя источника
+     * @param key          имя настройки
+     * @param type         тип значения
+     * @param defaultValue значение по умолчанию
+     * @param <T>          тип значения
+     * @return значение настройки
+     */
+    private static <T> T bulkheadProperty(Environment environment, String provider, String key, Class<T> type,
+                                          T defaultValue) {
+        T common = environment.getProperty(BULKHEAD_PREFIX + key, type, defaultValue);
+        return environment.getProperty(BULKHEAD_PREFIX + provider + "." + key, type, common);
+    }
+}
@@ -0,0 +1,161 @@
+package neoflex.config;
+
+import io.opentelemetry.api.OpenTelemetry;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.api.trace.propagation.W3CTraceContextPropagator;
+import io.opentelemetry.context.propagation.ContextPropagators;
+import io.opentelemetry.exporter.logging.LoggingSpanExporter;
+import io.opentelemetry.exporter.otlp.http.trace.OtlpHttpSpanExporter;
+import io.opentelemetry.sdk.OpenTelemetrySdk;
+import io.opentelemetry.sdk.resources.Resource;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.SdkTracerProviderBuilder;
+import io.opentelemetry.sdk.trace.export.BatchSpanProcessor;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import io.opentelemetry.sdk.trace.samplers.Sampler;
+import neoflex.tracing.TracingExchangeFilterFunction;
+import neoflex.tracing.TracingFilter;
+import neoflex.tracing.TracingSpanContextSupplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.reactive.function.client.WebClientCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.util.Locale;
+
+/**
+ * Конфигурационный класс Spring, настраивающий распределённую трассировку OpenTelemetry.
+ * <p>
+ * Входящие HTTP-запросы, расчёт отпускных, подсчёт рабочих дней, загрузка календаря и исходящие запросы
+ * к источнику календарей оформляются span одной трассы; контекст трассы принимается от вызывающей стороны
+ * и передаётся источнику календарей в заголовке {@code traceparent}. Доля записываемых трасс задаётся
+ * {@code tracing.sampling.probability} (трассы, начатые вызывающей стороной, следуют её решению),
+ * способ выгрузки — {@code tracing.exporter}: {@code none} (по умолчанию, span не выгружаются),
+ * {@code logging} (в журнал приложения) или {@code otlp} (коллектор по адресу {@code tracing.otlp.endpoint}).
+ * Выгрузку включает окружение, которому нужны трассы, поэтому журнал не засоряется span по умолчанию.
+ * При {@code tracing.enabled=false} используется реализация без записи трасс
+ */
+@Configuration
+public class TracingConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(TracingConfig.class);
+
+    /**
+     * Имя трассировщика приложения
+     */
+    public static final String INSTRUMENTATION_NAME = "neoflex.vacation-pay-calculator";
+
+    /**
+     * Создаёт OpenTelemetry с выборкой трасс и выгрузкой span по настройкам
+     *
+     * @param enabled     включена ли трассировка
+     * @param probability доля записываемых трасс от 0 до 1
+     * @param exporter    способ выгрузки span: none, logging или otlp
+     * @param endpoint    адрес коллектора OTLP/HTTP
+     * @param serviceName имя сервиса в трассах
+     * @return настроенный OpenTelemetry
+     * @throws IllegalArgumentException если способ выгрузки неизвестен
+     */
+    @Bean
+    public OpenTelemetry openTelemetry(@Value("${tracing.enabled:true}") boolean enabled,
+                                       @Value("${tracing.sampling.probability:0.1}") double probability,
+                                       @Value("${tracing.exporter:none}") String exporter,
+                                       @Value("${tracing.otlp.endpoint:http://localhost:4318/v1/traces}") String endpoint,
+                                       @Value("${tracing.service-name:vacation-pay-calculator}") String serviceName) {
+        if (!enabled) {
+            return OpenTelemetry.noop();
+        }
+        SdkTracerProviderBuilder tracerProvider = SdkTracerProvider.builder()
+                .setResource(Resource.getDefault().merge(
+                        Resource.create(Attributes.of(AttributeKey.stringKey("service.name"), serviceName))))
+                .setSampler(Sampler.parentBased(Sampler.traceIdRatioBased(probability)));
+        SpanExporter spanExporter = spanExporter(exporter, endpoint);
+        if (spanExporter != null) {
+            tracerProvider.addSpanProcessor(BatchSpanProcessor.builder(spanExporter).build());
+        }
+        logger.info("Трассировка включена: доля трасс {}, выгрузка {}", probability, exporter);
+        return OpenTelemetrySdk.builder()
+                .setTracerProvider(tracerProvider.build())
+                .setPropagators(ContextPropagators.create(W3CTraceContextPropagator.getInstance()))
+                .build();
+    }
+
+    /**
+     * Создаёт трассировщик приложения
+     *
+     * @param openTelemetry OpenTelemetry
+     * @return трассировщик
+     */
+    @Bean
+    public Tracer tracer(OpenTelemetry openTelemetry) {
+        return openTelemetry.getTracer(INSTRUMENTATION_NAME);
+    }
+
+    /**
+     * Регистрирует фильтр, создающий span входящих HTTP-запросов, раньше фильтра метрик,
+     * чтобы метрика {@code http.server.requests} записывалась при активном span
+     *
+     * @param tracer        трассировщик
+     * @param openTelemetry OpenTelemetry
+     * @return регистрация фильтра
+     */
+    @Bean
+    public FilterRegistrationBean<TracingFilter> tracingFilter(Tracer tracer, OpenTelemetry openTelemetry) {
+        FilterRegistrationBean<TracingFilter> registration = new FilterRegistrationBean<>(
+                new TracingFilter(tracer, openTelemetry.getPropagators().getTextMapPropagator()));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+    /**
+     * Добавляет в автоконфигурированный {@link org.springframework.web.reactive.function.client.WebClient.Builder}
+     * фильтр, создающий span исходящих запросов и передающий контекст трассировки
+     *
+     * @param tracer        трассировщик
+     * @param openTelemetry OpenTelemetry
+     * @return настройка WebClient
+     */
+    @Bean
+    public WebClientCustomizer tracingWebClientCustomizer(Tracer tracer, OpenTelemetry openTelemetry) {
+        TracingExchangeFilterFunction filter = new TracingExchangeFilterFunction(
+                tracer, openTelemetry.getPropagators().getTextMapPropagator());
+        return builder -> builder.filter(filter);
+    }
+
+    /**
+     * Создаёт источник идентификаторов трассы для exemplar гистограмм Prometheus
+     *
+     * @return источник идентификаторов трассы
+     */
+    @Bean
+    public TracingSpanContextSupplier tracingSpanContextSupplier() {
+        return new TracingSpanContextSupplier();
+    }
+
+    /**
+     * Создаёт выгрузку span по названию способа
+     *
+     * @param exporter способ выгрузки: logging, otlp или none
+     * @param endpoint адрес коллектора OTLP/HTTP
+     * @return выгрузка span или null, если span не выгружаются
+     * @throws IllegalArgumentException если способ выгрузки неизвестен
+     */
+    private static SpanExporter spanExporter(String exporter, String endpoint) {
+        switch (exporter.trim().toLowerCase(Locale.ROOT)) {
+            case "logging":
+                return LoggingSpanExporter.create();
+            case "otlp":
+                return OtlpHttpSpanExporter.builder().setEndpoint(endpoint).build();
+            case "none":
+                return null;
+            default:
+                throw new IllegalArgumentException("Неизвестный способ выгрузки трасс: " + exporter);
+        }
+    }
+}
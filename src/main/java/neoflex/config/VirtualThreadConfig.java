@@ -0,0 +1,61 @@
+package neoflex.config;
+
+import org.apache.coyote.ProtocolHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Конфигурационный класс Spring, переводящий обработку HTTP-запросов Tomcat на виртуальные потоки.
+ * Включается параметром {@code virtual-threads.enabled=true} и требует запуска на Java 21 или новее.
+ * <p>
+ * Расчёт по датам ожидает загрузку календаря незагруженного года в потоке запроса. На пуле потоков Tomcat
+ * одновременно ожидать могут не более {@code server.tomcat.threads.max} запросов, а виртуальный поток
+ * при ожидании освобождает поток-носитель, поэтому тысячи запросов к холодным годам не исчерпывают потоки ОС.
+ * Число одновременных соединений по-прежнему ограничено {@code server.tomcat.max-connections}
+ */
+@Configuration
+@ConditionalOnProperty(name = "virtual-threads.enabled", havingValue = "true")
+public class VirtualThreadConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadConfig.class);
+
+    /**
+     * Создаёт настройку Tomcat, выполняющую каждый запрос в отдельном виртуальном потоке
+     *
+     * @return настройка обработчика протокола Tomcat
+     * @throws IllegalStateException если JVM не поддерживает виртуальные потоки
+     */
+    @Bean
+    public TomcatProtocolHandlerCustomizer<ProtocolHandler> virtualThreadProtocolHandlerCustomizer() {
+        ExecutorService executor = newVirtualThreadPerTaskExecutor();
+        logger.info("Обработка HTTP-запросов выполняется на виртуальных потоках");
+        return protocolHandler -> protocolHandler.setExecutor(executor);
+    }
+
+    /**
+     * Создаёт исполнитель, запускающий каждую задачу в новом виртуальном потоке.
+     * Метод {@code Executors.newVirtualThreadPerTaskExecutor()} вызывается через отражение,
+     * поэтому проект по-прежнему компилируется для Java 11 и работает на ней с пулом потоков Tomcat
+     *
+     * @return исполнитель на виртуальных потоках
+     * @throws IllegalStateException если JVM не поддерживает виртуальные потоки
+     */
+    static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException("Виртуальные потоки требуют Java 21 или новее, текущая версия: "
+                    + Runtime.version());
+        } catch (IllegalAccessException | InvocationTargetException e) {
+            throw new IllegalStateException("Не удалось создать исполнитель на виртуальных потоках", e);
+        }
+    }
+}
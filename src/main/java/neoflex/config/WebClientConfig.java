@@ -1,8 +1,14 @@
 package neoflex.config;
 
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+
+import java.time.Duration;
 
 /**
  * Конфигурационный класс Spring, создающий бин {@link WebClient}
@@ -12,15 +18,30 @@ import org.springframework.web.reactive.function.client.WebClient;
 public class WebClientConfig {
 
     /**
-     * Создаёт и настраивает {@link WebClient} с базовым URL "https://isdayoff.ru".
-     * Этот клиент используется для получения информации о статусе дней (рабочий/выходной)
+     * Создаёт и настраивает {@link WebClient} с базовым URL {@code calendar.isdayoff.base-url}
+     * (по умолчанию "https://isdayoff.ru"; для нагрузочного тестирования заменяется адресом локальной заглушки).
+     * Этот клиент используется для получения информации о статусе дней (рабочий/выходной).
+     * Время установки соединения и ожидания ответа ограничено, чтобы медленный сервис не задерживал запросы.
+     * Клиент строится из автоконфигурированного {@link WebClient.Builder}, поэтому время каждого запроса
+     * учитывается в метрике {@code http.client.requests}
      *
+     * @param builder        билдер WebClient, настроенный Spring Boot
+     * @param baseUrl        базовый URL сервиса производственного календаря
+     * @param connectTimeout ограничение времени установки соединения
+     * @param readTimeout    ограничение времени ожидания ответа
      * @return настроенный экземпляр {@link WebClient}
      */
     @Bean
-    public WebClient webClient() {
-        return WebClient.builder()
-                .baseUrl("https://isdayoff.ru")
+    public WebClient webClient(WebClient.Builder builder,
+                               @Value("${calendar.isdayoff.base-url:https://isdayoff.ru}") String baseUrl,
+                               @Value("${calendar.isdayoff.connect-timeout:2s}") Duration connectTimeout,
+                               @Value("${calendar.isdayoff.read-timeout:3s}") Duration readTimeout) {
+        HttpClient httpClient = HttpClient.create()
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) connectTimeout.toMillis())
+                .responseTimeout(readTimeout);
+        return builder
+                .baseUrl(baseUrl)
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
                 .build();
     }
 }
@@ -0,0 +1,135 @@
+package neoflex.domain.calendar;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Страны, производственные календари которых обслуживает сервис.
+ * Страна задаётся двухбуквенным кодом ISO 3166-1 ({@code RU}, {@code BY}, {@code KZ} и т. п.)
+ * в любом регистре; запрос без страны относится к стране по умолчанию.
+ * Список ограничен настройкой {@code calendar.countries}, поэтому кеш и хранилище календарей
+ * не растут от произвольных кодов в запросах
+ */
+@Component
+public class CalendarCountries {
+
+    /**
+     * Страна по умолчанию
+     */
+    public static final String DEFAULT_COUNTRY = "RU";
+
+    /**
+     * Количество букв латинского алфавита, из которых состоит код страны
+     */
+    private static final int LETTERS = 26;
+
+    /**
+     * Страна запросов без указания страны
+     */
+    private final String defaultCountry;
+
+    /**
+     * Коды поддерживаемых стран в верхнем регистре
+     */
+    private final Set<String> supported;
+
+    /**
+     * Конструктор списка стран
+     *
+     * @param countries      коды поддерживаемых стран
+     * @param defaultCountry код страны по умолчанию; добавляется к поддерживаемым, если не указан в списке
+     * @throws IllegalArgumentException если код страны не состоит из двух латинских букв
+     */
+    public CalendarCountries(@Value("${calendar.countries:RU}") List<String> countries,
+                             @Value("${calendar.default-country:RU}") String defaultCountry) {
+        this.defaultCountry = normalize(defaultCountry);
+        Set<String> codes = new LinkedHashSet<>();
+        codes.add(this.defaultCountry);
+        for (String country : countries) {
+            codes.add(normalize(country));
+        }
+        this.supported = Set.copyOf(codes);
+    }
+
+    /**
+     * Создаёт список из единственной страны {@link #DEFAULT_COUNTRY}
+     *
+     * @return список стран по умолчанию
+     */
+    public static CalendarCountries defaults() {
+        return new CalendarCountries(List.of(DEFAULT_COUNTRY), DEFAULT_COUNTRY);
+    }
+
+    /**
+     * @return код страны по умолчанию
+     */
+    public String getDefault() {
+        return defaultCountry;
+    }
+
+    /**
+     * @return коды поддерживаемых стран
+     */
+    public Set<String> getSupported() {
+        return supported;
+    }
+
+    /**
+     * Приводит код страны из запроса к виду, используемому в кеше и хранилище
+     *
+     * @param country код страны в любом регистре или null
+     * @return код страны в верхнем регистре; страна по умолчанию, если код не указан
+     * @throws IllegalArgumentException если страна не поддерживается
+     */
+    public String resolve(String country) {
+        if (country == null || country.isBlank()) {
+            return defaultCountry;
+        }
+        String code = country.trim().toUpperCase(Locale.ROOT);
+        if (!supported.contains(code)) {
+            throw new IllegalArgumentException("Производственный календарь страны " + country + " не поддерживается!");
+        }
+        return code;
+    }
+
+    /**
+     * Возвращает порядковый номер кода страны: компактный ключ для кешей, не требующий строк
+     *
+     * @param code код страны из двух заглавных латинских букв
+     * @return номер от 0 до 675
+     */
+    public static int indexOf(String code) {
+        return (code.charAt(0) - 'A') * LETTERS + (code.charAt(1) - 'A');
+    }
+
+    /**
+     * Восстанавливает код страны по порядковому номеру
+     *
+     * @param index номер, полученный из {@link #indexOf(String)}
+     * @return код страны
+     */
+    public static String codeOf(int index) {
+        return new String(new char[]{(char) ('A' + index / LETTERS), (char) ('A' + index % LETTERS)});
+    }
+
+    /**
+     * Проверяет формат кода страны и приводит его к верхнему регистру
+     *
+     * @param country код страны
+     * @return код страны в верхнем регистре
+     * @throws IllegalArgumentException если код не состоит из двух латинских букв
+     */
+    private static String normalize(String country) {
+        String code = country.trim().toUpperCase(Locale.ROOT);
+        if (code.length() != 2 || code.charAt(0) < 'A' || code.charAt(0) > 'Z'
+                || code.charAt(1) < 'A' || code.charAt(1) > 'Z') {
+            throw new IllegalArgumentException("Некорректный код страны: " + country);
+        }
+        return code;
+    }
+}
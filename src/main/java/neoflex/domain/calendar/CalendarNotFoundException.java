@@ -0,0 +1,17 @@
+package neoflex.domain.calendar;
+
+/**
+ * Исключение, означающее, что источник не располагает календарём запрошенного года.
+ * В отличие от временных ошибок источника, повторный запрос того же года не имеет смысла
+ */
+public class CalendarNotFoundException extends IllegalStateException {
+
+    /**
+     * Конструктор исключения
+     *
+     * @param message описание ошибки
+     */
+    public CalendarNotFoundException(String message) {
+        super(message);
+    }
+}
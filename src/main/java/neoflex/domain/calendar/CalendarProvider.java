@@ -0,0 +1,24 @@
+package neoflex.domain.calendar;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Источник производственных календарей.
+ * Реализации получают календарь года страны из внешнего API, локального файла или другого источника
+ */
+public interface CalendarProvider {
+
+    /**
+     * @return имя источника, используемое в настройке {@code calendar.providers}
+     */
+    String getName();
+
+    /**
+     * Загружает календарь года страны
+     *
+     * @param country код страны в верхнем регистре (см. {@link CalendarCountries})
+     * @param year    год
+     * @return календарь года; пустой результат, если у источника нет данных за этот год
+     */
+    Mono<YearCalendar> getYearCalendar(String country, int year);
+}
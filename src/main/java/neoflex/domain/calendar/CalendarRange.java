@@ -0,0 +1,100 @@
+package neoflex.domain.calendar;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Календари всех лет диапазона дат, полученные одним обращением к кешу.
+ * Количество рабочих дней, признак приблизительного расчёта и версия календарей вычисляются
+ * по одним и тем же календарям, поэтому согласованы между собой даже при обновлении календаря
+ * в фоне и не требуют повторного поиска лет в кеше
+ */
+public final class CalendarRange {
+
+    /**
+     * Дата начала диапазона
+     */
+    private final LocalDate startDate;
+
+    /**
+     * Дата окончания диапазона включительно
+     */
+    private final LocalDate endDate;
+
+    /**
+     * Календари лет диапазона по порядку, начиная с года даты начала; пусто, если дата окончания раньше даты начала
+     */
+    private final List<YearCalendar> calendars;
+
+    /**
+     * Конструктор диапазона
+     *
+     * @param startDate дата начала диапазона
+     * @param endDate   дата окончания диапазона включительно
+     * @param calendars календари лет диапазона по порядку, начиная с года даты начала
+     */
+    public CalendarRange(LocalDate startDate, LocalDate endDate, List<YearCalendar> calendars) {
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.calendars = List.copyOf(calendars);
+    }
+
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+
+    /**
+     * Подсчитывает количество рабочих дней в диапазоне включительно.
+     * Внутри каждого года подсчёт выполняется за O(1) по накопленному индексу календаря
+     *
+     * @return количество рабочих дней, 0 если дата окончания раньше даты начала
+     */
+    public int countWorkDays() {
+        int last = calendars.size() - 1;
+        int workDays = 0;
+        for (int i = 0; i <= last; i++) {
+            YearCalendar calendar = calendars.get(i);
+            int fromDay = i == 0 ? startDate.getDayOfYear() : 1;
+            int toDay = i == last ? endDate.getDayOfYear() : calendar.getDaysCount();
+            workDays += calendar.countWorkDays(fromDay, toDay);
+        }
+        return workDays;
+    }
+
+    /**
+     * Проверяет, построен ли календарь какого-либо года диапазона приблизительно из-за недоступности источников
+     *
+     * @return true — если результат расчёта по этому диапазону приблизительный
+     */
+    public boolean isApproximate() {
+        for (YearCalendar calendar : calendars) {
+            if (calendar.isApproximate()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Возвращает версию календарей диапазона: отпечаток календаря года,
+     * а для диапазона из нескольких лет — CRC32 отпечатков всех его лет
+     *
+     * @return версия календарей диапазона в виде 8 шестнадцатеричных цифр
+     */
+    public String getVersion() {
+        if (calendars.size() == 1) {
+            return calendars.get(0).getFingerprint();
+        }
+        CRC32 crc = new CRC32();
+        for (YearCalendar calendar : calendars) {
+            crc.update(calendar.getFingerprint().getBytes(StandardCharsets.US_ASCII));
+        }
+        return String.format("%08x", crc.getValue());
+    }
+}
@@ -0,0 +1,18 @@
+package neoflex.domain.calendar;
+
+/**
+ * Исключение, означающее, что обращение к источнику календарей отклонено без выполнения:
+ * исчерпаны лимит одновременных обращений и очередь ожидания.
+ * Повторять такое обращение сразу бессмысленно — оно лишь усилит перегрузку источника
+ */
+public class CalendarRequestRejectedException extends IllegalStateException {
+
+    /**
+     * Конструктор исключения
+     *
+     * @param message описание ошибки
+     */
+    public CalendarRequestRejectedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,235 @@
+package neoflex.domain.calendar;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Optional;
+import java.util.zip.CRC32;
+
+/**
+ * Постоянное хранилище календарей на диске, позволяющее после перезапуска
+ * не обращаться к внешнему API за уже загруженными годами.
+ * <p>
+ * Каждый год хранится в отдельном файле {@code <страна>/<год>.cal} и читается через отображение в память.
+ * Формат файла (big-endian): сигнатура, версия формата, год, количество слов,
+ * упакованные типы дней {@link YearCalendar} и контрольная сумма CRC32 всех предыдущих байт.
+ * Файл с другой версией, чужим годом или неверной контрольной суммой считается повреждённым,
+ * удаляется и не используется, чтобы год был загружен заново.
+ */
+@Component
+public class CalendarStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(CalendarStore.class);
+
+    /**
+     * Сигнатура файла календаря ("VPCC")
+     */
+    private static final int MAGIC = 0x56504343;
+
+    /**
+     * Текущая версия формата файла
+     */
+    private static final short FORMAT_VERSION = 1;
+
+    /**
+     * Размер заголовка: сигнатура, версия, год и количество слов
+     */
+    private static final int HEADER_SIZE = Integer.BYTES + Short.BYTES + Integer.BYTES + Short.BYTES;
+
+    /**
+     * Расширение файлов календаря
+     */
+    private static final String FILE_EXTENSION = ".cal";
+
+    /**
+     * Включено ли хранилище
+     */
+    private final boolean enabled;
+
+    /**
+     * Каталог с файлами календарей
+     */
+    private final Path directory;
+
+    /**
+     * Конструктор хранилища календарей
+     *
+     * @param enabled   включено ли хранилище
+     * @param directory каталог с файлами календарей
+     */
+    public CalendarStore(@Value("${calendar.store.enabled:true}") boolean enabled,
+                         @Value("${calendar.store.directory:calendar-store}") String directory) {
+        this.enabled = enabled;
+        this.directory = Paths.get(directory);
+    }
+
+    /**
+     * Создаёт выключенное хранилище, которое ничего не читает и не записывает
+     *
+     * @return выключенное хранилище
+     */
+    public static CalendarStore disabled() {
+        return new CalendarStore(false, "");
+    }
+
+    /**
+     * Читает календарь года страны с диска
+     *
+     * @param country код страны
+     * @param year    год
+     * @return календарь года или пустой результат, если файла нет, он повреждён или хранилище выключено
+     */
+    public Optional<YearCalendar> read(String country, int year) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        Path file = fileOf(country, year);
+        if (!Files.isRegularFile(file)) {
+            return Optional.empty();
+        }
+
+        long[] dayTypes;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            dayTypes = decode(buffer, year);
+        } catch (IOException e) {
+            logger.warn("Не удалось прочитать календарь {} года из {}: {}", year, file, e.getMessage());
+            return Optional.empty();
+        }
+
+        if (dayTypes == null) {
+            logger.warn("Файл календаря {} повреждён и будет загружен заново", file);
+            delete(file);
+            return Optional.empty();
+        }
+        return Optional.of(YearCalendar.fromDayTypes(year, dayTypes));
+    }
+
+    /**
+     * Сохраняет календарь года на диск. Файл сначала записывается во временный,
+     * а затем атомарно заменяет прежний, поэтому читатели не видят частично записанных данных.
+     * Если запись не удалась, временный файл удаляется. Ошибки записи только логируются, так как хранилище не является обязательным
+     *
+     * @param country  код страны
+     * @param calendar календарь года
+     */
+    public void write(String country, YearCalendar calendar) {
+        if (!enabled) {
+            return;
+        }
+        Path file = fileOf(country, calendar.getYear());
+        Path tempFile = null;
+        try {
+            Files.createDirectories(file.getParent());
+            tempFile = Files.createTempFile(file.getParent(), String.valueOf(calendar.getYear()), ".tmp");
+            try (FileChannel channel = FileChannel.open(tempFile, StandardOpenOption.WRITE)) {
+                ByteBuffer buffer = encode(calendar);
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(true);
+            }
+            Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            logger.warn("Не удалось сохранить календарь {} года в {}: {}", calendar.getYear(), file, e.getMessage());
+            if (tempFile != null) {
+                delete(tempFile);
+            }
+        }
+    }
+
+    /**
+     * Кодирует календарь в двоичный формат файла
+     *
+     * @param calendar календарь года
+     * @return буфер, готовый к записи
+     */
+    private static ByteBuffer encode(YearCalendar calendar) {
+        long[] dayTypes = calendar.getDayTypes();
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + dayTypes.length * Long.BYTES + Integer.BYTES);
+        buffer.putInt(MAGIC)
+                .putShort(FORMAT_VERSION)
+                .putInt(calendar.getYear())
+                .putShort((short) dayTypes.length);
+        for (long word : dayTypes) {
+            buffer.putLong(word);
+        }
+        buffer.putInt(checksum(buffer, buffer.position()));
+        buffer.flip();
+        return buffer;
+    }
+
+    /**
+     * Декодирует и проверяет содержимое файла календаря
+     *
+     * @param buffer содержимое файла
+     * @param year   ожидаемый год
+     * @return упакованные типы дней или null, если файл повреждён или имеет другую версию
+     */
+    private static long[] decode(ByteBuffer buffer, int year) {
+        int words = YearCalendar.wordsCount(year);
+        int payloadSize = HEADER_SIZE + words * Long.BYTES;
+        if (buffer.limit() != payloadSize + Integer.BYTES
+                || buffer.getInt(0) != MAGIC
+                || buffer.getShort(Integer.BYTES) != FORMAT_VERSION
+                || buffer.getInt(Integer.BYTES + Short.BYTES) != year
+                || buffer.getShort(Integer.BYTES + Short.BYTES + Integer.BYTES) != words
+                || buffer.getInt(payloadSize) != checksum(buffer, payloadSize)) {
+            return null;
+        }
+
+        long[] dayTypes = new long[words];
+        for (int i = 0; i < words; i++) {
+            dayTypes[i] = buffer.getLong(HEADER_SIZE + i * Long.BYTES);
+        }
+        return dayTypes;
+    }
+
+    /**
+     * Вычисляет CRC32 первых {@code length} байт буфера, не меняя его позицию
+     *
+     * @param buffer буфер
+     * @param length количество байт
+     * @return контрольная сумма
+     */
+    private static int checksum(ByteBuffer buffer, int length) {
+        ByteBuffer view = buffer.duplicate();
+        view.position(0).limit(length);
+        CRC32 crc = new CRC32();
+        crc.update(view);
+        return (int) crc.getValue();
+    }
+
+    /**
+     * Удаляет повреждённый файл календаря или временный файл неудавшейся записи
+     *
+     * @param file файл
+     */
+    private static void delete(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            logger.warn("Не удалось удалить файл календаря {}: {}", file, e.getMessage());
+        }
+    }
+
+    /**
+     * @param country код страны
+     * @param year    год
+     * @return путь к файлу календаря года страны
+     */
+    private Path fileOf(String country, int year) {
+        return directory.resolve(country).resolve(year + FILE_EXTENSION);
+    }
+}
@@ -0,0 +1,130 @@
+package neoflex.domain.calendar;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * Автоматический выключатель для обращений к источнику календарей.
+ * <p>
+ * В закрытом состоянии пропускает все обращения. После {@code failureThreshold} ошибок подряд
+ * размыкается и в течение {@code openDuration} отклоняет обращения без ожидания.
+ * По истечении этого времени пропускает одно пробное обращение: его успех замыкает выключатель,
+ * а ошибка снова размыкает его на {@code openDuration}
+ */
+public class CircuitBreaker {
+
+    /**
+     * Состояние выключателя
+     */
+    public enum State {
+        /**
+         * Обращения пропускаются
+         */
+        CLOSED,
+        /**
+         * Обращения отклоняются
+         */
+        OPEN,
+        /**
+         * Пропущено пробное обращение
+         */
+        HALF_OPEN
+    }
+
+    /**
+     * Количество ошибок подряд, после которого выключатель размыкается
+     */
+    private final int failureThreshold;
+
+    /**
+     * Время в разомкнутом состоянии в наносекундах
+     */
+    private final long openDurationNanos;
+
+    /**
+     * Источник монотонного времени в наносекундах
+     */
+    private final LongSupplier nanoClock;
+
+    /**
+     * Текущее состояние
+     */
+    private State state = State.CLOSED;
+
+    /**
+     * Количество ошибок подряд
+     */
+    private int failures;
+
+    /**
+     * Момент последнего размыкания или пробного обращения
+     */
+    private long openedAt;
+
+    /**
+     * Конструктор выключателя
+     *
+     * @param failureThreshold количество ошибок подряд, после которого выключатель размыкается
+     * @param openDuration     время в разомкнутом состоянии
+     */
+    public CircuitBreaker(int failureThreshold, Duration openDuration) {
+        this(failureThreshold, openDuration, System::nanoTime);
+    }
+
+    /**
+     * Конструктор выключателя с заданным источником времени
+     *
+     * @param failureThreshold количество ошибок подряд, после которого выключатель размыкается
+     * @param openDuration     время в разомкнутом состоянии
+     * @param nanoClock        источник монотонного времени в наносекундах
+     */
+    CircuitBreaker(int failureThreshold, Duration openDuration, LongSupplier nanoClock) {
+        this.failureThreshold = failureThreshold;
+        this.openDurationNanos = openDuration.toNanos();
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Проверяет, можно ли выполнить обращение
+     *
+     * @return true — если обращение разрешено
+     */
+    public synchronized boolean tryAcquire() {
+        if (state == State.CLOSED) {
+            return true;
+        }
+        long now = nanoClock.getAsLong();
+        if (now - openedAt >= openDurationNanos) {
+            state = State.HALF_OPEN;
+            openedAt = now;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Регистрирует успешное обращение
+     */
+    public synchronized void onSuccess() {
+        state = State.CLOSED;
+        failures = 0;
+    }
+
+    /**
+     * Регистрирует неудачное обращение
+     */
+    public synchronized void onFailure() {
+        failures++;
+        if (state == State.HALF_OPEN || failures >= failureThreshold) {
+            state = State.OPEN;
+            openedAt = nanoClock.getAsLong();
+        }
+    }
+
+    /**
+     * @return текущее состояние выключателя
+     */
+    public synchronized State getState() {
+        return state;
+    }
+}
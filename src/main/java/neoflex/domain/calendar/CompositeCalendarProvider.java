@@ -0,0 +1,59 @@
+package neoflex.domain.calendar;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+/**
+ * Составной источник календарей, опрашивающий источники в заданном порядке.
+ * Возвращает календарь первого источника, у которого есть данные за год.
+ * Ошибка источника не прерывает перебор; если ни один источник не вернул календарь,
+ * возвращается последняя ошибка либо {@link CalendarNotFoundException}, если ошибок не было
+ */
+public class CompositeCalendarProvider implements CalendarProvider {
+
+    private static final Logger logger = LoggerFactory.getLogger(CompositeCalendarProvider.class);
+
+    /**
+     * Источники в порядке опроса
+     */
+    private final List<CalendarProvider> providers;
+
+    /**
+     * Конструктор составного источника
+     *
+     * @param providers источники в порядке опроса
+     */
+    public CompositeCalendarProvider(List<CalendarProvider> providers) {
+        this.providers = List.copyOf(providers);
+    }
+
+    @Override
+    public String getName() {
+        return providers.stream().map(CalendarProvider::getName).collect(Collectors.joining(","));
+    }
+
+    @Override
+    public Mono<YearCalendar> getYearCalendar(String country, int year) {
+        return Mono.defer(() -> {
+            AtomicReference<Throwable> lastError = new AtomicReference<>();
+            return Flux.fromIterable(providers)
+                    .concatMap(provider -> provider.getYearCalendar(country, year)
+                            .onErrorResume(e -> {
+                                logger.warn("Источник календаря {} не вернул {} год страны {}: {}",
+                                        provider.getName(), year, country, e.getMessage());
+                                lastError.set(e);
+                                return Mono.empty();
+                            }))
+                    .next()
+                    .switchIfEmpty(Mono.error(() -> lastError.get() != null
+                            ? lastError.get()
+                            : new CalendarNotFoundException("Календарь страны " + country + " за " + year + " год не найден ни в одном источнике!")));
+        });
+    }
+}
@@ -0,0 +1,76 @@
+package neoflex.domain.calendar;
+
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.util.Locale;
+
+/**
+ * Источник календарей на основе API https://isdayoff.ru
+ */
+public class IsDayOffCalendarProvider implements CalendarProvider {
+
+    /**
+     * Имя источника
+     */
+    public static final String NAME = "isdayoff";
+
+    /**
+     * Шаблон URL запроса к API с указанием года, страны и параметра предварительной обработки.
+     * Параметр {@code %d} будет заменён на интересующий год, {@code %s} — на код страны в нижнем регистре
+     */
+    private static final String API_URL_TEMPLATE = "api/getdata?year=%d&cc=%s&pre=1";
+
+    /**
+     * WebClient для выполнения HTTP-запросов к внешнему API,
+     * возвращающему календарь рабочих и выходных дней
+     */
+    private final WebClient webClient;
+
+    /**
+     * Конструктор источника, инициализирующий WebClient для работы с внешним API
+     *
+     * @param webClient настроенный WebClient, используемый для запросов
+     */
+    public IsDayOffCalendarProvider(WebClient webClient) {
+        this.webClient = webClient;
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    /**
+     * Получает данные о рабочих/выходных днях с внешнего API и преобразует их в компактный календарь
+     *
+     * @param country код страны
+     * @param year    год, для которого требуется получить данные
+     * @return календарь года; ошибка {@link IllegalStateException}, если ответ от API пустой или некорректный
+     */
+    @Override
+    public Mono<YearCalendar> getYearCalendar(String country, int year) {
+        return webClient.get()
+                .uri(String.format(API_URL_TEMPLATE, year, country.toLowerCase(Locale.ROOT)))
+                .retrieve()
+                .bodyToMono(String.class)
+                .switchIfEmpty(Mono.error(() -> new IllegalStateException("Пустой или некорректный ответ от сервиса!")))
+                .map(response -> toYearCalendar(year, response));
+    }
+
+    /**
+     * Преобразует ответ внешнего API в компактный календарь
+     *
+     * @param year     год
+     * @param response ответ API: по одному коду на каждый день года
+     * @return календарь года
+     * @throws IllegalStateException если ответ от API пустой или некорректный
+     */
+    private static YearCalendar toYearCalendar(int year, String response) {
+        try {
+            return YearCalendar.parse(year, response.trim());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalStateException("Пустой или некорректный ответ от сервиса!", e);
+        }
+    }
+}
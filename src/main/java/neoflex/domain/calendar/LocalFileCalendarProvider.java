@@ -0,0 +1,96 @@
+package neoflex.domain.calendar;
+
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Источник календарей из локальных файлов производственного календаря.
+ * Календарь года страны хранится в файле {@code <страна>/<год>.txt} в формате isdayoff.ru:
+ * по одной цифре-коду на каждый день года, начиная с 1 января. Файлы {@code <год>.txt} в корне каталога
+ * относятся к стране по умолчанию. Не требует сетевых обращений
+ */
+public class LocalFileCalendarProvider implements CalendarProvider {
+
+    /**
+     * Имя источника
+     */
+    public static final String NAME = "local";
+
+    /**
+     * Каталог с файлами производственного календаря
+     */
+    private final Path directory;
+
+    /**
+     * Страна, к которой относятся файлы в корне каталога
+     */
+    private final String defaultCountry;
+
+    /**
+     * Конструктор источника
+     *
+     * @param directory      каталог с файлами производственного календаря
+     * @param defaultCountry страна, к которой относятся файлы в корне каталога
+     */
+    public LocalFileCalendarProvider(String directory, String defaultCountry) {
+        this.directory = Paths.get(directory);
+        this.defaultCountry = defaultCountry;
+    }
+
+    /**
+     * Конструктор источника для страны по умолчанию {@link CalendarCountries#DEFAULT_COUNTRY}
+     *
+     * @param directory каталог с файлами производственного календаря
+     */
+    public LocalFileCalendarProvider(String directory) {
+        this(directory, CalendarCountries.DEFAULT_COUNTRY);
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    /**
+     * Читает календарь года страны из файла
+     *
+     * @param country код страны
+     * @param year    год
+     * @return календарь года; пустой результат, если файла нет;
+     * ошибка {@link IllegalStateException}, если файл некорректен
+     */
+    @Override
+    public Mono<YearCalendar> getYearCalendar(String country, int year) {
+        return Mono.fromCallable(() -> readYear(country, year))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    /**
+     * @param country код страны
+     * @param year    год
+     * @return календарь года или null, если файла нет
+     * @throws IOException           при ошибке чтения файла
+     * @throws IllegalStateException если файл некорректен
+     */
+    private YearCalendar readYear(String country, int year) throws IOException {
+        Path file = directory.resolve(country).resolve(year + ".txt");
+        if (!Files.isRegularFile(file) && country.equals(defaultCountry)) {
+            file = directory.resolve(year + ".txt");
+        }
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        String codes = new String(Files.readAllBytes(file), StandardCharsets.US_ASCII).trim();
+        try {
+            return YearCalendar.parse(year, codes);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalStateException("Некорректный файл производственного календаря: " + file, e);
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package neoflex.domain.calendar;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Источник календарей, ограничивающий время ожидания другого источника.
+ * <p>
+ * Каждое обращение ограничено по времени (если ограничение не применяет сам источник,
+ * например {@link ThrottlingCalendarProvider}, отсчитывающий его без учёта ожидания в очереди), временные ошибки (таймауты, ошибки соединения, ответы 5xx)
+ * повторяются с экспоненциальной задержкой со случайным разбросом, а общее время всех попыток
+ * ограничено бюджетом. При серии ошибок {@link CircuitBreaker} отклоняет обращения без ожидания.
+ * Если календарь так и не получен, возвращается приблизительный календарь ({@link YearCalendar#weekdayApproximation(int)}).
+ * Последние известные календари здесь не хранятся: уже загруженный календарь остаётся в кеше {@code DayStatusService},
+ * который не заменяет его приблизительным, а вытесненный из кеша читается с диска ({@link CalendarStore}).
+ * Ошибки клиента (ответы 4xx) и некорректные данные не повторяются и передаются вызывающему.
+ * Отказ перегруженного источника ({@link CalendarRequestRejectedException}) тоже передаётся вызывающему
+ * без повторов и не влияет на состояние выключателя
+ */
+public class ResilientCalendarProvider implements CalendarProvider {
+
+    private static final Logger logger = LoggerFactory.getLogger(ResilientCalendarProvider.class);
+
+    /**
+     * Источник, обращения к которому защищаются
+     */
+    private final CalendarProvider delegate;
+
+    /**
+     * Автоматический выключатель
+     */
+    private final CircuitBreaker circuitBreaker;
+
+    /**
+     * Ограничение времени одной попытки; нулевое — не применяется
+     */
+    private final Duration attemptTimeout;
+
+    /**
+     * Ограничение общего времени всех попыток
+     */
+    private final Duration totalTimeout;
+
+    /**
+     * Стратегия повторов временных ошибок
+     */
+    private final Retry retry;
+
+    /**
+     * Возвращать ли приблизительный календарь при недоступности источника
+     */
+    private final boolean fallbackEnabled;
+
+    /**
+     * Конструктор источника
+     *
+     * @param delegate        защищаемый источник
+     * @param circuitBreaker  автоматический выключатель
+     * @param attemptTimeout  ограничение времени одной попытки; нулевое — не применяется
+     * @param totalTimeout    ограничение общего времени всех попыток
+     * @param maxRetries      максимальное количество повторов
+     * @param minBackoff      начальная задержка перед повтором
+     * @param maxBackoff      максимальная задержка перед повтором
+     * @param fallbackEnabled возвращать ли запасной календарь при недоступности источника
+     */
+    public ResilientCalendarProvider(CalendarProvider delegate, CircuitBreaker circuitBreaker,
+                                     Duration attemptTimeout, Duration totalTimeout,
+                                     int maxRetries, Duration minBackoff, Duration maxBackoff,
+                                     boolean fallbackEnabled) {
+        this.delegate = delegate;
+        this.circuitBreaker = circuitBreaker;
+        this.attemptTimeout = attemptTimeout;
+        this.totalTimeout = totalTimeout;
+        this.retry = Retry.backoff(maxRetries, minBackoff)
+                .maxBackoff(maxBackoff)
+                .jitter(0.5)
+                .filter(ResilientCalendarProvider::isTransient)
+                .onRetryExhaustedThrow((spec, signal) -> signal.failure());
+        this.fallbackEnabled = fallbackEnabled;
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Mono<YearCalendar> getYearCalendar(String country, int year) {
+        return Mono.defer(() -> {
+            if (!circuitBreaker.tryAcquire()) {
+                return fallback(country, year, new IllegalStateException("Источник календаря временно недоступен!"));
+            }
+            Mono<YearCalendar> attempt = delegate.getYearCalendar(country, year);
+            if (!attemptTimeout.isZero()) {
+                attempt = attempt.timeout(attemptTimeout);
+            }
+            return attempt
+                    .retryWhen(retry)
+                    .timeout(totalTimeout)
+                    .doOnSuccess(calendar -> circuitBreaker.onSuccess())
+                    .doOnError(e -> {
+                        if (isTransient(e)) {
+                            circuitBreaker.onFailure();
+                        } else if (!(e instanceof CalendarRequestRejectedException)) {
+                            circuitBreaker.onSuccess();
+                        }
+                    })
+                    .onErrorResume(ResilientCalendarProvider::isTransient, e -> fallback(country, year, e));
+        });
+    }
+
+    /**
+     * Возвращает запасной календарь года либо исходную ошибку, если запасной вариант выключен
+     *
+     * @param country код страны
+     * @param year    год
+     * @param cause   причина недоступности источника
+     * @return приблизительный календарь
+     */
+    private Mono<YearCalendar> fallback(String country, int year, Throwable cause) {
+        if (!fallbackEnabled) {
+            return Mono.error(cause);
+        }
+        logger.warn("Источник календаря недоступен ({}), используется приблизительный календарь {} года страны {}",
+                cause.toString(), year, country);
+        return Mono.just(YearCalendar.weekdayApproximation(year));
+    }
+
+    /**
+     * Проверяет, является ли ошибка временной: таймаут, ошибка соединения или ответ 5xx
+     *
+     * @param e ошибка
+     * @return true — если обращение имеет смысл повторить
+     */
+    static boolean isTransient(Throwable e) {
+        return e instanceof TimeoutException
+                || e instanceof WebClientRequestException
+                || e instanceof WebClientResponseException
+                && ((WebClientResponseException) e).getStatusCode().is5xxServerError();
+    }
+}
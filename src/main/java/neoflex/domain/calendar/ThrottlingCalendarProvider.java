@@ -0,0 +1,363 @@
+package neoflex.domain.calendar;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Источник календарей, ограничивающий нагрузку на другой источник (bulkhead).
+ * <p>
+ * Одновременно выполняется не более {@code maxConcurrent} обращений, а новые обращения начинаются
+ * не чаще, чем разрешает {@link TokenBucket}. Обращения сверх лимитов ждут в очереди FIFO ограниченного размера,
+ * не занимая потоков; при заполненной очереди обращение сразу отклоняется
+ * с {@link CalendarRequestRejectedException}, как и обращение, прождавшее в очереди дольше {@code maxQueueWait}.
+ * Время самого обращения к источнику ограничено {@code attemptTimeout} и отсчитывается только с его начала,
+ * поэтому ожидание в очереди не превращается в таймаут источника, который повторялся бы
+ * и размыкал автоматический выключатель. Отмена подписки удаляет обращение из очереди
+ * или прерывает уже начатое обращение и освобождает место.
+ * Состояние публикуется в метриках {@code calendar.provider.active}, {@code calendar.provider.queue}
+ * и {@code calendar.provider.rejections} с тегом {@code provider}
+ */
+public class ThrottlingCalendarProvider implements CalendarProvider {
+
+    /**
+     * Источник, нагрузка на который ограничивается
+     */
+    private final CalendarProvider delegate;
+
+    /**
+     * Максимальное количество одновременных обращений
+     */
+    private final int maxConcurrent;
+
+    /**
+     * Максимальное количество обращений в очереди
+     */
+    private final int queueCapacity;
+
+    /**
+     * Ограничитель частоты начала обращений
+     */
+    private final TokenBucket tokenBucket;
+
+    /**
+     * Ограничение времени обращения к источнику; нулевое — без ограничения
+     */
+    private final Duration attemptTimeout;
+
+    /**
+     * Ограничение времени ожидания в очереди; нулевое — без ограничения
+     */
+    private final Duration maxQueueWait;
+
+    /**
+     * Планировщик отложенного запуска обращений из очереди, ожидающих токен
+     */
+    private final Scheduler scheduler;
+
+    /**
+     * Счётчик отклонённых обращений
+     */
+    private final Counter rejections;
+
+    /**
+     * Обращения, ожидающие запуска, в порядке поступления
+     */
+    private final Deque<PendingRequest> queue = new ArrayDeque<>();
+
+    /**
+     * Количество выполняющихся обращений
+     */
+    private int active;
+
+    /**
+     * Запланирован ли отложенный запуск обращений из очереди
+     */
+    private boolean drainScheduled;
+
+    /**
+     * Конструктор источника
+     *
+     * @param delegate       источник, нагрузка на который ограничивается
+     * @param maxConcurrent  максимальное количество одновременных обращений
+     * @param queueCapacity  максимальное количество обращений в очереди; 0 — отклонять сразу
+     * @param tokenBucket    ограничитель частоты начала обращений
+     * @param attemptTimeout ограничение времени обращения к источнику; нулевое — без ограничения
+     * @param maxQueueWait   ограничение времени ожидания в очереди; нулевое — без ограничения
+     * @param meterRegistry  реестр метрик
+     */
+    public ThrottlingCalendarProvider(CalendarProvider delegate, int maxConcurrent, int queueCapacity,
+                                      TokenBucket tokenBucket, Duration attemptTimeout, Duration maxQueueWait,
+                                      MeterRegistry meterRegistry) {
+        this(delegate, maxConcurrent, queueCapacity, tokenBucket, attemptTimeout, maxQueueWait, meterRegistry,
+                Schedulers.parallel());
+    }
+
+    /**
+     * Конструктор источника с заданным планировщиком
+     *
+     * @param delegate       источник, нагрузка на который ограничивается
+     * @param maxConcurrent  максимальное количество одновременных обращений
+     * @param queueCapacity  максимальное количество обращений в очереди; 0 — отклонять сразу
+     * @param tokenBucket    ограничитель частоты начала обращений
+     * @param attemptTimeout ограничение времени обращения к источнику; нулевое — без ограничения
+     * @param maxQueueWait   ограничение времени ожидания в очереди; нулевое — без ограничения
+     * @param meterRegistry  реестр метрик
+     * @param scheduler      планировщик отложенного запуска обращений и таймаутов
+     */
+    ThrottlingCalendarProvider(CalendarProvider delegate, int maxConcurrent, int queueCapacity,
+                               TokenBucket tokenBucket, Duration attemptTimeout, Duration maxQueueWait,
+                               MeterRegistry meterRegistry, Scheduler scheduler) {
+        this.delegate = delegate;
+        this.maxConcurrent = Math.max(1, maxConcurrent);
+        this.queueCapacity = Math.max(0, queueCapacity);
+        this.tokenBucket = tokenBucket;
+        this.attemptTimeout = attemptTimeout;
+        this.maxQueueWait = maxQueueWait;
+        this.scheduler = scheduler;
+        String name = delegate.getName();
+        Gauge.builder("calendar.provider.active", this, ThrottlingCalendarProvider::getActive)
+                .description("Количество выполняющихся обращений к источнику календарей")
+                .tag("provider", name)
+                .register(meterRegistry);
+        Gauge.builder("calendar.provider.queue", this, ThrottlingCalendarProvider::getQueueDepth)
+                .description("Количество обращений к источнику календарей в очереди")
+                .tag("provider", name)
+                .register(meterRegistry);
+        this.rejections = Counter.builder("calendar.provider.rejections")
+                .description("Количество обращений к источнику календарей, отклонённых из-за перегрузки")
+                .tag("provider", name)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Mono<YearCalendar> getYearCalendar(String country, int year) {
+        return Mono.create(sink -> {
+            PendingRequest request = new PendingRequest(country, year, sink);
+            sink.onCancel(() -> cancel(request));
+            boolean startNow = false;
+            boolean rejected = false;
+            synchronized (this) {
+                if (queue.isEmpty() && tryAcquire()) {
+                    startNow = true;
+                } else if (queue.size() >= queueCapacity) {
+                    rejected = true;
+                } else {
+                    queue.addLast(request);
+                    if (!maxQueueWait.isZero()) {
+                        request.expiry = scheduler.schedule(() -> expire(request),
+                                maxQueueWait.toNanos(), TimeUnit.NANOSECONDS);
+                    }
+                    if (active < maxConcurrent) {
+                        scheduleDrain();
+                    }
+                }
+            }
+            if (startNow) {
+                start(request);
+            } else if (rejected) {
+                reject(sink);
+            }
+        });
+    }
+
+    /**
+     * Отклоняет обращение из-за перегрузки источника
+     *
+     * @param sink получатель результата обращения
+     */
+    private void reject(MonoSink<YearCalendar> sink) {
+        rejections.increment();
+        sink.error(new CalendarRequestRejectedException("Источник календаря " + delegate.getName()
+                + " перегружен, повторите запрос позже!"));
+    }
+
+    /**
+     * Отклоняет обращение, которое дольше {@link #maxQueueWait} ожидает в очереди
+     *
+     * @param request обращение
+     */
+    private void expire(PendingRequest request) {
+        boolean removed;
+        synchronized (this) {
+            removed = queue.remove(request);
+        }
+        if (removed) {
+            reject(request.sink);
+        }
+    }
+
+    /**
+     * @return количество выполняющихся обращений
+     */
+    public synchronized int getActive() {
+        return active;
+    }
+
+    /**
+     * @return количество обращений в очереди
+     */
+    public synchronized int getQueueDepth() {
+        return queue.size();
+    }
+
+    /**
+     * Занимает место для нового обращения, если не исчерпаны лимит одновременных обращений и токены.
+     * Вызывается под блокировкой
+     *
+     * @return true — если обращение можно начать
+     */
+    private boolean tryAcquire() {
+        if (active >= maxConcurrent || !tokenBucket.tryAcquire()) {
+            return false;
+        }
+        active++;
+        return true;
+    }
+
+    /**
+     * Начинает обращение к источнику; место освобождается по его завершении, ошибке или отмене
+     *
+     * @param request обращение
+     */
+    private void start(PendingRequest request) {
+        if (request.subscription.isDisposed()) {
+            release();
+            return;
+        }
+        MonoSink<YearCalendar> sink = request.sink;
+        Mono<YearCalendar> calendar = delegate.getYearCalendar(request.country, request.year);
+        if (!attemptTimeout.isZero()) {
+            calendar = calendar.timeout(attemptTimeout, scheduler);
+        }
+        Disposable subscription = calendar
+                .doFinally(signal -> release())
+                .subscribe(sink::success, sink::error, sink::success);
+        request.subscription.update(subscription);
+    }
+
+    /**
+     * Освобождает место выполнившегося обращения и запускает ожидающие
+     */
+    private void release() {
+        synchronized (this) {
+            active--;
+        }
+        drain();
+    }
+
+    /**
+     * Запускает обращения из очереди, пока позволяют лимиты. Если места есть, но не хватает токенов,
+     * планирует повторный запуск к моменту появления следующего токена
+     */
+    private void drain() {
+        List<PendingRequest> ready = null;
+        synchronized (this) {
+            while (!queue.isEmpty() && tryAcquire()) {
+                if (ready == null) {
+                    ready = new ArrayList<>();
+                }
+                PendingRequest request = queue.pollFirst();
+                request.expiry.dispose();
+                ready.add(request);
+            }
+            if (!queue.isEmpty() && active < maxConcurrent) {
+                scheduleDrain();
+            }
+        }
+        if (ready != null) {
+            ready.forEach(this::start);
+        }
+    }
+
+    /**
+     * Планирует запуск обращений из очереди к моменту появления следующего токена.
+     * Вызывается под блокировкой
+     */
+    private void scheduleDrain() {
+        if (drainScheduled) {
+            return;
+        }
+        drainScheduled = true;
+        scheduler.schedule(() -> {
+            synchronized (this) {
+                drainScheduled = false;
+            }
+            drain();
+        }, Math.max(1, tokenBucket.nanosUntilAvailable()), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Отменяет обращение: удаляет его из очереди или прерывает уже начатое
+     *
+     * @param request обращение
+     */
+    private void cancel(PendingRequest request) {
+        synchronized (this) {
+            queue.remove(request);
+            request.expiry.dispose();
+        }
+        request.subscription.dispose();
+    }
+
+    /**
+     * Обращение к источнику, ожидающее запуска
+     */
+    private static final class PendingRequest {
+
+        /**
+         * Код страны
+         */
+        private final String country;
+
+        /**
+         * Год
+         */
+        private final int year;
+
+        /**
+         * Получатель результата обращения
+         */
+        private final MonoSink<YearCalendar> sink;
+
+        /**
+         * Подписка на начатое обращение; после отмены новое обращение не начинается
+         */
+        private final Disposable.Swap subscription = Disposables.swap();
+
+        /**
+         * Отложенное отклонение обращения по истечении времени ожидания в очереди.
+         * Изменяется под блокировкой источника
+         */
+        private Disposable expiry = Disposables.disposed();
+
+        /**
+         * @param country код страны
+         * @param year    год
+         * @param sink    получатель результата обращения
+         */
+        private PendingRequest(String country, int year, MonoSink<YearCalendar> sink) {
+            this.country = country;
+            this.year = year;
+            this.sink = sink;
+        }
+    }
+}
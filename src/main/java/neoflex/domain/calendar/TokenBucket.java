@@ -0,0 +1,107 @@
+package neoflex.domain.calendar;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Ограничитель частоты обращений по алгоритму «корзина токенов».
+ * <p>
+ * Корзина вмещает {@code burst} токенов и пополняется со скоростью {@code permitsPerSecond} токенов в секунду.
+ * Каждое обращение забирает один токен; пустая корзина отклоняет обращение и сообщает,
+ * через сколько появится следующий токен. Полная корзина допускает всплеск из {@code burst} обращений подряд,
+ * а в среднем частота не превышает {@code permitsPerSecond}. Нулевая или отрицательная частота снимает ограничение
+ */
+public class TokenBucket {
+
+    /**
+     * Количество наносекунд в секунде
+     */
+    private static final double NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    /**
+     * Скорость пополнения в токенах за наносекунду; 0 — без ограничения
+     */
+    private final double permitsPerNano;
+
+    /**
+     * Вместимость корзины
+     */
+    private final int burst;
+
+    /**
+     * Источник монотонного времени в наносекундах
+     */
+    private final LongSupplier nanoClock;
+
+    /**
+     * Количество токенов в корзине на момент {@link #refilledAt}
+     */
+    private double tokens;
+
+    /**
+     * Момент последнего пополнения корзины
+     */
+    private long refilledAt;
+
+    /**
+     * Конструктор ограничителя
+     *
+     * @param permitsPerSecond допустимое количество обращений в секунду; 0 — без ограничения
+     * @param burst            вместимость корзины — допустимое количество обращений подряд
+     */
+    public TokenBucket(double permitsPerSecond, int burst) {
+        this(permitsPerSecond, burst, System::nanoTime);
+    }
+
+    /**
+     * Конструктор ограничителя с заданным источником времени
+     *
+     * @param permitsPerSecond допустимое количество обращений в секунду; 0 — без ограничения
+     * @param burst            вместимость корзины — допустимое количество обращений подряд
+     * @param nanoClock        источник монотонного времени в наносекундах
+     */
+    TokenBucket(double permitsPerSecond, int burst, LongSupplier nanoClock) {
+        this.permitsPerNano = permitsPerSecond > 0 ? permitsPerSecond / NANOS_PER_SECOND : 0;
+        this.burst = Math.max(1, burst);
+        this.nanoClock = nanoClock;
+        this.tokens = this.burst;
+        this.refilledAt = nanoClock.getAsLong();
+    }
+
+    /**
+     * Забирает токен из корзины
+     *
+     * @return true — если токен был и обращение разрешено
+     */
+    public synchronized boolean tryAcquire() {
+        if (permitsPerNano == 0) {
+            return true;
+        }
+        refill();
+        if (tokens < 1) {
+            return false;
+        }
+        tokens -= 1;
+        return true;
+    }
+
+    /**
+     * @return время в наносекундах до появления следующего токена, 0 — если токен уже есть
+     */
+    public synchronized long nanosUntilAvailable() {
+        if (permitsPerNano == 0) {
+            return 0;
+        }
+        refill();
+        return tokens >= 1 ? 0 : (long) Math.ceil((1 - tokens) / permitsPerNano);
+    }
+
+    /**
+     * Добавляет токены, накопившиеся с последнего пополнения, не превышая вместимость корзины
+     */
+    private void refill() {
+        long now = nanoClock.getAsLong();
+        tokens = Math.min(burst, tokens + (now - refilledAt) * permitsPerNano);
+        refilledAt = now;
+    }
+}
@@ -0,0 +1,328 @@
+package neoflex.domain.calendar;
+
+import java.nio.ByteBuffer;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.Year;
+import java.util.zip.CRC32;
+
+/**
+ * Неизменяемый компактный календарь одного года.
+ * Тип каждого дня хранится в 4-битной ячейке массива {@code long[]}, индексируемого днём года,
+ * а признак рабочего дня дублируется в битовой маске для проверки без вычисления типа.
+ * Для каждого слова маски хранится число рабочих дней до его начала, поэтому количество
+ * рабочих дней в любом диапазоне внутри года вычисляется за O(1).
+ * Год занимает около 350 байт вместо ~22 КБ у {@code Map<LocalDate, Boolean>}
+ */
+public final class YearCalendar {
+
+    /**
+     * Рабочий день
+     */
+    public static final int WORK_DAY = 0;
+
+    /**
+     * Нерабочий (выходной или праздничный) день
+     */
+    public static final int DAY_OFF = 1;
+
+    /**
+     * Сокращённый предпраздничный день
+     */
+    public static final int SHORT_DAY = 2;
+
+    /**
+     * Количество бит на тип одного дня
+     */
+    private static final int TYPE_BITS = 4;
+
+    /**
+     * Количество типов дней, помещающихся в одно значение {@code long}
+     */
+    private static final int TYPES_PER_WORD = Long.SIZE / TYPE_BITS;
+
+    /**
+     * Маска для извлечения типа дня
+     */
+    private static final long TYPE_MASK = (1L << TYPE_BITS) - 1;
+
+    /**
+     * Год календаря
+     */
+    private final int year;
+
+    /**
+     * Количество дней в году
+     */
+    private final int daysCount;
+
+    /**
+     * Типы дней, по {@value #TYPES_PER_WORD} дней в каждом значении
+     */
+    private final long[] dayTypes;
+
+    /**
+     * Битовая маска рабочих дней: бит {@code dayOfYear - 1} установлен, если день рабочий
+     */
+    private final long[] workDays;
+
+    /**
+     * Накопленное количество рабочих дней: элемент {@code i} равен числу рабочих дней
+     * в словах маски {@code workDays} с индексами меньше {@code i}
+     */
+    private final int[] workDaysBefore;
+
+    /**
+     * Признак приблизительного календаря, построенного без данных источника
+     */
+    private final boolean approximate;
+
+    /**
+     * Отпечаток содержимого календаря, вычисленный один раз при создании
+     */
+    private final String fingerprint;
+
+    /**
+     * Закрытый конструктор, экземпляры создаются через {@link #parse(int, CharSequence)}
+     *
+     * @param year        год
+     * @param daysCount   количество дней в году
+     * @param dayTypes    упакованные типы дней
+     * @param workDays    битовая маска рабочих дней
+     * @param approximate признак приблизительного календаря
+     */
+    private YearCalendar(int year, int daysCount, long[] dayTypes, long[] workDays, boolean approximate) {
+        this.year = year;
+        this.daysCount = daysCount;
+        this.dayTypes = dayTypes;
+        this.workDays = workDays;
+        this.approximate = approximate;
+        this.workDaysBefore = new int[workDays.length];
+        for (int i = 1; i < workDays.length; i++) {
+            workDaysBefore[i] = workDaysBefore[i - 1] + Long.bitCount(workDays[i - 1]);
+        }
+        this.fingerprint = fingerprint(dayTypes, approximate);
+    }
+
+    /**
+     * Создаёт календарь из строки кодов дней в формате isdayoff.ru:
+     * один символ-цифра на каждый день года, начиная с 1 января
+     *
+     * @param year  год
+     * @param codes коды дней
+     * @return календарь года
+     * @throws IllegalArgumentException если количество кодов не совпадает с длиной года или код не является цифрой
+     */
+    public static YearCalendar parse(int year, CharSequence codes) {
+        int daysCount = Year.of(year).length();
+        if (codes == null || codes.length() != daysCount) {
+            throw new IllegalArgumentException("Календарь за " + year + " год должен содержать " + daysCount + " дней!");
+        }
+
+        long[] dayTypes = new long[wordsCount(year)];
+        for (int i = 0; i < daysCount; i++) {
+            int type = Character.digit(codes.charAt(i), 10);
+            if (type < 0) {
+                throw new IllegalArgumentException("Некорректный код дня: " + codes.charAt(i));
+            }
+            dayTypes[i / TYPES_PER_WORD] |= (long) type << ((i % TYPES_PER_WORD) * TYPE_BITS);
+        }
+        return fromDayTypes(year, dayTypes, false);
+    }
+
+    /**
+     * Строит приблизительный календарь, в котором рабочими считаются дни с понедельника по пятницу,
+     * а праздники не учитываются. Используется, когда источники календаря недоступны
+     *
+     * @param year год
+     * @return приблизительный календарь года
+     */
+    public static YearCalendar weekdayApproximation(int year) {
+        long[] dayTypes = new long[wordsCount(year)];
+        LocalDate date = LocalDate.of(year, 1, 1);
+        for (int i = 0; date.getYear() == year; i++, date = date.plusDays(1)) {
+            DayOfWeek dayOfWeek = date.getDayOfWeek();
+            if (dayOfWeek == DayOfWeek.SATURDAY || dayOfWeek == DayOfWeek.SUNDAY) {
+                dayTypes[i / TYPES_PER_WORD] |= (long) DAY_OFF << ((i % TYPES_PER_WORD) * TYPE_BITS);
+            }
+        }
+        return fromDayTypes(year, dayTypes, true);
+    }
+
+    /**
+     * Создаёт календарь из упакованных типов дней, например прочитанных из {@link CalendarStore}
+     *
+     * @param year     год
+     * @param dayTypes упакованные типы дней длиной {@link #wordsCount(int)}
+     * @return календарь года
+     */
+    static YearCalendar fromDayTypes(int year, long[] dayTypes) {
+        return fromDayTypes(year, dayTypes, false);
+    }
+
+    /**
+     * @param year        год
+     * @param dayTypes    упакованные типы дней длиной {@link #wordsCount(int)}
+     * @param approximate признак приблизительного календаря
+     * @return календарь года
+     */
+    private static YearCalendar fromDayTypes(int year, long[] dayTypes, boolean approximate) {
+        int daysCount = Year.of(year).length();
+        long[] workDays = new long[(daysCount + Long.SIZE - 1) / Long.SIZE];
+        for (int i = 0; i < daysCount; i++) {
+            long type = (dayTypes[i / TYPES_PER_WORD] >>> ((i % TYPES_PER_WORD) * TYPE_BITS)) & TYPE_MASK;
+            if (type == WORK_DAY) {
+                workDays[i >>> 6] |= 1L << i;
+            }
+        }
+        return new YearCalendar(year, daysCount, dayTypes, workDays, approximate);
+    }
+
+    /**
+     * Возвращает количество значений {@code long}, занимаемых упакованными типами дней года
+     *
+     * @param year год
+     * @return размер массива типов дней
+     */
+    static int wordsCount(int year) {
+        return (Year.of(year).length() + TYPES_PER_WORD - 1) / TYPES_PER_WORD;
+    }
+
+    /**
+     * Возвращает упакованные типы дней для сериализации.
+     * Массив не копируется и не должен изменяться
+     *
+     * @return упакованные типы дней
+     */
+    long[] getDayTypes() {
+        return dayTypes;
+    }
+
+    /**
+     * @return год календаря
+     */
+    public int getYear() {
+        return year;
+    }
+
+    /**
+     * @return количество дней в году
+     */
+    public int getDaysCount() {
+        return daysCount;
+    }
+
+    /**
+     * @return true — если календарь приблизительный и не учитывает праздники и переносы
+     */
+    public boolean isApproximate() {
+        return approximate;
+    }
+
+    /**
+     * Возвращает отпечаток содержимого календаря: CRC32 типов всех дней и признака приближённости.
+     * Календари с одинаковым содержимым имеют одинаковый отпечаток, поэтому он служит версией календаря.
+     * Календарь неизменяем, поэтому отпечаток вычисляется один раз при создании
+     *
+     * @return отпечаток календаря в виде 8 шестнадцатеричных цифр
+     */
+    public String getFingerprint() {
+        return fingerprint;
+    }
+
+    /**
+     * Вычисляет отпечаток содержимого календаря
+     *
+     * @param dayTypes    упакованные типы дней
+     * @param approximate признак приблизительного календаря
+     * @return отпечаток календаря в виде 8 шестнадцатеричных цифр
+     */
+    private static String fingerprint(long[] dayTypes, boolean approximate) {
+        ByteBuffer buffer = ByteBuffer.allocate(dayTypes.length * Long.BYTES + 1);
+        for (long word : dayTypes) {
+            buffer.putLong(word);
+        }
+        buffer.put((byte) (approximate ? 1 : 0));
+        CRC32 crc = new CRC32();
+        crc.update(buffer.array());
+        return String.format("%08x", crc.getValue());
+    }
+
+    /**
+     * Возвращает коды всех дней года в формате isdayoff.ru — обратное преобразование к {@link #parse(int, CharSequence)}
+     *
+     * @return строка из одной цифры на каждый день года, начиная с 1 января
+     */
+    public String toCodes() {
+        StringBuilder codes = new StringBuilder(daysCount);
+        for (int day = 1; day <= daysCount; day++) {
+            codes.append(Character.forDigit(getDayType(day), 10));
+        }
+        return codes.toString();
+    }
+
+    /**
+     * Возвращает код типа дня
+     *
+     * @param dayOfYear день года, начиная с 1
+     * @return код типа дня ({@link #WORK_DAY}, {@link #DAY_OFF}, {@link #SHORT_DAY} или иной код источника)
+     */
+    public int getDayType(int dayOfYear) {
+        int index = dayOfYear - 1;
+        return (int) ((dayTypes[index / TYPES_PER_WORD] >>> ((index % TYPES_PER_WORD) * TYPE_BITS)) & TYPE_MASK);
+    }
+
+    /**
+     * Проверяет, является ли день рабочим
+     *
+     * @param dayOfYear день года, начиная с 1
+     * @return true — если день рабочий
+     */
+    public boolean isWorkDay(int dayOfYear) {
+        int index = dayOfYear - 1;
+        return (workDays[index >>> 6] & (1L << index)) != 0;
+    }
+
+    /**
+     * Проверяет, является ли дата рабочим днём
+     *
+     * @param date дата этого года
+     * @return true — если день рабочий
+     */
+    public boolean isWorkDay(LocalDate date) {
+        return isWorkDay(date.getDayOfYear());
+    }
+
+    /**
+     * @return количество рабочих дней в году
+     */
+    public int getWorkDaysCount() {
+        return workDaysUntil(daysCount);
+    }
+
+    /**
+     * Подсчитывает количество рабочих дней в диапазоне дней года включительно за O(1)
+     *
+     * @param fromDayOfYear первый день диапазона, начиная с 1
+     * @param toDayOfYear   последний день диапазона
+     * @return количество рабочих дней, 0 если диапазон пуст
+     */
+    public int countWorkDays(int fromDayOfYear, int toDayOfYear) {
+        if (toDayOfYear < fromDayOfYear) {
+            return 0;
+        }
+        return workDaysUntil(toDayOfYear) - workDaysUntil(fromDayOfYear - 1);
+    }
+
+    /**
+     * Подсчитывает количество рабочих дней с 1 января по указанный день включительно
+     *
+     * @param dayOfYear день года, 0 — пустой диапазон
+     * @return количество рабочих дней
+     */
+    private int workDaysUntil(int dayOfYear) {
+        int word = dayOfYear >>> 6;
+        long mask = (1L << (dayOfYear & 63)) - 1;
+        return workDaysBefore[word] + Long.bitCount(workDays[word] & mask);
+    }
+}
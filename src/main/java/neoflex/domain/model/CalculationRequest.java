@@ -0,0 +1,88 @@
+package neoflex.domain.model;
+
+import java.time.LocalDate;
+
+/**
+ * Запрос на расчёт отпускных в пакетном режиме.
+ * Поля соответствуют параметрам {@code GET /calculate}
+ */
+public class CalculationRequest {
+
+    /**
+     * Идентификатор запроса, возвращаемый в результате без изменений (опционально)
+     */
+    private String id;
+
+    /**
+     * Средняя зарплата за 12 месяцев
+     */
+    private Double averageSalary;
+
+    /**
+     * Количество дней отпуска
+     */
+    private Integer vacationDays;
+
+    /**
+     * Дата начала отпуска
+     */
+    private LocalDate startDate;
+
+    /**
+     * Дата окончания отпуска
+     */
+    private LocalDate endDate;
+
+    /**
+     * Код страны производственного календаря (опционально)
+     */
+    private String country;
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public Double getAverageSalary() {
+        return averageSalary;
+    }
+
+    public void setAverageSalary(Double averageSalary) {
+        this.averageSalary = averageSalary;
+    }
+
+    public Integer getVacationDays() {
+        return vacationDays;
+    }
+
+    public void setVacationDays(Integer vacationDays) {
+        this.vacationDays = vacationDays;
+    }
+
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    public void setStartDate(LocalDate startDate) {
+        this.startDate = startDate;
+    }
+
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+
+    public void setEndDate(LocalDate endDate) {
+        this.endDate = endDate;
+    }
+
+    public String getCountry() {
+        return country;
+    }
+
+    public void setCountry(String country) {
+        this.country = country;
+    }
+}
@@ -0,0 +1,98 @@
+package neoflex.domain.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Результат расчёта отпускных для одной строки пакетного запроса.
+ * Содержит либо сумму отпускных, либо описание ошибки
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class CalculationResult {
+
+    /**
+     * Номер строки во входных данных, начиная с 1
+     */
+    private final int line;
+
+    /**
+     * Идентификатор запроса, если он был указан
+     */
+    private final String id;
+
+    /**
+     * Рассчитанная сумма отпускных
+     */
+    private final Double pay;
+
+    /**
+     * Описание ошибки расчёта
+     */
+    private final String error;
+
+    /**
+     * Признак расчёта по приблизительному календарю; null, если расчёт точный
+     */
+    private final Boolean approximate;
+
+    /**
+     * Конструктор результата
+     *
+     * @param line        номер строки
+     * @param id          идентификатор запроса
+     * @param pay         сумма отпускных или null при ошибке
+     * @param error       описание ошибки или null при успехе
+     * @param approximate признак приблизительного расчёта или null
+     */
+    private CalculationResult(int line, String id, Double pay, String error, Boolean approximate) {
+        this.line = line;
+        this.id = id;
+        this.pay = pay;
+        this.error = error;
+        this.approximate = approximate;
+    }
+
+    /**
+     * Создаёт успешный результат
+     *
+     * @param line        номер строки
+     * @param id          идентификатор запроса
+     * @param pay         сумма отпускных
+     * @param approximate признак расчёта по приблизительному календарю
+     * @return результат расчёта
+     */
+    public static CalculationResult success(int line, String id, double pay, boolean approximate) {
+        return new CalculationResult(line, id, pay, null, approximate ? Boolean.TRUE : null);
+    }
+
+    /**
+     * Создаёт результат с ошибкой
+     *
+     * @param line  номер строки
+     * @param id    идентификатор запроса
+     * @param error описание ошибки
+     * @return результат расчёта
+     */
+    public static CalculationResult failure(int line, String id, String error) {
+        return new CalculationResult(line, id, null, error, null);
+    }
+
+    public int getLine() {
+        return line;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public Double getPay() {
+        return pay;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public Boolean getApproximate() {
+        return approximate;
+    }
+}
@@ -0,0 +1,95 @@
+package neoflex.domain.model;
+
+import neoflex.domain.calendar.YearCalendar;
+
+/**
+ * Производственный календарь года в компактном виде для клиентов сервиса
+ */
+public class CalendarDays {
+
+    /**
+     * Код страны календаря
+     */
+    private final String country;
+
+    /**
+     * Год календаря
+     */
+    private final int year;
+
+    /**
+     * Версия календаря — отпечаток его содержимого
+     */
+    private final String version;
+
+    /**
+     * Признак приблизительного календаря
+     */
+    private final boolean approximate;
+
+    /**
+     * Количество рабочих дней в году
+     */
+    private final int workDays;
+
+    /**
+     * Коды дней в формате isdayoff.ru: одна цифра на каждый день года, начиная с 1 января
+     * (0 — рабочий, 1 — нерабочий, 2 — сокращённый)
+     */
+    private final String days;
+
+    /**
+     * Конструктор календаря года
+     *
+     * @param country     код страны календаря
+     * @param year        год календаря
+     * @param version     версия календаря
+     * @param approximate признак приблизительного календаря
+     * @param workDays    количество рабочих дней в году
+     * @param days        коды дней
+     */
+    public CalendarDays(String country, int year, String version, boolean approximate, int workDays, String days) {
+        this.country = country;
+        this.year = year;
+        this.version = version;
+        this.approximate = approximate;
+        this.workDays = workDays;
+        this.days = days;
+    }
+
+    /**
+     * Создаёт представление загруженного календаря
+     *
+     * @param country  код страны календаря
+     * @param calendar календарь года
+     * @return календарь года для клиентов
+     */
+    public static CalendarDays of(String country, YearCalendar calendar) {
+        return new CalendarDays(country, calendar.getYear(), calendar.getFingerprint(), calendar.isApproximate(),
+                calendar.getWorkDaysCount(), calendar.toCodes());
+    }
+
+    public String getCountry() {
+        return country;
+    }
+
+    public int getYear() {
+        return year;
+    }
+
+    public String getVersion() {
+        return version;
+    }
+
+    public boolean isApproximate() {
+        return approximate;
+    }
+
+    public int getWorkDays() {
+        return workDays;
+    }
+
+    public String getDays() {
+        return days;
+    }
+}
@@ -0,0 +1,98 @@
+package neoflex.domain.model;
+
+import neoflex.domain.calendar.YearCalendar;
+
+import java.time.Instant;
+
+/**
+ * Сведения о календаре года, используемом в расчётах в данный момент
+ */
+public class CalendarSnapshot {
+
+    /**
+     * Код страны календаря
+     */
+    private final String country;
+
+    /**
+     * Год календаря
+     */
+    private final int year;
+
+    /**
+     * Версия календаря — отпечаток его содержимого
+     */
+    private final String version;
+
+    /**
+     * Время загрузки календаря в кеш
+     */
+    private final Instant loadedAt;
+
+    /**
+     * Признак приблизительного календаря
+     */
+    private final boolean approximate;
+
+    /**
+     * Количество рабочих дней в году
+     */
+    private final int workDays;
+
+    /**
+     * Конструктор сведений о календаре
+     *
+     * @param country     код страны календаря
+     * @param year        год календаря
+     * @param version     версия календаря
+     * @param loadedAt    время загрузки календаря в кеш
+     * @param approximate признак приблизительного календаря
+     * @param workDays    количество рабочих дней в году
+     */
+    public CalendarSnapshot(String country, int year, String version, Instant loadedAt, boolean approximate,
+                            int workDays) {
+        this.country = country;
+        this.year = year;
+        this.version = version;
+        this.loadedAt = loadedAt;
+        this.approximate = approximate;
+        this.workDays = workDays;
+    }
+
+    /**
+     * Создаёт сведения о загруженном календаре
+     *
+     * @param country  код страны календаря
+     * @param calendar календарь года
+     * @param loadedAt время загрузки календаря в кеш
+     * @return сведения о календаре
+     */
+    public static CalendarSnapshot of(String country, YearCalendar calendar, Instant loadedAt) {
+        return new CalendarSnapshot(country, calendar.getYear(), calendar.getFingerprint(), loadedAt,
+                calendar.isApproximate(), calendar.getWorkDaysCount());
+    }
+
+    public String getCountry() {
+        return country;
+    }
+
+    public int getYear() {
+        return year;
+    }
+
+    public String getVersion() {
+        return version;
+    }
+
+    public Instant getLoadedAt() {
+        return loadedAt;
+    }
+
+    public boolean isApproximate() {
+        return approximate;
+    }
+
+    public int getWorkDays() {
+        return workDays;
+    }
+}
@@ -0,0 +1,17 @@
+package neoflex.domain.model;
+
+/**
+ * Цель подбора даты начала отпуска
+ */
+public enum PlanObjective {
+
+    /**
+     * Наибольшая сумма отпускных: отпуск захватывает как можно больше рабочих дней
+     */
+    MAX_PAY,
+
+    /**
+     * Наименьший расход рабочих дней: отпуск приходится на выходные и праздники
+     */
+    MIN_WORK_DAYS
+}
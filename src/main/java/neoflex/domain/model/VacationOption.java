@@ -0,0 +1,60 @@
+package neoflex.domain.model;
+
+import java.time.LocalDate;
+
+/**
+ * Вариант отпуска, предложенный планировщиком
+ */
+public class VacationOption {
+
+    /**
+     * Дата начала отпуска
+     */
+    private final LocalDate startDate;
+
+    /**
+     * Дата окончания отпуска включительно
+     */
+    private final LocalDate endDate;
+
+    /**
+     * Количество рабочих дней, приходящихся на отпуск
+     */
+    private final int workDays;
+
+    /**
+     * Сумма отпускных
+     */
+    private final double pay;
+
+    /**
+     * Конструктор варианта отпуска
+     *
+     * @param startDate дата начала отпуска
+     * @param endDate   дата окончания отпуска
+     * @param workDays  количество рабочих дней в отпуске
+     * @param pay       сумма отпускных
+     */
+    public VacationOption(LocalDate startDate, LocalDate endDate, int workDays, double pay) {
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.workDays = workDays;
+        this.pay = pay;
+    }
+
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+
+    public int getWorkDays() {
+        return workDays;
+    }
+
+    public double getPay() {
+        return pay;
+    }
+}
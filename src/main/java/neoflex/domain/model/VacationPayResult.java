@@ -0,0 +1,37 @@
+package neoflex.domain.model;
+
+/**
+ * Сумма отпускных, рассчитанная по датам, вместе с признаком расчёта по приблизительному календарю.
+ * Оба значения получены по одним и тем же календарям лет отпуска
+ */
+public class VacationPayResult {
+
+    /**
+     * Сумма отпускных, округлённая до двух знаков после запятой
+     */
+    private final double pay;
+
+    /**
+     * Признак расчёта по приблизительному календарю
+     */
+    private final boolean approximate;
+
+    /**
+     * Конструктор результата
+     *
+     * @param pay         сумма отпускных
+     * @param approximate признак расчёта по приблизительному календарю
+     */
+    public VacationPayResult(double pay, boolean approximate) {
+        this.pay = pay;
+        this.approximate = approximate;
+    }
+
+    public double getPay() {
+        return pay;
+    }
+
+    public boolean isApproximate() {
+        return approximate;
+    }
+}
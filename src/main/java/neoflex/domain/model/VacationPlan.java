@@ -0,0 +1,83 @@
+package neoflex.domain.model;
+
+import java.util.List;
+
+/**
+ * Лучшие даты начала отпуска заданной длины в году по выбранной цели
+ */
+public class VacationPlan {
+
+    /**
+     * Код страны, по календарю которой подобраны даты
+     */
+    private final String country;
+
+    /**
+     * Год, в котором начинается отпуск
+     */
+    private final int year;
+
+    /**
+     * Длина отпуска в календарных днях
+     */
+    private final int vacationDays;
+
+    /**
+     * Цель подбора
+     */
+    private final PlanObjective objective;
+
+    /**
+     * Признак подбора по приблизительному календарю
+     */
+    private final boolean approximate;
+
+    /**
+     * Варианты отпуска от лучшего к худшему; равноценные варианты — в порядке дат
+     */
+    private final List<VacationOption> options;
+
+    /**
+     * Конструктор плана отпуска
+     *
+     * @param country      код страны
+     * @param year         год начала отпуска
+     * @param vacationDays длина отпуска в календарных днях
+     * @param objective    цель подбора
+     * @param approximate  признак подбора по приблизительному календарю
+     * @param options      варианты отпуска от лучшего к худшему
+     */
+    public VacationPlan(String country, int year, int vacationDays, PlanObjective objective, boolean approximate,
+                        List<VacationOption> options) {
+        this.country = country;
+        this.year = year;
+        this.vacationDays = vacationDays;
+        this.objective = objective;
+        this.approximate = approximate;
+        this.options = options;
+    }
+
+    public String getCountry() {
+        return country;
+    }
+
+    public int getYear() {
+        return year;
+    }
+
+    public int getVacationDays() {
+        return vacationDays;
+    }
+
+    public PlanObjective getObjective() {
+        return objective;
+    }
+
+    public boolean isApproximate() {
+        return approximate;
+    }
+
+    public List<VacationOption> getOptions() {
+        return options;
+    }
+}
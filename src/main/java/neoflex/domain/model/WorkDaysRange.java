@@ -0,0 +1,49 @@
+package neoflex.domain.model;
+
+import java.time.LocalDate;
+
+/**
+ * Диапазон дат в пакетном запросе количества рабочих дней.
+ * Поля соответствуют параметрам {@code GET /workdays}
+ */
+public class WorkDaysRange {
+
+    /**
+     * Код страны, по календарю которой считаются рабочие дни; по умолчанию — страна по умолчанию
+     */
+    private String country;
+
+    /**
+     * Дата начала диапазона
+     */
+    private LocalDate start;
+
+    /**
+     * Дата окончания диапазона
+     */
+    private LocalDate end;
+
+    public String getCountry() {
+        return country;
+    }
+
+    public void setCountry(String country) {
+        this.country = country;
+    }
+
+    public LocalDate getStart() {
+        return start;
+    }
+
+    public void setStart(LocalDate start) {
+        this.start = start;
+    }
+
+    public LocalDate getEnd() {
+        return end;
+    }
+
+    public void setEnd(LocalDate end) {
+        this.end = end;
+    }
+}
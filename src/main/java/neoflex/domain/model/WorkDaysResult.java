@@ -0,0 +1,83 @@
+package neoflex.domain.model;
+
+import java.time.LocalDate;
+
+/**
+ * Количество рабочих дней в диапазоне дат
+ */
+public class WorkDaysResult {
+
+    /**
+     * Код страны, по календарю которой выполнен подсчёт
+     */
+    private final String country;
+
+    /**
+     * Дата начала диапазона
+     */
+    private final LocalDate start;
+
+    /**
+     * Дата окончания диапазона
+     */
+    private final LocalDate end;
+
+    /**
+     * Количество рабочих дней в диапазоне включительно
+     */
+    private final int workDays;
+
+    /**
+     * Признак подсчёта по приблизительному календарю
+     */
+    private final boolean approximate;
+
+    /**
+     * Версия календарей, по которым выполнен подсчёт
+     */
+    private final String version;
+
+    /**
+     * Конструктор результата
+     *
+     * @param country     код страны
+     * @param start       дата начала диапазона
+     * @param end         дата окончания диапазона
+     * @param workDays    количество рабочих дней
+     * @param approximate признак подсчёта по приблизительному календарю
+     * @param version     версия календарей диапазона
+     */
+    public WorkDaysResult(String country, LocalDate start, LocalDate end, int workDays, boolean approximate,
+                          String version) {
+        this.country = country;
+        this.start = start;
+        this.end = end;
+        this.workDays = workDays;
+        this.approximate = approximate;
+        this.version = version;
+    }
+
+    public String getCountry() {
+        return country;
+    }
+
+    public LocalDate getStart() {
+        return start;
+    }
+
+    public LocalDate getEnd() {
+        return end;
+    }
+
+    public int getWorkDays() {
+        return workDays;
+    }
+
+    public boolean isApproximate() {
+        return approximate;
+    }
+
+    public String getVersion() {
+        return version;
+    }
+}
@@ -0,0 +1,148 @@
+package neoflex.domain.money;
+
+import java.math.RoundingMode;
+
+/**
+ * Денежная арифметика в целых копейках.
+ * Суммы хранятся в {@code long} в минимальных единицах валюты, поэтому сложение и умножение точны,
+ * а округление выполняется один раз — при делении — по явно заданному {@link RoundingMode}.
+ * Результат не зависит от порядка операций с плавающей точкой и совпадает с расчётом в {@link java.math.BigDecimal},
+ * но не создаёт объектов
+ */
+public final class Money {
+
+    /**
+     * Количество копеек в рубле
+     */
+    public static final int MINOR_UNITS = 100;
+
+    /**
+     * Максимальная по модулю сумма в рублях, которую {@code double} представляет с точностью до копейки
+     */
+    public static final double MAX_AMOUNT = (double) (1L << 53) / MINOR_UNITS;
+
+    /**
+     * Числитель среднего количества дней в месяце: 29,3 = 293 / 10
+     */
+    private static final long AVERAGE_MONTH_DAYS_NUMERATOR = 293;
+
+    /**
+     * Знаменатель среднего количества дней в месяце
+     */
+    private static final long AVERAGE_MONTH_DAYS_DENOMINATOR = 10;
+
+    /**
+     * Среднее количество дней в месяце, используемое в расчётах. Выводится из числителя и знаменателя,
+     * по которым считаются отпускные в копейках, поэтому обе формы не могут разойтись
+     */
+    public static final double AVERAGE_MONTH_DAYS =
+            (double) AVERAGE_MONTH_DAYS_NUMERATOR / AVERAGE_MONTH_DAYS_DENOMINATOR;
+
+    private Money() {
+    }
+
+    /**
+     * Проверяет, что сумма в рублях — число, не превышающее по модулю {@link #MAX_AMOUNT}
+     *
+     * @param amount сумма в рублях
+     * @return true, если сумму можно перевести в копейки
+     */
+    public static boolean isRepresentable(double amount) {
+        return Math.abs(amount) <= MAX_AMOUNT;
+    }
+
+    /**
+     * Переводит сумму в рублях в копейки с округлением до ближайшей копейки
+     *
+     * @param amount сумма в рублях
+     * @return сумма в копейках
+     * @throws IllegalArgumentException если сумма не число или превышает {@link #MAX_AMOUNT}
+     */
+    public static long toMinorUnits(double amount) {
+        if (!isRepresentable(amount)) {
+            throw new IllegalArgumentException("Сумма вне допустимого диапазона!");
+        }
+        return Math.round(amount * MINOR_UNITS);
+    }
+
+    /**
+     * Переводит сумму в копейках в рубли. Результат — ближайшее к точному значению число {@code double},
+     * поэтому при выводе он печатается ровно с теми же копейками
+     *
+     * @param minorUnits сумма в копейках
+     * @return сумма в рублях
+     */
+    public static double toAmount(long minorUnits) {
+        return minorUnits / (double) MINOR_UNITS;
+    }
+
+    /**
+     * Рассчитывает отпускные в копейках: средняя зарплата / 29,3 × количество дней.
+     * Вычисляется как {@code зарплата × дни × 10 / 293} с единственным округлением
+     *
+     * @param averageSalaryMinor средняя зарплата за 12 месяцев в копейках
+     * @param days               количество оплачиваемых дней
+     * @param roundingMode       способ округления до копейки
+     * @return сумма отпускных в копейках
+     * @throws IllegalArgumentException если результат не помещается в {@code long}
+     * @throws ArithmeticException      если задан {@link RoundingMode#UNNECESSARY}, а округление требуется
+     */
+    public static long vacationPay(long averageSalaryMinor, int days, RoundingMode roundingMode) {
+        long numerator;
+        try {
+            numerator = Math.multiplyExact(Math.multiplyExact(averageSalaryMinor, (long) days), AVERAGE_MONTH_DAYS_DENOMINATOR);
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Сумма отпускных вне допустимого диапазона!");
+        }
+        return divide(numerator, AVERAGE_MONTH_DAYS_NUMERATOR, roundingMode);
+    }
+
+    /**
+     * Делит целые числа с округлением частного по заданному способу
+     *
+     * @param dividend     делимое
+     * @param divisor      делитель, не равный нулю
+     * @param roundingMode способ округления
+     * @return округлённое частное
+     * @throws ArithmeticException если делитель равен нулю или задан {@link RoundingMode#UNNECESSARY},
+     *                             а деление неточное
+     */
+    public static long divide(long dividend, long divisor, RoundingMode roundingMode) {
+        long quotient = dividend / divisor;
+        long remainder = dividend % divisor;
+        if (remainder == 0) {
+            return quotient;
+        }
+        int signum = (dividend < 0) == (divisor < 0) ? 1 : -1;
+        long absRemainder = Math.abs(remainder);
+        int comparedToHalf = Long.compare(absRemainder, Math.abs(divisor) - absRemainder);
+
+        boolean increment;
+        switch (roundingMode) {
+            case UP:
+                increment = true;
+                break;
+            case DOWN:
+                increment = false;
+                break;
+            case CEILING:
+                increment = signum > 0;
+                break;
+            case FLOOR:
+                increment = signum < 0;
+                break;
+            case HALF_UP:
+                increment = comparedToHalf >= 0;
+                break;
+            case HALF_DOWN:
+                increment = comparedToHalf > 0;
+                break;
+            case HALF_EVEN:
+                increment = comparedToHalf > 0 || comparedToHalf == 0 && (quotient & 1) != 0;
+                break;
+            default:
+                throw new ArithmeticException("Деление требует округления: " + dividend + " / " + divisor);
+        }
+        return increment ? quotient + signum : quotient;
+    }
+}
@@ -0,0 +1,342 @@
+package neoflex.domain.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import neoflex.domain.calendar.CalendarRange;
+import neoflex.domain.calendar.YearCalendar;
+import neoflex.domain.model.CalculationRequest;
+import neoflex.domain.model.CalculationResult;
+import neoflex.domain.strategy.PayStrategy;
+import neoflex.domain.strategy.PayStrategyBuilder;
+import neoflex.domain.strategy.ValidationError;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Сервис пакетного расчёта отпускных в формате NDJSON: одна JSON-строка запроса на входе —
+ * одна JSON-строка результата на выходе.
+ * <p>
+ * Входные строки обрабатываются пачками фиксированного размера, поэтому объём памяти не зависит
+ * от размера входных данных. Для каждой пачки календари всех затронутых лет загружаются один раз,
+ * не более {@code bulk.load-concurrency} одновременно, и хранятся в пачке до конца её расчёта, поэтому
+ * строки рассчитываются без обращений к кешу и внешнему API, а пачка, затрагивающая больше лет, чем вмещает кеш,
+ * не теряет загруженные ею же годы. Сумма и признак приблизительного расчёта строки берутся из одного {@link CalendarRange}.
+ * Длина строки ограничена: слишком длинная строка не накапливается в памяти, а пропускается с ошибкой.
+ * Ошибка в строке попадает в её результат и не прерывает обработку остальных строк
+ */
+@Service
+public class BulkCalculationService {
+
+    /**
+     * Сервис для определения рабочих и нерабочих дней
+     */
+    private final DayStatusService dayStatusService;
+
+    /**
+     * Читатель строк запроса
+     */
+    private final ObjectReader requestReader;
+
+    /**
+     * Писатель строк результата
+     */
+    private final ObjectWriter resultWriter;
+
+    /**
+     * Количество строк в одной пачке
+     */
+    private final int batchSize;
+
+    /**
+     * Максимальная длина строки запроса в символах
+     */
+    private final int maxLineLength;
+
+    /**
+     * Максимальное количество одновременно загружаемых календарей пачки
+     */
+    private final int loadConcurrency;
+
+    /**
+     * Конструктор сервиса пакетного расчёта
+     *
+     * @param dayStatusService сервис определения рабочих дней
+     * @param objectMapper     настроенный Jackson ObjectMapper
+     * @param batchSize        количество строк в одной пачке
+     * @param maxLineLength    максимальная длина строки запроса в символах
+     * @param loadConcurrency  максимальное количество одновременно загружаемых календарей пачки
+     */
+    public BulkCalculationService(DayStatusService dayStatusService,
+                                  ObjectMapper objectMapper,
+                                  @Value("${bulk.batch-size:1000}") int batchSize,
+                                  @Value("${bulk.max-line-length:65536}") int maxLineLength,
+                                  @Value("${bulk.load-concurrency:8}") int loadConcurrency) {
+        this.dayStatusService = dayStatusService;
+        this.requestReader = objectMapper.readerFor(CalculationRequest.class);
+        this.resultWriter = objectMapper.writerFor(CalculationResult.class);
+        this.batchSize = batchSize;
+        this.maxLineLength = maxLineLength;
+        this.loadConcurrency = Math.max(1, loadConcurrency);
+    }
+
+    /**
+     * Читает запросы построчно и записывает результаты по мере расчёта каждой пачки
+     *
+     * @param reader источник строк запроса
+     * @param writer получатель строк результата
+     * @throws IOException при ошибке чтения или записи
+     */
+    public void calculate(BufferedReader reader, Writer writer) throws IOException {
+        List<String> batch = new ArrayList<>(batchSize);
+        StringBuilder line = new StringBuilder();
+        int firstLine = 1;
+        int lineNumber = 0;
+        int length;
+        while ((length = readLine(reader, line)) >= 0) {
+            lineNumber++;
+            batch.add(length > maxLineLength ? null : line.toString());
+            if (batch.size() == batchSize) {
+                writeBatch(batch, firstLine, writer);
+                batch.clear();
+                firstLine = lineNumber + 1;
+            }
+        }
+        if (!batch.isEmpty()) {
+            writeBatch(batch, firstLine, writer);
+        }
+        writer.flush();
+    }
+
+    /**
+     * Читает очередную строку запроса, сохраняя в буфер не более {@link #maxLineLength} символов.
+     * Остаток слишком длинной строки пропускается без накопления в памяти
+     *
+     * @param reader источник строк запроса
+     * @param line   буфер для символов строки без признака её конца
+     * @return длина строки, не больше {@code maxLineLength + 1}; -1 если строки закончились
+     * @throws IOException при ошибке чтения
+     */
+    private int readLine(BufferedReader reader, StringBuilder line) throws IOException {
+        line.setLength(0);
+        int length = 0;
+        boolean carriageReturn = false;
+        int c;
+        while ((c = reader.read()) != '\n') {
+            if (c < 0) {
+                return length == 0 && !carriageReturn ? -1 : length;
+            }
+            if (carriageReturn) {
+                length = append(line, length, '\r');
+            }
+            carriageReturn = c == '\r';
+            if (!carriageReturn) {
+                length = append(line, length, (char) c);
+            }
+        }
+        return length;
+    }
+
+    /**
+     * Добавляет символ в буфер строки, если строка ещё не превысила {@link #maxLineLength}.
+     * Длина слишком длинной строки дальше не растёт, поэтому не переполняется
+     *
+     * @param line   буфер строки
+     * @param length длина строки до символа
+     * @param c      символ
+     * @return длина строки после символа, не больше {@code maxLineLength + 1}
+     */
+    private int append(StringBuilder line, int length, char c) {
+        if (length < maxLineLength) {
+            line.append(c);
+        }
+        return length > maxLineLength ? length : length + 1;
+    }
+
+    /**
+     * Рассчитывает пачку строк и записывает результаты в исходном порядке.
+     * Пустые строки пропускаются, а вместо строк длиннее {@link #maxLineLength} записывается ошибка
+     *
+     * @param lines     строки запроса, null вместо слишком длинной строки
+     * @param firstLine номер первой строки пачки
+     * @param writer    получатель строк результата
+     * @throws IOException при ошибке записи
+     */
+    private void writeBatch(List<String> lines, int firstLine, Writer writer) throws IOException {
+        int size = lines.size();
+        String[] ids = new String[size];
+        PayStrategy[] strategies = new PayStrategy[size];
+        CalculationRequest[] requests = new CalculationRequest[size];
+        CalculationResult[] results = new CalculationResult[size];
+        String[] countries = new String[size];
+        Set<String> years = new TreeSet<>();
+
+        for (int i = 0; i < size; i++) {
+            String line = lines.get(i);
+            if (line == null) {
+                results[i] = CalculationResult.failure(firstLine + i, null,
+                        "Строка запроса длиннее " + maxLineLength + " символов");
+                continue;
+            }
+            if (line.isBlank()) {
+                continue;
+            }
+            try {
+                CalculationRequest request = requestReader.readValue(line);
+                requests[i] = request;
+                ids[i] = request.getId();
+                PayStrategyBuilder builder = new PayStrategyBuilder(dayStatusService)
+                        .withAverageSalary(request.getAverageSalary())
+                        .withVacationDays(request.getVacationDays())
+                        .withStartEndDates(request.getStartDate(), request.getEndDate())
+                        .withCountry(request.getCountry());
+                ValidationError error = builder.validate();
+                if (error != null) {
+                    results[i] = CalculationResult.failure(firstLine + i, ids[i], error.getMessage());
+                    continue;
+                }
+                strategies[i] = builder.build();
+                if (request.getStartDate() != null && request.getEndDate() != null) {
+                    countries[i] = dayStatusService.resolveCountry(request.getCountry());
+                    for (int year = request.getStartDate().getYear(); year <= request.getEndDate().getYear(); year++) {
+                        years.add(yearKey(countries[i], year));
+                    }
+                }
+            } catch (JsonProcessingException e) {
+                results[i] = CalculationResult.failure(firstLine + i, null, "Некорректная строка запроса: " + e.getOriginalMessage());
+            } catch (RuntimeException e) {
+                results[i] = CalculationResult.failure(firstLine + i, ids[i], errorMessage(e));
+            }
+        }
+
+        Map<String, YearCalendar> loadedYears = new ConcurrentHashMap<>();
+        Map<String, RuntimeException> failedYears = new ConcurrentHashMap<>();
+        loadYears(years, loadedYears, failedYears);
+
+        for (int i = 0; i < size; i++) {
+            if (strategies[i] != null) {
+                try {
+                    results[i] = countries[i] != null
+                            ? calculateByDates(firstLine + i, requests[i], countries[i], loadedYears, failedYears)
+                            : CalculationResult.success(firstLine + i, ids[i], strategies[i].calculate(), false);
+                } catch (RuntimeException e) {
+                    results[i] = CalculationResult.failure(firstLine + i, ids[i], errorMessage(e));
+                }
+            }
+            if (results[i] != null) {
+                writer.write(resultWriter.writeValueAsString(results[i]));
+                writer.write('\n');
+            }
+        }
+        writer.flush();
+    }
+
+    /**
+     * Рассчитывает строку с датами отпуска по календарям, загруженным для пачки.
+     * Количество рабочих дней и признак приблизительного расчёта берутся из одного {@link CalendarRange}
+     *
+     * @param line        номер строки
+     * @param request     запрос
+     * @param country     код страны запроса
+     * @param loadedYears календари пачки по ключам лет
+     * @param failedYears ошибки загрузки по ключам лет
+     * @return результат строки
+     */
+    private static CalculationResult calculateByDates(int line, CalculationRequest request, String country,
+                                                      Map<String, YearCalendar> loadedYears,
+                                                      Map<String, RuntimeException> failedYears) {
+        int startYear = request.getStartDate().getYear();
+        int endYear = request.getEndDate().getYear();
+        List<YearCalendar> calendars = new ArrayList<>(endYear - startYear + 1);
+        for (int year = startYear; year <= endYear; year++) {
+            String key = yearKey(country, year);
+            RuntimeException error = failedYears.get(key);
+            if (error != null) {
+                return CalculationResult.failure(line, request.getId(), errorMessage(error));
+            }
+            calendars.add(loadedYears.get(key));
+        }
+        CalendarRange range = new CalendarRange(request.getStartDate(), request.getEndDate(), calendars);
+        return CalculationResult.success(line, request.getId(),
+                PayStrategy.payFor(request.getAverageSalary(), range.countWorkDays()), range.isApproximate());
+    }
+
+    /**
+     * Ключ года страны в наборе загружаемых лет пачки
+     *
+     * @param country код страны
+     * @param year    год
+     * @return ключ вида {@code RU:2025}
+     */
+    private static String yearKey(String country, int year) {
+        return country + ':' + year;
+    }
+
+    /**
+     * @param yearKey ключ {@link #yearKey(String, int)}
+     * @return код страны ключа
+     */
+    private static String countryOf(String yearKey) {
+        return yearKey.substring(0, yearKey.lastIndexOf(':'));
+    }
+
+    /**
+     * @param yearKey ключ {@link #yearKey(String, int)}
+     * @return год ключа
+     */
+    private static int yearOf(String yearKey) {
+        return Integer.parseInt(yearKey.substring(yearKey.lastIndexOf(':') + 1));
+    }
+
+    /**
+     * Загружает календари всех лет пачки, не более {@link #loadConcurrency} одновременно
+     *
+     * @param years       годы стран, затронутые пачкой, в виде ключей {@link #yearKey(String, int)}
+     * @param loadedYears получатель загруженных календарей по ключам лет
+     * @param failedYears получатель ошибок загрузки по ключам лет
+     */
+    private void loadYears(Set<String> years, Map<String, YearCalendar> loadedYears,
+                           Map<String, RuntimeException> failedYears) {
+        Flux.fromIterable(years)
+                .flatMap(year -> dayStatusService.getYearCalendarAsync(countryOf(year), yearOf(year))
+                        .doOnNext(calendar -> loadedYears.put(year, calendar))
+                        .then()
+                        .onErrorResume(RuntimeException.class, e -> {
+                            failedYears.put(year, e);
+                            return Mono.empty();
+                        }), loadConcurrency)
+                .then()
+                .block();
+    }
+
+    /**
+     * Формирует сообщение об ошибке строки так же, как {@code GlobalExceptionHandler} для одиночного запроса
+     *
+     * @param e исключение
+     * @return сообщение об ошибке
+     */
+    private static String errorMessage(RuntimeException e) {
+        if (e instanceof IllegalArgumentException || e instanceof IllegalStateException) {
+            return e.getMessage();
+        }
+        if (e instanceof WebClientResponseException || e instanceof WebClientRequestException) {
+            return "Ошибка при запросе к внешнему API: " + e.getMessage();
+        }
+        return "Ошибка сервера: " + e.getMessage();
+    }
+}
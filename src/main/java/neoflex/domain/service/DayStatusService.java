@@ -1,44 +1,210 @@
 package neoflex.domain.service;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.context.Scope;
+import neoflex.domain.calendar.CalendarCountries;
+import neoflex.domain.calendar.CalendarNotFoundException;
+import neoflex.domain.calendar.CalendarProvider;
+import neoflex.domain.calendar.CalendarRange;
+import neoflex.domain.calendar.CalendarStore;
+import neoflex.domain.calendar.YearCalendar;
+import neoflex.domain.model.CalendarSnapshot;
+import neoflex.domain.strategy.ValidationError;
+import neoflex.tracing.TracingContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDate;
-import java.util.HashMap;
+import java.time.Year;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Сервис для определения, является ли день рабочим.
- * Использует внешний API для получения календаря выходных и рабочих дней по году.
+ * Получает календари выходных и рабочих дней по стране и году из {@link CalendarProvider}.
+ * Методы без кода страны, как и методы с кодом {@code null}, работают с календарём страны по умолчанию
+ * ({@link CalendarCountries}).
+ * Загруженные календари сохраняются в {@link CalendarStore} и после перезапуска читаются с диска.
+ * Календари, загруженные дольше заданного времени назад, перезапрашиваются в фоне и подменяют
+ * прежние целиком, поэтому чтение календаря никогда не ждёт обновления и не видит недостроенный год.
+ * Каждый метод доступен в блокирующем варианте и в неблокирующем варианте, возвращающем {@link Mono}.
+ * Состояние кеша публикуется в метриках {@code calendar.cache.gets} (попадания и промахи; обращения
+ * синтетических расчётов прогрева не учитываются, см. {@link #setCacheGetsRecorded(boolean)}),
+ * {@code calendar.cache.size}, {@code calendar.cache.evictions} и {@code calendar.load} (время загрузки по странам и годам).
+ * Подсчёт рабочих дней и загрузка года оформляются span трассировки {@code calendar.count-work-days}
+ * (страна, годы, длина диапазона, количество незагруженных лет) и {@code calendar.load} (страна, год, результат);
+ * span создаются только внутри трассы запроса
  */
 @Service
 public class DayStatusService {
 
+    private static final Logger logger = LoggerFactory.getLogger(DayStatusService.class);
+
+    /**
+     * Источник календарей рабочих и выходных дней
+     */
+    private final CalendarProvider calendarProvider;
+
+    /**
+     * Постоянное хранилище календарей на диске
+     */
+    private final CalendarStore calendarStore;
+
+    /**
+     * Поддерживаемые страны
+     */
+    private final CalendarCountries countries;
+
     /**
-     * WebClient для выполнения HTTP-запросов к внешнему API,
-     * возвращающему календарь рабочих и выходных дней
+     * Количество лет вокруг текущего, которые не вытесняются из кеша
      */
-    private final WebClient webClient;
+    private static final int PINNED_YEARS_AROUND_CURRENT = 1;
 
     /**
-     * Конструктор DayStatusService, инициализирующий WebClient для работы с внешним API
+     * Время, по истечении которого загруженный календарь перезапрашивается у источника
+     */
+    private final Duration refreshTtl;
+
+    /**
+     * Максимальное количество лет в кеше
+     */
+    private final int maxCachedYears;
+
+    /**
+     * Время, в течение которого год, отсутствующий у источника, повторно не запрашивается
+     */
+    private final Duration negativeTtl;
+
+    /**
+     * Первый поддерживаемый год
+     */
+    private final int minYear;
+
+    /**
+     * Последний поддерживаемый год
+     */
+    private final int maxYear;
+
+    /**
+     * Ошибка проверки для дат вне поддерживаемого диапазона лет, созданная один раз при запуске
+     */
+    private final ValidationError yearNotSupported;
+
+    /**
+     * Реестр метрик
+     */
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Счётчик обращений к кешу, для которых год уже был в кеше
+     */
+    private final Counter cacheHits;
+
+    /**
+     * Счётчик обращений к кешу, запустивших загрузку года
+     */
+    private final Counter cacheMisses;
+
+    /**
+     * Счётчик лет, вытесненных из кеша
+     */
+    private final Counter cacheEvictions;
+
+    /**
+     * Трассировщик
+     */
+    private final Tracer tracer;
+
+    /**
+     * Учитываются ли обращения к кешу в метрике {@code calendar.cache.gets}.
+     * Отключается на время синтетических расчётов прогрева, чтобы они не искажали долю попаданий
+     */
+    private volatile boolean cacheGetsRecorded = true;
+
+    /**
+     * Конструктор DayStatusService, инициализирующий источник календарей,
+     * хранилище загруженных календарей, ограничения кеша, метрики и трассировку
      *
-     * @param webClient настроенный WebClient, используемый для запросов
+     * @param calendarProvider источник календарей
+     * @param calendarStore    хранилище календарей на диске
+     * @param countries        поддерживаемые страны
+     * @param refreshTtl       время, по истечении которого календарь обновляется в фоне
+     * @param maxCachedYears   максимальное количество лет всех стран в кеше
+     * @param negativeTtl      время, в течение которого отсутствующий у источника год не запрашивается повторно
+     * @param minYear          первый поддерживаемый год
+     * @param maxYear          последний поддерживаемый год
+     * @param meterRegistry    реестр метрик
+     * @param tracer           трассировщик
      */
-    public DayStatusService(WebClient webClient) {
-        this.webClient = webClient;
+    public DayStatusService(CalendarProvider calendarProvider, CalendarStore calendarStore, CalendarCountries countries,
+                            @Value("${calendar.refresh.ttl:24h}") Duration refreshTtl,
+                            @Value("${calendar.cache.max-years:32}") int maxCachedYears,
+                            @Value("${calendar.cache.negative-ttl:1h}") Duration negativeTtl,
+                            @Value("${calendar.years.min:2000}") int minYear,
+                            @Value("${calendar.years.max:2100}") int maxYear,
+                            MeterRegistry meterRegistry, Tracer tracer) {
+        this.tracer = tracer;
+        this.calendarProvider = calendarProvider;
+        this.calendarStore = calendarStore;
+        this.countries = countries;
+        this.refreshTtl = refreshTtl;
+        this.maxCachedYears = maxCachedYears;
+        this.negativeTtl = negativeTtl;
+        this.minYear = minYear;
+        this.maxYear = maxYear;
+        this.yearNotSupported = new ValidationError("YEAR_NOT_SUPPORTED",
+                "Расчёт возможен только для дат с " + minYear + " по " + maxYear + " год!");
+        this.meterRegistry = meterRegistry;
+        this.cacheHits = meterRegistry.counter("calendar.cache.gets", "result", "hit");
+        this.cacheMisses = meterRegistry.counter("calendar.cache.gets", "result", "miss");
+        this.cacheEvictions = meterRegistry.counter("calendar.cache.evictions");
+        Gauge.builder("calendar.cache.size", yearsCache, Map::size)
+                .description("Количество лет в кеше календарей")
+                .register(meterRegistry);
     }
 
     /**
-     * Шаблон URL запроса к API с указанием года и параметра предварительной обработки.
-     * Параметр {@code %d} будет заменён на интересующий год
+     * Кешированный календарь рабочих/нерабочих дней по стране и году.
+     * Ключ — номер страны и год, упакованные в одно число ({@link #cacheKey(String, int)}),
+     * значение — результат загрузки года: чтение готового года не требует блокировок,
+     * а все потоки, запросившие ещё не загруженный год, ожидают одну и ту же загрузку.
+     * Размер кеша ограничен {@link #maxCachedYears}: при переполнении вытесняется год,
+     * к которому дольше всего не обращались, кроме лет вокруг текущего
      */
-    private static final String API_URL_TEMPLATE = "api/getdata?year=%d&pre=1";
+    private final Map<Integer, CachedYear> yearsCache = new ConcurrentHashMap<>();
 
     /**
-     * Кешированный календарь рабочих/нерабочих дней по годам
+     * Проверяет, что страна поддерживается, и приводит её код к виду, используемому в кеше
+     *
+     * @param country код страны в любом регистре или null
+     * @return код страны в верхнем регистре; страна по умолчанию, если код не указан
+     * @throws IllegalArgumentException если страна не поддерживается
      */
-    private final Map<Integer, Map<LocalDate, Boolean>> yearsCache = new HashMap<>();
+    public String resolveCountry(String country) {
+        return countries.resolve(country);
+    }
 
     /**
      * Проверяет, является ли указанный день рабочим
@@ -47,36 +213,754 @@ public class DayStatusService {
      * @return true — если день рабочий, false — если выходной
      */
     public boolean isWorkDay(LocalDate date) {
-        int year = date.getYear();
-        yearsCache.computeIfAbsent(year, this::getDaysFromWebClient);
-        return yearsCache.get(year).get(date);
+        return getYearCalendar(date.getYear()).isWorkDay(date.getDayOfYear());
+    }
+
+    /**
+     * Подсчитывает количество рабочих дней между двумя датами включительно по календарю страны по умолчанию
+     *
+     * @param startDate дата начала
+     * @param endDate   дата окончания
+     * @return количество рабочих дней, 0 если дата окончания раньше даты начала
+     */
+    public int countWorkDays(LocalDate startDate, LocalDate endDate) {
+        return countWorkDays(null, startDate, endDate);
+    }
+
+    /**
+     * Подсчитывает количество рабочих дней между двумя датами включительно.
+     * Внутри каждого года подсчёт выполняется за O(1) по накопленному индексу календаря,
+     * поэтому стоимость зависит только от количества затронутых лет, а не от длины диапазона.
+     * Календари всех незагруженных лет диапазона загружаются одновременно
+     *
+     * @param country   код страны или null для страны по умолчанию
+     * @param startDate дата начала
+     * @param endDate   дата окончания
+     * @return количество рабочих дней, 0 если дата окончания раньше даты начала
+     * @throws IllegalArgumentException если страна не поддерживается
+     */
+    public int countWorkDays(String country, LocalDate startDate, LocalDate endDate) {
+        return getCalendarRange(country, startDate, endDate).countWorkDays();
+    }
+
+    /**
+     * Проверяет, использовался ли для какого-либо года диапазона календарь страны по умолчанию,
+     * построенный приблизительно из-за недоступности источников
+     *
+     * @param startDate дата начала
+     * @param endDate   дата окончания
+     * @return true — если результат расчёта по этому диапазону приблизительный
+     */
+    public boolean isApproximate(LocalDate startDate, LocalDate endDate) {
+        return isApproximate(null, startDate, endDate);
+    }
+
+    /**
+     * Проверяет, использовался ли для какого-либо года диапазона приблизительный календарь,
+     * построенный из-за недоступности источников.
+     * Если вместе с признаком нужно количество рабочих дней, следует использовать {@link #getCalendarRange}
+     *
+     * @param country   код страны или null для страны по умолчанию
+     * @param startDate дата начала
+     * @param endDate   дата окончания
+     * @return true — если результат расчёта по этому диапазону приблизительный
+     * @throws IllegalArgumentException если страна не поддерживается
+     */
+    public boolean isApproximate(String country, LocalDate startDate, LocalDate endDate) {
+        return getCalendarRange(country, startDate, endDate).isApproximate();
+    }
+
+    /**
+     * Возвращает версию календарей страны по умолчанию, по которым считается диапазон дат
+     *
+     * @param startDate дата начала
+     * @param endDate   дата окончания
+     * @return версия календарей диапазона в виде 8 шестнадцатеричных цифр
+     */
+    public String getVersion(LocalDate startDate, LocalDate endDate) {
+        return getVersion(null, startDate, endDate);
+    }
+
+    /**
+     * Возвращает версию календарей, по которым считается диапазон дат ({@link CalendarRange#getVersion()}).
+     * Версия меняется при обновлении календаря любого года диапазона
+     *
+     * @param country   код страны или null для страны по умолчанию
+     * @param startDate дата начала
+     * @param endDate   дата окончания
+     * @return версия календарей диапазона в виде 8 шестнадцатеричных цифр
+     * @throws IllegalArgumentException если страна не поддерживается
+     */
+    public String getVersion(String country, LocalDate startDate, LocalDate endDate) {
+        return getCalendarRange(country, startDate, endDate).getVersion();
     }
 
     /**
-     * Получает данные о рабочих/выходных днях с внешнего API и преобразует их в карту
+     * Возвращает календари всех лет диапазона дат, найденные в кеше одним обращением на год.
+     * Количество рабочих дней, признак приблизительного расчёта и версию следует брать из результата,
+     * а не запрашивать отдельно: так каждый год ищется в кеше один раз, а все значения
+     * относятся к одним и тем же календарям, даже если календарь года обновится в фоне.
+     * Календари всех незагруженных лет диапазона загружаются одновременно
      *
-     * @param year год, для которого требуется получить данные
-     * @return карта, где ключ — дата, значение — true если рабочий день, false — если выходной
-     * @throws IllegalStateException если ответ от API пустой или некорректный
+     * @param country   код страны или null для страны по умолчанию
+     * @param startDate дата начала
+     * @param endDate   дата окончания
+     * @return календари лет диапазона
+     * @throws IllegalArgumentException если страна не поддерживается
      */
-    private Map<LocalDate, Boolean> getDaysFromWebClient(int year) {
-        String response = webClient.get()
-                .uri(String.format(API_URL_TEMPLATE, year))
-                .retrieve()
-                .bodyToMono(String.class)
-                .block();
+    public CalendarRange getCalendarRange(String country, LocalDate startDate, LocalDate endDate) {
+        String code = countries.resolve(country);
+        if (endDate.isBefore(startDate)) {
+            return new CalendarRange(startDate, endDate, List.of());
+        }
+        int startYear = startDate.getYear();
+        int endYear = endDate.getYear();
+        Span span = TracingContext.isTracing()
+                ? tracer.spanBuilder("calendar.count-work-days")
+                        .setAttribute("calendar.country", code)
+                        .setAttribute("calendar.start_year", startYear)
+                        .setAttribute("calendar.end_year", endYear)
+                        .setAttribute("calendar.range_days", ChronoUnit.DAYS.between(startDate, endDate) + 1)
+                        .startSpan()
+                : Span.getInvalid();
+        try (Scope ignored = TracingContext.makeCurrent(span)) {
+            // Загрузки всех лет запускаются до ожидания первой из них, чтобы годы загружались одновременно
+            List<CompletableFuture<YearCalendar>> loadings = new ArrayList<>(endYear - startYear + 1);
+            int missedYears = 0;
+            for (int year = startYear; year <= endYear; year++) {
+                CompletableFuture<YearCalendar> loading = yearLoading(code, year);
+                if (!isLoaded(loading)) {
+                    missedYears++;
+                }
+                loadings.add(loading);
+            }
+            List<YearCalendar> calendars = new ArrayList<>(loadings.size());
+            for (CompletableFuture<YearCalendar> loading : loadings) {
+                calendars.add(await(loading));
+            }
+            span.setAttribute("calendar.cache.hit", missedYears == 0);
+            span.setAttribute("calendar.cache.missed_years", missedYears);
+            return new CalendarRange(startDate, endDate, calendars);
+        } catch (RuntimeException e) {
+            span.recordException(e).setStatus(StatusCode.ERROR);
+            throw e;
+        } finally {
+            span.end();
+        }
+    }
+
+    /**
+     * Неблокирующий вариант {@link #countWorkDays(LocalDate, LocalDate)}
+     *
+     * @param startDate дата начала
+     * @param endDate   дата окончания
+     * @return количество рабочих дней, 0 если дата окончания раньше даты начала
+     */
+    public Mono<Integer> countWorkDaysAsync(LocalDate startDate, LocalDate endDate) {
+        return countWorkDaysAsync(null, startDate, endDate);
+    }
+
+    /**
+     * Неблокирующий вариант {@link #countWorkDays(String, LocalDate, LocalDate)}.
+     * Календари всех лет диапазона запрашиваются одновременно
+     *
+     * @param country   код страны или null для страны по умолчанию
+     * @param startDate дата начала
+     * @param endDate   дата окончания
+     * @return количество рабочих дней, 0 если дата окончания раньше даты начала
+     */
+    public Mono<Integer> countWorkDaysAsync(String country, LocalDate startDate, LocalDate endDate) {
+        return getCalendarRangeAsync(country, startDate, endDate).map(CalendarRange::countWorkDays);
+    }
+
+    /**
+     * Неблокирующий вариант {@link #getCalendarRange(String, LocalDate, LocalDate)}.
+     * Календари всех лет диапазона запрашиваются одновременно
+     *
+     * @param country   код страны или null для страны по умолчанию
+     * @param startDate дата начала
+     * @param endDate   дата окончания
+     * @return календари лет диапазона
+     */
+    public Mono<CalendarRange> getCalendarRangeAsync(String country, LocalDate startDate, LocalDate endDate) {
+        String code;
+        try {
+            code = countries.resolve(country);
+        } catch (IllegalArgumentException e) {
+            return Mono.error(e);
+        }
+        if (endDate.isBefore(startDate)) {
+            return Mono.just(new CalendarRange(startDate, endDate, List.of()));
+        }
+        int startYear = startDate.getYear();
+        return Flux.range(startYear, endDate.getYear() - startYear + 1)
+                .flatMapSequential(year -> yearCalendarAsync(code, year))
+                .collectList()
+                .map(calendars -> new CalendarRange(startDate, endDate, calendars));
+    }
+
+    /**
+     * Возвращает календарь указанного года страны по умолчанию
+     *
+     * @param year год
+     * @return календарь года
+     * @throws IllegalArgumentException если год не поддерживается
+     * @throws IllegalStateException    если календарь не удалось получить
+     */
+    public YearCalendar getYearCalendar(int year) {
+        return getYearCalendar(null, year);
+    }
+
+    /**
+     * Возвращает календарь указанного года, загружая его не более одного раза.
+     * Первый обратившийся поток запускает загрузку, остальные ожидают её результат.
+     * После временной ошибки следующий запрос повторяет загрузку, а год, отсутствующий у источника,
+     * не запрашивается повторно в течение {@code calendar.cache.negative-ttl}
+     *
+     * @param country код страны или null для страны по умолчанию
+     * @param year    год
+     * @return календарь года
+     * @throws IllegalArgumentException если страна или год не поддерживаются
+     * @throws IllegalStateException    если календарь не удалось получить
+     */
+    public YearCalendar getYearCalendar(String country, int year) {
+        return await(yearLoading(countries.resolve(country), year));
+    }
+
+    /**
+     * Неблокирующий вариант {@link #getYearCalendar(int)}
+     *
+     * @param year год
+     * @return календарь года
+     */
+    public Mono<YearCalendar> getYearCalendarAsync(int year) {
+        return getYearCalendarAsync(null, year);
+    }
+
+    /**
+     * Неблокирующий вариант {@link #getYearCalendar(String, int)}: уже загруженный год возвращается сразу,
+     * а незагруженный — по завершении общей для всех запросов загрузки
+     *
+     * @param country код страны или null для страны по умолчанию
+     * @param year    год
+     * @return календарь года
+     */
+    public Mono<YearCalendar> getYearCalendarAsync(String country, int year) {
+        String code;
+        try {
+            code = countries.resolve(country);
+        } catch (IllegalArgumentException e) {
+            return Mono.error(e);
+        }
+        return yearCalendarAsync(code, year);
+    }
+
+    /**
+     * Неблокирующее получение календаря года страны с уже проверенным кодом
+     *
+     * @param country код страны
+     * @param year    год
+     * @return календарь года
+     */
+    private Mono<YearCalendar> yearCalendarAsync(String country, int year) {
+        CompletableFuture<YearCalendar> loading;
+        try {
+            loading = yearLoading(country, year);
+        } catch (IllegalArgumentException e) {
+            return Mono.error(e);
+        }
+        if (isLoaded(loading)) {
+            return Mono.just(loading.join());
+        }
+        // Копия защищает общую загрузку от отмены, если отменится только этот подписчик
+        return Mono.fromFuture(loading.copy());
+    }
+
+    /**
+     * Проверяет, что все годы диапазона дат входят в поддерживаемый диапазон лет.
+     * Вызывается до начала расчёта, чтобы запрос с произвольно далёкими датами не приводил
+     * к загрузке календарей за тысячи лет
+     *
+     * @param startDate дата начала
+     * @param endDate   дата окончания
+     * @throws IllegalArgumentException если какой-либо год диапазона не поддерживается
+     */
+    public void checkSupportedYears(LocalDate startDate, LocalDate endDate) {
+        checkSupportedYear(startDate.getYear());
+        checkSupportedYear(endDate.getYear());
+    }
+
+    /**
+     * Проверяет без исключений, что все годы диапазона дат входят в поддерживаемый диапазон лет
+     *
+     * @param startDate дата начала
+     * @param endDate   дата окончания
+     * @return заранее созданная ошибка проверки или null, если все годы поддерживаются
+     */
+    public ValidationError supportedYearsError(LocalDate startDate, LocalDate endDate) {
+        return isSupportedYear(startDate.getYear()) && isSupportedYear(endDate.getYear()) ? null : yearNotSupported;
+    }
+
+    /**
+     * Проверяет без исключений, что год входит в поддерживаемый диапазон лет
+     *
+     * @param year год
+     * @return заранее созданная ошибка проверки или null, если год поддерживается
+     */
+    public ValidationError supportedYearError(int year) {
+        return isSupportedYear(year) ? null : yearNotSupported;
+    }
+
+    /**
+     * @param year год
+     * @return true — если год входит в поддерживаемый диапазон лет
+     */
+    private boolean isSupportedYear(int year) {
+        return year >= minYear && year <= maxYear;
+    }
+
+    /**
+     * Проверяет, что год входит в поддерживаемый диапазон лет
+     *
+     * @param year год
+     * @throws IllegalArgumentException если год не поддерживается
+     */
+    private void checkSupportedYear(int year) {
+        if (!isSupportedYear(year)) {
+            throw yearNotSupported.toException();
+        }
+    }
+
+    /**
+     * Упаковывает страну и год в ключ кеша: номер страны в старших 16 битах, год — в младших.
+     * Ключ однозначен только для поддерживаемых лет, поэтому год проверяется до обращения к кешу
+     *
+     * @param country код страны
+     * @param year    год
+     * @return ключ кеша
+     */
+    private static int cacheKey(String country, int year) {
+        return CalendarCountries.indexOf(country) << 16 | year;
+    }
+
+    /**
+     * @param key ключ кеша
+     * @return год ключа
+     */
+    private static int yearOf(int key) {
+        return key & 0xFFFF;
+    }
+
+    /**
+     * @param key ключ кеша
+     * @return код страны ключа
+     */
+    private static String countryOf(int key) {
+        return CalendarCountries.codeOf(key >>> 16);
+    }
+
+    /**
+     * Возвращает результат загрузки года из кеша, запуская загрузку, если год ещё не запрашивался
+     * или срок хранения неудачной загрузки истёк
+     *
+     * @param country код страны
+     * @param year    год
+     * @return результат загрузки года
+     * @throws IllegalArgumentException если год не поддерживается
+     */
+    private CompletableFuture<YearCalendar> yearLoading(String country, int year) {
+        checkSupportedYear(year);
+        int key = cacheKey(country, year);
+        long now = System.nanoTime();
+        CachedYear cached = yearsCache.get(key);
+        if (cached != null && !cached.isExpiredFailure(now)) {
+            cached.lastAccess = now;
+            countCacheGet(cacheHits);
+            return cached.loading;
+        }
+
+        while (true) {
+            CachedYear entry = new CachedYear(new CompletableFuture<>(), now);
+            boolean installed = cached == null
+                    ? yearsCache.putIfAbsent(key, entry) == null
+                    : yearsCache.replace(key, cached, entry);
+            if (installed) {
+                countCacheGet(cacheMisses);
+                evictIfFull();
+                startLoading(country, year, entry);
+                return entry.loading;
+            }
+            cached = yearsCache.get(key);
+            if (cached != null && !cached.isExpiredFailure(now)) {
+                cached.lastAccess = now;
+                countCacheGet(cacheHits);
+                return cached.loading;
+            }
+        }
+    }
+
+    /**
+     * Учитывает обращение к кешу, если учёт не отключён
+     *
+     * @param counter счётчик попаданий или промахов
+     */
+    private void countCacheGet(Counter counter) {
+        if (cacheGetsRecorded) {
+            counter.increment();
+        }
+    }
+
+    /**
+     * Запускает загрузку года. Год, которого нет у источника, остаётся в кеше как неудачная загрузка
+     * на время {@link #negativeTtl}, чтобы не запрашиваться повторно; после временной ошибки
+     * загрузка удаляется из кеша, чтобы следующий запрос мог повторить попытку
+     *
+     * @param country код страны
+     * @param year    год
+     * @param entry   запись кеша, ожидающая результат загрузки
+     */
+    private void startLoading(String country, int year, CachedYear entry) {
+        long startTime = System.nanoTime();
+        // Вне трассы запроса (прогрев, обновление в фоне, пакетная загрузка) span не создаётся,
+        // чтобы фоновые загрузки не порождали отдельные корневые трассы
+        Span span = TracingContext.isTracing()
+                ? tracer.spanBuilder("calendar.load")
+                        .setAttribute("calendar.country", country)
+                        .setAttribute("calendar.year", year)
+                        .startSpan()
+                : Span.getInvalid();
+        Mono<YearCalendar> loading = loadYear(country, year);
+        if (span.getSpanContext().isValid()) {
+            loading = loading.contextWrite(TracingContext.with(Context.current().with(span)));
+        }
+        loading.subscribe(calendar -> {
+            recordLoadTime(country, year, "success", startTime);
+            span.setAttribute("calendar.load.result", "success").end();
+            entry.loadedAt = Instant.now();
+            entry.loading.complete(calendar);
+        }, e -> {
+            recordLoadTime(country, year, "failure", startTime);
+            span.setAttribute("calendar.load.result", "failure").recordException(e).setStatus(StatusCode.ERROR);
+            span.end();
+            if (isPermanentFailure(e)) {
+                logger.warn("Календарь {} {} года недоступен у источника и не будет запрашиваться {}: {}",
+                        country, year, negativeTtl, e.getMessage());
+                entry.failedUntil = System.nanoTime() + negativeTtl.toNanos();
+            } else {
+                yearsCache.remove(cacheKey(country, year), entry);
+            }
+            entry.loading.completeExceptionally(e);
+        });
+    }
+
+    /**
+     * Вытесняет из переполненного кеша годы, к которым дольше всего не обращались.
+     * Годы вокруг текущего во всех странах и незавершённые загрузки не вытесняются
+     */
+    private void evictIfFull() {
+        int currentYear = Year.now().getValue();
+        while (yearsCache.size() > maxCachedYears) {
+            Map.Entry<Integer, CachedYear> eldest = null;
+            for (Map.Entry<Integer, CachedYear> entry : yearsCache.entrySet()) {
+                if (Math.abs(yearOf(entry.getKey()) - currentYear) <= PINNED_YEARS_AROUND_CURRENT
+                        || !entry.getValue().loading.isDone()) {
+                    continue;
+                }
+                if (eldest == null || entry.getValue().lastAccess - eldest.getValue().lastAccess < 0) {
+                    eldest = entry;
+                }
+            }
+            if (eldest == null) {
+                return;
+            }
+            if (yearsCache.remove(eldest.getKey(), eldest.getValue())) {
+                cacheEvictions.increment();
+            }
+            logger.debug("Календарь {} {} года вытеснен из кеша", countryOf(eldest.getKey()), yearOf(eldest.getKey()));
+        }
+    }
+
+    /**
+     * Учитывает время загрузки года в таймере {@code calendar.load}.
+     * Количество значений тегов {@code country} и {@code year} ограничено
+     * поддерживаемыми странами и диапазоном лет
+     *
+     * @param country   код страны
+     * @param year      год
+     * @param result    результат загрузки
+     * @param startTime время начала загрузки по {@link System#nanoTime()}
+     */
+    private void recordLoadTime(String country, int year, String result, long startTime) {
+        meterRegistry.timer("calendar.load", "country", country, "year", String.valueOf(year), "result", result)
+                .record(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Проверяет, что ошибка загрузки постоянная: у источника нет календаря года
+     * или источник отклонил запрос как некорректный (ответ 4xx)
+     *
+     * @param e ошибка загрузки
+     * @return true — если повторный запрос года не имеет смысла
+     */
+    private static boolean isPermanentFailure(Throwable e) {
+        return e instanceof CalendarNotFoundException
+                || e instanceof WebClientResponseException
+                && ((WebClientResponseException) e).getStatusCode().is4xxClientError();
+    }
+
+    /**
+     * Загружает календарь года.
+     * Сначала календарь ищется в хранилище на диске, и только при его отсутствии
+     * запрашивается у источника календарей с последующим сохранением на диск.
+     * Приблизительные календари на диск не сохраняются.
+     * Работа с диском выполняется на отдельном пуле, чтобы не блокировать потоки обработки запросов
+     *
+     * @param country код страны
+     * @param year    год
+     * @return календарь года
+     */
+    private Mono<YearCalendar> loadYear(String country, int year) {
+        return Mono.fromCallable(() -> calendarStore.read(country, year).orElse(null))
+                .subscribeOn(Schedulers.boundedElastic())
+                .switchIfEmpty(Mono.defer(() -> requestYear(country, year)
+                        .publishOn(Schedulers.boundedElastic())
+                        .doOnNext(calendar -> saveCalendar(country, calendar))));
+    }
+
+    /**
+     * Запрашивает календарь года у источника календарей
+     *
+     * @param country код страны
+     * @param year    год
+     * @return календарь года или ошибка {@link CalendarNotFoundException}, если источник его не вернул
+     */
+    private Mono<YearCalendar> requestYear(String country, int year) {
+        return calendarProvider.getYearCalendar(country, year)
+                .switchIfEmpty(Mono.error(() -> new CalendarNotFoundException(
+                        "Календарь страны " + country + " за " + year + " год не найден!")));
+    }
+
+    /**
+     * Включает или отключает учёт обращений к кешу в метрике {@code calendar.cache.gets}.
+     * Фаза прогрева отключает учёт на время синтетических расчётов: до перехода в состояние готовности
+     * других обращений к кешу нет, а десятки тысяч попаданий прогрева завысили бы долю попаданий
+     *
+     * @param recorded true, чтобы учитывать обращения
+     */
+    public void setCacheGetsRecorded(boolean recorded) {
+        this.cacheGetsRecorded = recorded;
+    }
+
+    /**
+     * Возвращает сведения о календаре года страны по умолчанию, используемом в расчётах
+     *
+     * @param year год
+     * @return сведения о календаре или пустой результат, если календарь года ещё не загружен
+     */
+    public Optional<CalendarSnapshot> getSnapshot(int year) {
+        return getSnapshot(null, year);
+    }
+
+    /**
+     * Возвращает сведения о календаре года, используемом в расчётах
+     *
+     * @param country код страны или null для страны по умолчанию
+     * @param year    год
+     * @return сведения о календаре или пустой результат, если календарь года ещё не загружен
+     * @throws IllegalArgumentException если страна не поддерживается
+     */
+    public Optional<CalendarSnapshot> getSnapshot(String country, int year) {
+        String code = countries.resolve(country);
+        if (year < minYear || year > maxYear) {
+            return Optional.empty();
+        }
+        CachedYear cached = yearsCache.get(cacheKey(code, year));
+        if (cached == null || !isLoaded(cached.loading)) {
+            return Optional.empty();
+        }
+        return Optional.of(CalendarSnapshot.of(code, cached.loading.join(), cached.loadedAt));
+    }
+
+    /**
+     * Принудительно перезапрашивает календарь года страны по умолчанию
+     *
+     * @param year год
+     * @return сведения о календаре, используемом после перезагрузки
+     */
+    public Mono<CalendarSnapshot> reloadYear(int year) {
+        return reloadYear(null, year);
+    }
+
+    /**
+     * Принудительно перезапрашивает календарь года у источника, минуя хранилище на диске,
+     * и подменяет им календарь в кеше
+     *
+     * @param country код страны или null для страны по умолчанию
+     * @param year    год
+     * @return сведения о календаре, используемом после перезагрузки
+     */
+    public Mono<CalendarSnapshot> reloadYear(String country, int year) {
+        return Mono.defer(() -> {
+            String code = countries.resolve(country);
+            checkSupportedYear(year);
+            return requestYear(code, year)
+                    .publishOn(Schedulers.boundedElastic())
+                    .map(calendar -> swapCalendar(code, year, calendar));
+        });
+    }
+
+    /**
+     * Обновляет в фоне календари, загруженные дольше {@code calendar.refresh.ttl} назад.
+     * Пока новый календарь загружается, расчёты используют прежний; при ошибке прежний календарь остаётся в кеше
+     */
+    @Scheduled(fixedDelayString = "${calendar.refresh.check-interval:600000}",
+            initialDelayString = "${calendar.refresh.check-interval:600000}")
+    public void refreshExpiredYears() {
+        Instant expiredBefore = Instant.now().minus(refreshTtl);
+        yearsCache.forEach((key, cached) -> {
+            Instant loaded = cached.loadedAt;
+            if (!isLoaded(cached.loading) || loaded == null || loaded.isAfter(expiredBefore)) {
+                return;
+            }
+            String country = countryOf(key);
+            int year = yearOf(key);
+            reloadYear(country, year).subscribe(
+                    snapshot -> logger.debug("Календарь {} {} года обновлён, версия {}",
+                            country, year, snapshot.getVersion()),
+                    e -> logger.warn("Не удалось обновить календарь {} {} года: {}", country, year, e.getMessage()));
+        });
+    }
+
+    /**
+     * Периодически пытается заменить приблизительные календари, полученные при недоступности источников,
+     * настоящими. Новый календарь подменяет прежний в кеше целиком, только если он не приблизительный
+     */
+    @Scheduled(fixedDelayString = "${calendar.resilience.approximate-retry-interval:60000}")
+    public void reloadApproximateYears() {
+        yearsCache.forEach((key, cached) -> {
+            if (!isLoaded(cached.loading) || !cached.loading.join().isApproximate()) {
+                return;
+            }
+            String country = countryOf(key);
+            int year = yearOf(key);
+            calendarProvider.getYearCalendar(country, year)
+                    .filter(calendar -> !calendar.isApproximate())
+                    .publishOn(Schedulers.boundedElastic())
+                    .subscribe(calendar -> swapCalendar(country, year, calendar),
+                            e -> logger.debug("Не удалось обновить приблизительный календарь {} {} года: {}",
+                                    country, year, e.getMessage()));
+        });
+    }
+
+    /**
+     * Подменяет календарь года в кеше новым неизменяемым календарём одной операцией.
+     * Приблизительный календарь не заменяет уже загруженный; изменившийся календарь сохраняется на диск
+     *
+     * @param country  код страны
+     * @param year     год
+     * @param calendar новый календарь года
+     * @return сведения о календаре, используемом после подмены
+     */
+    private CalendarSnapshot swapCalendar(String country, int year, YearCalendar calendar) {
+        int key = cacheKey(country, year);
+        CachedYear current = yearsCache.get(key);
+        YearCalendar previous = current != null && isLoaded(current.loading) ? current.loading.join() : null;
+        if (previous != null && calendar.isApproximate() && !previous.isApproximate()) {
+            return CalendarSnapshot.of(country, previous, current.loadedAt);
+        }
+
+        Instant now = Instant.now();
+        if (previous == null || !previous.getFingerprint().equals(calendar.getFingerprint())) {
+            saveCalendar(country, calendar);
+            if (previous != null) {
+                logger.info("Календарь {} {} года изменился: версия {} заменена на {}",
+                        country, year, previous.getFingerprint(), calendar.getFingerprint());
+            }
+        }
+        CachedYear swapped = new CachedYear(CompletableFuture.completedFuture(calendar), System.nanoTime());
+        swapped.loadedAt = now;
+        yearsCache.put(key, swapped);
+        evictIfFull();
+        return CalendarSnapshot.of(country, calendar, now);
+    }
+
+    /**
+     * @param loading результат загрузки года
+     * @return true — если загрузка завершилась успешно
+     */
+    private static boolean isLoaded(CompletableFuture<YearCalendar> loading) {
+        return loading.isDone() && !loading.isCompletedExceptionally();
+    }
+
+    /**
+     * Сохраняет календарь на диск, если он не приблизительный
+     *
+     * @param country  код страны
+     * @param calendar календарь года
+     */
+    private void saveCalendar(String country, YearCalendar calendar) {
+        if (!calendar.isApproximate()) {
+            calendarStore.write(country, calendar);
+        }
+    }
+
+    /**
+     * Ожидает завершения загрузки года, пробрасывая исходное исключение загрузки
+     *
+     * @param loading результат загрузки
+     * @return календарь года
+     */
+    private static YearCalendar await(CompletableFuture<YearCalendar> loading) {
+        try {
+            return loading.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Запись кеша календарей: результат загрузки года и сведения для вытеснения
+     */
+    private static final class CachedYear {
+
+        /**
+         * Результат загрузки года
+         */
+        private final CompletableFuture<YearCalendar> loading;
+
+        /**
+         * Время успешной загрузки календаря
+         */
+        private volatile Instant loadedAt;
+
+        /**
+         * Время последнего обращения по {@link System#nanoTime()}
+         */
+        private volatile long lastAccess;
+
+        /**
+         * Момент по {@link System#nanoTime()}, до которого хранится неудачная загрузка
+         */
+        private volatile long failedUntil;
 
-        if (response == null || response.isEmpty()) {
-            throw new IllegalStateException("Пустой или некорректный ответ от сервиса!");
+        /**
+         * @param loading    результат загрузки года
+         * @param lastAccess время создания записи по {@link System#nanoTime()}
+         */
+        private CachedYear(CompletableFuture<YearCalendar> loading, long lastAccess) {
+            this.loading = loading;
+            this.lastAccess = lastAccess;
         }
 
-        Map<LocalDate, Boolean> daysMap = new HashMap<>();
-        LocalDate current = LocalDate.of(year, 1, 1);
-        for (char c : response.toCharArray()) {
-            boolean isWorkDay = c == '0';
-            daysMap.put(current, isWorkDay);
-            current = current.plusDays(1);
+        /**
+         * @param now текущее время по {@link System#nanoTime()}
+         * @return true — если загрузка завершилась ошибкой и срок её хранения истёк
+         */
+        private boolean isExpiredFailure(long now) {
+            return loading.isCompletedExceptionally() && now - failedUntil >= 0;
         }
-        return daysMap;
     }
 }
@@ -0,0 +1,224 @@
+package neoflex.domain.service;
+
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.context.Scope;
+import neoflex.domain.calendar.CalendarRange;
+import neoflex.domain.model.VacationPayResult;
+import neoflex.domain.strategy.PayStrategy;
+import neoflex.domain.strategy.PayStrategyBuilder;
+import neoflex.domain.strategy.PayStrategyByDates;
+import neoflex.domain.strategy.PayStrategyByDays;
+import neoflex.domain.strategy.PayValidation;
+import neoflex.domain.strategy.ValidationError;
+import neoflex.tracing.TracingContext;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+
+/**
+ * Сервис расчёта отпускных для обработки запросов.
+ * В отличие от {@link PayStrategyBuilder}, не хранит состояния и принимает примитивные параметры,
+ * поэтому один экземпляр обслуживает все запросы, а проверка и расчёт не создают объектов.
+ * Проверки и формула совпадают с {@link PayStrategyBuilder} и стратегиями {@link PayStrategy},
+ * которые остаются точкой расширения для новых способов расчёта.
+ * Методы {@code validate...} позволяют проверить данные заранее и отклонить запрос без исключения.
+ * Каждый расчёт оформляется span трассировки {@value #CALCULATION_SPAN} с атрибутом {@code pay.strategy}
+ */
+@Service
+public class VacationPayService {
+
+    /**
+     * Сервис для определения рабочих и нерабочих дней
+     */
+    private final DayStatusService dayStatusService;
+
+    /**
+     * Имя span расчёта отпускных
+     */
+    public static final String CALCULATION_SPAN = "vacation-pay.calculate";
+
+    /**
+     * Трассировщик
+     */
+    private final Tracer tracer;
+
+    /**
+     * Конструктор сервиса расчёта отпускных
+     *
+     * @param dayStatusService сервис определения рабочих дней
+     * @param tracer           трассировщик
+     */
+    public VacationPayService(DayStatusService dayStatusService, Tracer tracer) {
+        this.dayStatusService = dayStatusService;
+        this.tracer = tracer;
+    }
+
+    /**
+     * Рассчитывает отпускные по количеству дней отпуска
+     *
+     * @param averageSalary средняя зарплата за 12 месяцев
+     * @param vacationDays  количество дней отпуска
+     * @return сумма отпускных, округлённая до двух знаков после запятой
+     * @throws IllegalArgumentException если данные некорректны
+     */
+    public double calculateByDays(double averageSalary, int vacationDays) {
+        PayValidation.throwIfInvalid(validateByDays(averageSalary, vacationDays));
+        Span span = startSpan(PayStrategyByDays.class).setAttribute("pay.vacation_days", vacationDays);
+        try {
+            return PayStrategy.payFor(averageSalary, vacationDays);
+        } finally {
+            span.end();
+        }
+    }
+
+    /**
+     * Рассчитывает отпускные по датам начала и окончания отпуска без учёта нерабочих дней
+     *
+     * @param averageSalary средняя зарплата за 12 месяцев
+     * @param startDate     дата начала отпуска
+     * @param endDate       дата окончания отпуска
+     * @return сумма отпускных, округлённая до двух знаков после запятой
+     * @throws IllegalArgumentException если данные некорректны или годы отпуска не поддерживаются
+     * @throws IllegalStateException    если календарь не удалось получить
+     */
+    public double calculateByDates(double averageSalary, LocalDate startDate, LocalDate endDate) {
+        return calculateByDates(null, averageSalary, startDate, endDate);
+    }
+
+    /**
+     * Рассчитывает отпускные по датам начала и окончания отпуска по производственному календарю страны
+     *
+     * @param country       код страны или null для страны по умолчанию
+     * @param averageSalary средняя зарплата за 12 месяцев
+     * @param startDate     дата начала отпуска
+     * @param endDate       дата окончания отпуска
+     * @return сумма отпускных, округлённая до двух знаков после запятой
+     * @throws IllegalArgumentException если данные некорректны, страна или годы отпуска не поддерживаются
+     * @throws IllegalStateException    если календарь не удалось получить
+     */
+    public double calculateByDates(String country, double averageSalary, LocalDate startDate, LocalDate endDate) {
+        PayValidation.throwIfInvalid(validateByDates(averageSalary, startDate, endDate));
+        Span span = startSpan(PayStrategyByDates.class);
+        try (Scope ignored = TracingContext.makeCurrent(span)) {
+            return PayStrategy.payFor(averageSalary, dayStatusService.countWorkDays(country, startDate, endDate));
+        } catch (RuntimeException e) {
+            span.recordException(e).setStatus(StatusCode.ERROR);
+            throw e;
+        } finally {
+            span.end();
+        }
+    }
+
+    /**
+     * Рассчитывает отпускные по датам вместе с признаком расчёта по приблизительному календарю.
+     * Сумма и признак вычисляются по одним и тем же календарям лет отпуска, найденным в кеше один раз
+     *
+     * @param country       код страны или null для страны по умолчанию
+     * @param averageSalary средняя зарплата за 12 месяцев
+     * @param startDate     дата начала отпуска
+     * @param endDate       дата окончания отпуска
+     * @return сумма отпускных с признаком приблизительного расчёта
+     * @throws IllegalArgumentException если данные некорректны, страна или годы отпуска не поддерживаются
+     * @throws IllegalStateException    если календарь не удалось получить
+     */
+    public VacationPayResult calculateResultByDates(String country, double averageSalary, LocalDate startDate,
+                                                    LocalDate endDate) {
+        PayValidation.throwIfInvalid(validateByDates(averageSalary, startDate, endDate));
+        Span span = startSpan(PayStrategyByDates.class);
+        try (Scope ignored = TracingContext.makeCurrent(span)) {
+            return toResult(averageSalary, dayStatusService.getCalendarRange(country, startDate, endDate));
+        } catch (RuntimeException e) {
+            span.recordException(e).setStatus(StatusCode.ERROR);
+            throw e;
+        } finally {
+            span.end();
+        }
+    }
+
+    /**
+     * Неблокирующий вариант {@link #calculateResultByDates(String, double, LocalDate, LocalDate)}.
+     * Проверка данных выполняется сразу, а календари недостающих лет загружаются без блокировки потока
+     *
+     * @param country       код страны или null для страны по умолчанию
+     * @param averageSalary средняя зарплата за 12 месяцев
+     * @param startDate     дата начала отпуска
+     * @param endDate       дата окончания отпуска
+     * @return сумма отпускных с признаком приблизительного расчёта
+     * @throws IllegalArgumentException если данные некорректны или годы отпуска не поддерживаются
+     */
+    public Mono<VacationPayResult> calculateResultByDatesAsync(String country, double averageSalary,
+                                                               LocalDate startDate, LocalDate endDate) {
+        PayValidation.throwIfInvalid(validateByDates(averageSalary, startDate, endDate));
+        Span span = startSpan(PayStrategyByDates.class);
+        Mono<CalendarRange> range;
+        try (Scope ignored = TracingContext.makeCurrent(span)) {
+            range = dayStatusService.getCalendarRangeAsync(country, startDate, endDate);
+        }
+        Mono<VacationPayResult> result = range.map(calendars -> toResult(averageSalary, calendars));
+        if (!span.getSpanContext().isValid()) {
+            return result;
+        }
+        return result
+                .doOnError(e -> span.recordException(e).setStatus(StatusCode.ERROR))
+                .doFinally(signal -> span.end())
+                .contextWrite(TracingContext.with(Context.current().with(span)));
+    }
+
+    /**
+     * Рассчитывает отпускные по календарям лет отпуска
+     *
+     * @param averageSalary средняя зарплата за 12 месяцев
+     * @param range         календари лет отпуска
+     * @return сумма отпускных с признаком приблизительного расчёта
+     */
+    private static VacationPayResult toResult(double averageSalary, CalendarRange range) {
+        return new VacationPayResult(PayStrategy.payFor(averageSalary, range.countWorkDays()), range.isApproximate());
+    }
+
+    /**
+     * Начинает span расчёта отпускных внутри трассы запроса
+     *
+     * @param strategy способ расчёта, имя которого становится атрибутом {@code pay.strategy}
+     * @return начатый span или span без записи, если трассы нет
+     */
+    private Span startSpan(Class<? extends PayStrategy> strategy) {
+        if (!TracingContext.isTracing()) {
+            return Span.getInvalid();
+        }
+        return tracer.spanBuilder(CALCULATION_SPAN)
+                .setAttribute("pay.strategy", strategy.getSimpleName())
+                .startSpan();
+    }
+
+    /**
+     * Проверяет данные расчёта по количеству дней без исключений
+     *
+     * @param averageSalary средняя зарплата за 12 месяцев
+     * @param vacationDays  количество дней отпуска
+     * @return первая найденная ошибка проверки или null, если данные корректны
+     */
+    public ValidationError validateByDays(double averageSalary, int vacationDays) {
+        ValidationError error = PayValidation.averageSalaryError(averageSalary);
+        return error != null ? error : PayValidation.vacationDaysError(vacationDays);
+    }
+
+    /**
+     * Проверяет данные расчёта по датам без исключений
+     *
+     * @param averageSalary средняя зарплата за 12 месяцев
+     * @param startDate     дата начала отпуска
+     * @param endDate       дата окончания отпуска
+     * @return первая найденная ошибка проверки или null, если данные корректны и годы отпуска поддерживаются
+     */
+    public ValidationError validateByDates(double averageSalary, LocalDate startDate, LocalDate endDate) {
+        ValidationError error = PayValidation.averageSalaryError(averageSalary);
+        if (error == null) {
+            error = PayValidation.vacationDatesError(startDate, endDate);
+        }
+        return error != null ? error : dayStatusService.supportedYearsError(startDate, endDate);
+    }
+}
@@ -0,0 +1,221 @@
+package neoflex.domain.service;
+
+import neoflex.domain.calendar.YearCalendar;
+import neoflex.domain.model.PlanObjective;
+import neoflex.domain.model.VacationOption;
+import neoflex.domain.model.VacationPlan;
+import neoflex.domain.strategy.PayStrategy;
+import neoflex.domain.strategy.PayValidation;
+import neoflex.domain.strategy.ValidationError;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Сервис подбора дат начала отпуска: для отпуска заданной длины в календарных днях находит даты начала в году,
+ * лучшие по выбранной цели ({@link PlanObjective}).
+ * <p>
+ * Сумма отпускных по датам растёт вместе с количеством рабочих дней в отпуске, поэтому обе цели сводятся
+ * к количеству рабочих дней в окне из {@code vacationDays} дней. Оно считается скользящим окном за один проход
+ * по календарю года: при сдвиге начала на день к счётчику прибавляется вошедший в окно день и вычитается вышедший.
+ * Отпуск, начатый в конце года, продолжается по календарю следующего года, который загружается одновременно с текущим;
+ * если следующий год не поддерживается или его календарь не удалось получить (например, он ещё не опубликован),
+ * предлагаются только отпуска, заканчивающиеся в текущем году
+ */
+@Service
+public class VacationPlannerService {
+
+    private static final Logger logger = LoggerFactory.getLogger(VacationPlannerService.class);
+
+    /**
+     * Сервис для определения рабочих и нерабочих дней
+     */
+    private final DayStatusService dayStatusService;
+
+    /**
+     * Максимальная длина отпуска в календарных днях
+     */
+    private final int maxVacationDays;
+
+    /**
+     * Максимальное количество предлагаемых вариантов
+     */
+    private final int maxTop;
+
+    /**
+     * Ошибка проверки для длины отпуска вне допустимого диапазона
+     */
+    private final ValidationError vacationDaysOutOfRange;
+
+    /**
+     * Ошибка проверки для количества вариантов вне допустимого диапазона
+     */
+    private final ValidationError topOutOfRange;
+
+    /**
+     * Конструктор сервиса подбора дат отпуска
+     *
+     * @param dayStatusService сервис определения рабочих дней
+     * @param maxVacationDays  максимальная длина отпуска в календарных днях
+     * @param maxTop           максимальное количество предлагаемых вариантов
+     */
+    public VacationPlannerService(DayStatusService dayStatusService,
+                                  @Value("${plan.max-vacation-days:90}") int maxVacationDays,
+                                  @Value("${plan.max-top:20}") int maxTop) {
+        this.dayStatusService = dayStatusService;
+        this.maxVacationDays = maxVacationDays;
+        this.maxTop = maxTop;
+        this.vacationDaysOutOfRange = new ValidationError("VACATION_DAYS_OUT_OF_RANGE",
+                "Длина отпуска должна быть от 1 до " + maxVacationDays + " дней!");
+        this.topOutOfRange = new ValidationError("TOP_OUT_OF_RANGE",
+                "Количество вариантов должно быть от 1 до " + maxTop + "!");
+    }
+
+    /**
+     * Проверяет данные подбора без исключений
+     *
+     * @param averageSalary средняя зарплата за 12 месяцев
+     * @param year          год начала отпуска
+     * @param vacationDays  длина отпуска в календарных днях
+     * @param top           количество вариантов
+     * @return первая найденная ошибка проверки или null, если данные корректны
+     */
+    public ValidationError validate(double averageSalary, int year, int vacationDays, int top) {
+        ValidationError error = PayValidation.averageSalaryError(averageSalary);
+        if (error != null) {
+            return error;
+        }
+        if (vacationDays < 1 || vacationDays > maxVacationDays) {
+            return vacationDaysOutOfRange;
+        }
+        if (top < 1 || top > maxTop) {
+            return topOutOfRange;
+        }
+        return dayStatusService.supportedYearError(year);
+    }
+
+    /**
+     * Подбирает лучшие даты начала отпуска в году
+     *
+     * @param country       код страны или null для страны по умолчанию
+     * @param averageSalary средняя зарплата за 12 месяцев
+     * @param year          год начала отпуска
+     * @param vacationDays  длина отпуска в календарных днях
+     * @param objective     цель подбора
+     * @param top           количество вариантов
+     * @return не более {@code top} вариантов от лучшего к худшему; равноценные варианты — в порядке дат
+     * @throws IllegalArgumentException если данные некорректны, страна или год не поддерживаются
+     * @throws IllegalStateException    если календарь не удалось получить
+     */
+    public VacationPlan plan(String country, double averageSalary, int year, int vacationDays,
+                             PlanObjective objective, int top) {
+        PayValidation.throwIfInvalid(validate(averageSalary, year, vacationDays, top));
+        String code = dayStatusService.resolveCountry(country);
+        Mono<YearCalendar> nextLoading = vacationDays > 1 && dayStatusService.supportedYearError(year + 1) == null
+                ? dayStatusService.getYearCalendarAsync(code, year + 1)
+                        .onErrorResume(RuntimeException.class, e -> {
+                            logger.debug("Календарь {} {} года недоступен, предлагаются отпуска внутри {} года: {}",
+                                    code, year + 1, year, e.getMessage());
+                            return Mono.empty();
+                        })
+                : Mono.empty();
+        YearCalendar calendar = dayStatusService.getYearCalendar(code, year);
+        YearCalendar next = nextLoading.block();
+
+        int daysCount = calendar.getDaysCount();
+        int startsCount = next != null ? daysCount : daysCount - vacationDays + 1;
+        int[] workDays = slideWindow(calendar, next, vacationDays, startsCount);
+
+        List<VacationOption> options = new ArrayList<>(Math.min(top, startsCount));
+        LocalDate firstDay = LocalDate.of(year, 1, 1);
+        for (int start : bestStarts(workDays, vacationDays, objective, top)) {
+            LocalDate startDate = firstDay.plusDays(start);
+            options.add(new VacationOption(startDate, startDate.plusDays(vacationDays - 1L), workDays[start],
+                    PayStrategy.payFor(averageSalary, workDays[start])));
+        }
+        boolean approximate = calendar.isApproximate() || next != null && next.isApproximate();
+        return new VacationPlan(code, year, vacationDays, objective, approximate, options);
+    }
+
+    /**
+     * Считает рабочие дни в каждом окне из {@code vacationDays} дней за один проход по календарю
+     *
+     * @param calendar     календарь года
+     * @param next         календарь следующего года или null
+     * @param vacationDays длина окна в днях
+     * @param startsCount  количество начал окна, начиная с 1 января
+     * @return количество рабочих дней в окне по индексу дня начала (0 — 1 января)
+     */
+    private static int[] slideWindow(YearCalendar calendar, YearCalendar next, int vacationDays, int startsCount) {
+        int[] workDays = new int[Math.max(0, startsCount)];
+        if (startsCount <= 0) {
+            return workDays;
+        }
+        int count = 0;
+        for (int day = 0; day < vacationDays; day++) {
+            count += workDay(calendar, next, day);
+        }
+        workDays[0] = count;
+        for (int start = 1; start < startsCount; start++) {
+            count += workDay(calendar, next, start + vacationDays - 1) - workDay(calendar, next, start - 1);
+            workDays[start] = count;
+        }
+        return workDays;
+    }
+
+    /**
+     * @param calendar календарь года
+     * @param next     календарь следующего года или null
+     * @param day      индекс дня от 1 января года (может выходить в следующий год)
+     * @return 1 — если день рабочий, иначе 0
+     */
+    private static int workDay(YearCalendar calendar, YearCalendar next, int day) {
+        int daysCount = calendar.getDaysCount();
+        boolean work = day < daysCount ? calendar.isWorkDay(day + 1) : next.isWorkDay(day - daysCount + 1);
+        return work ? 1 : 0;
+    }
+
+    /**
+     * Выбирает лучшие начала окна, не сортируя все окна: за один проход по окнам каждое начало
+     * добавляется в конец списка окон со своим количеством рабочих дней, после чего списки обходятся
+     * от лучшего значения к худшему до набора {@code top} вариантов. Внутри списка окна идут в порядке дат
+     *
+     * @param workDays     количество рабочих дней по индексу дня начала
+     * @param vacationDays длина окна — наибольшее возможное количество рабочих дней
+     * @param objective    цель подбора
+     * @param top          количество вариантов
+     * @return индексы дней начала от лучшего к худшему
+     */
+    private static int[] bestStarts(int[] workDays, int vacationDays, PlanObjective objective, int top) {
+        int[] first = new int[vacationDays + 1];
+        int[] last = new int[vacationDays + 1];
+        int[] following = new int[workDays.length];
+        Arrays.fill(first, -1);
+        for (int start = 0; start < workDays.length; start++) {
+            int value = workDays[start];
+            following[start] = -1;
+            if (first[value] < 0) {
+                first[value] = start;
+            } else {
+                following[last[value]] = start;
+            }
+            last[value] = start;
+        }
+        int[] best = new int[Math.min(top, workDays.length)];
+        int found = 0;
+        for (int rank = 0; rank <= vacationDays && found < best.length; rank++) {
+            int value = objective == PlanObjective.MAX_PAY ? vacationDays - rank : rank;
+            for (int start = first[value]; start >= 0 && found < best.length; start = following[start]) {
+                best[found++] = start;
+            }
+        }
+        return best;
+    }
+}
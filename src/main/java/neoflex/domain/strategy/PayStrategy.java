@@ -1,5 +1,10 @@
 package neoflex.domain.strategy;
 
+import neoflex.domain.money.Money;
+import reactor.core.publisher.Mono;
+
+import java.math.RoundingMode;
+
 /**
  * Стратегия расчёта отпускных выплат
  */
@@ -8,7 +13,12 @@ public interface PayStrategy {
     /**
      * Среднее количество дней в месяце, используемое в расчетах
      */
-    double AVERAGE_MONTH_DAYS = 29.3;
+    double AVERAGE_MONTH_DAYS = Money.AVERAGE_MONTH_DAYS;
+
+    /**
+     * Способ округления суммы отпускных до копейки
+     */
+    RoundingMode ROUNDING_MODE = RoundingMode.HALF_UP;
 
     /**
      * Выполняет расчёт отпускных на основе реализованной стратегии
@@ -18,12 +28,48 @@ public interface PayStrategy {
     double calculate();
 
     /**
-     * Округляет переданную сумму до двух знаков после запятой.
+     * Неблокирующий вариант {@link #calculate()}.
+     * По умолчанию выполняет расчёт сразу, стратегии, зависящие от внешних данных, переопределяют его
+     *
+     * @return рассчитанная сумма отпускных, округлённая до двух знаков после запятой
+     */
+    default Mono<Double> calculateAsync() {
+        return Mono.fromSupplier(this::calculate);
+    }
+
+    /**
+     * Сообщает, является ли результат расчёта приблизительным, например из-за того,
+     * что производственный календарь был недоступен и праздники не учтены
+     *
+     * @return true — если результат приблизительный
+     */
+    default boolean isApproximate() {
+        return false;
+    }
+
+    /**
+     * Рассчитывает сумму отпускных за указанное количество оплачиваемых дней с округлением {@link #ROUNDING_MODE}.
+     * Не создаёт объектов и может вызываться без экземпляра стратегии
+     *
+     * @param averageSalary средняя зарплата за 12 месяцев
+     * @param days          количество оплачиваемых дней
+     * @return сумма отпускных, округлённая до двух знаков после запятой
+     */
+    static double payFor(double averageSalary, int days) {
+        return payFor(averageSalary, days, ROUNDING_MODE);
+    }
+
+    /**
+     * Рассчитывает сумму отпускных за указанное количество оплачиваемых дней в целых копейках ({@link Money}),
+     * поэтому результат одинаков на любой платформе и совпадает с точным расчётом в {@link java.math.BigDecimal}
      *
-     * @param pay сумма, которую нужно округлить.
-     * @return округлённая сумма.
+     * @param averageSalary средняя зарплата за 12 месяцев
+     * @param days          количество оплачиваемых дней
+     * @param roundingMode  способ округления до копейки
+     * @return сумма отпускных, округлённая до двух знаков после запятой
+     * @throws IllegalArgumentException если сумма вне допустимого диапазона
      */
-    default double roundToTwoDigits(double pay) {
-        return Math.round(pay * 100.0) / 100.0;
+    static double payFor(double averageSalary, int days, RoundingMode roundingMode) {
+        return Money.toAmount(Money.vacationPay(Money.toMinorUnits(averageSalary), days, roundingMode));
     }
 }
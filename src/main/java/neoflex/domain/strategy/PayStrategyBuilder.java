@@ -30,6 +30,11 @@ public class PayStrategyBuilder {
      */
     private LocalDate endDate;
 
+    /**
+     * Код страны производственного календаря
+     */
+    private String country;
+
     /**
      * Сервис для определения рабочих и нерабочих дней
      */
@@ -80,67 +85,61 @@ public class PayStrategyBuilder {
     }
 
     /**
-     * Создаёт соответствующую стратегию расчёта отпускных
-     * на основе предоставленных данных
+     * Устанавливает страну, по производственному календарю которой считаются рабочие дни.
+     * Без страны используется страна по умолчанию
      *
-     * @return реализация {@link PayStrategy}
-     * @throws IllegalArgumentException если не хватает данных или данные некорректны
-     * @throws IllegalStateException    если отсутствует {@link DayStatusService} при расчёте по датам
+     * @param country код страны
+     * @return текущий билдер
      */
-    public PayStrategy build() {
+    public PayStrategyBuilder withCountry(String country) {
+        this.country = country;
+        return this;
+    }
+
+    /**
+     * Проверяет предоставленные данные без создания стратегии и без исключений
+     *
+     * @return первая найденная ошибка проверки или null, если по данным можно создать стратегию
+     * @throws IllegalStateException если отсутствует {@link DayStatusService} при расчёте по датам
+     */
+    public ValidationError validate() {
         if (averageSalary == null) {
-            throw new IllegalArgumentException("Средняя зарплата не указана!");
-        } else {
-            validateAverageSalary(averageSalary);
+            return ValidationError.AVERAGE_SALARY_MISSING;
+        }
+        ValidationError error = PayValidation.averageSalaryError(averageSalary);
+        if (error != null) {
+            return error;
         }
 
         if (startDate != null && endDate != null) {
-            validateVacationDates(startDate, endDate);
+            error = PayValidation.vacationDatesError(startDate, endDate);
+            if (error != null) {
+                return error;
+            }
             if (dayStatusService == null) {
                 throw new IllegalStateException("DayStatusService не проинициализирован!");
             }
-            return new PayStrategyByDates(averageSalary, startDate, endDate, dayStatusService);
+            return dayStatusService.supportedYearsError(startDate, endDate);
         } else if (vacationDays != null) {
-            validateVacationDays(vacationDays);
-            return new PayStrategyByDays(averageSalary, vacationDays);
-        }
-        throw new IllegalArgumentException("Недостаточно данных для расчета!");
-    }
-
-    /**
-     * Проверяет корректность средней зарплаты
-     *
-     * @param averageSalary средняя зарплата
-     * @throws IllegalArgumentException если зарплата отрицательная
-     */
-    private void validateAverageSalary(double averageSalary) {
-        if (averageSalary < 0) {
-            throw new IllegalArgumentException("Средняя зарплата за 12 месяцев должна быть положительной!");
-        }
-    }
-
-    /**
-     * Проверяет корректность количества дней отпуска
-     *
-     * @param vacationDays количество дней отпуска
-     * @throws IllegalArgumentException если значение отрицательное
-     */
-    private void validateVacationDays(int vacationDays) {
-        if (vacationDays < 0) {
-            throw new IllegalArgumentException("Количество дней отпуска должно быть положительным!");
+            return PayValidation.vacationDaysError(vacationDays);
         }
+        return ValidationError.INSUFFICIENT_DATA;
     }
 
     /**
-     * Проверяет, что конечная дата отпуска не раньше начальной
+     * Создаёт соответствующую стратегию расчёта отпускных
+     * на основе предоставленных данных
      *
-     * @param startDate дата начала
-     * @param endDate   дата окончания
-     * @throws IllegalArgumentException если даты некорректны
+     * @return реализация {@link PayStrategy}
+     * @throws IllegalArgumentException если не хватает данных, данные некорректны, страна или годы отпуска не поддерживаются
+     * @throws IllegalStateException    если отсутствует {@link DayStatusService} при расчёте по датам
      */
-    private void validateVacationDates(LocalDate startDate, LocalDate endDate) {
-        if (endDate.isBefore(startDate)) {
-            throw new IllegalArgumentException("Конечная дата отпуска не может быть раньше даты старта!");
+    public PayStrategy build() {
+        PayValidation.throwIfInvalid(validate());
+        if (startDate != null && endDate != null) {
+            String code = dayStatusService.resolveCountry(country);
+            return new PayStrategyByDates(averageSalary, startDate, endDate, code, dayStatusService);
         }
+        return new PayStrategyByDays(averageSalary, vacationDays);
     }
-}
\ No newline at end of file
+}
@@ -1,6 +1,7 @@
 package neoflex.domain.strategy;
 
 import neoflex.domain.service.DayStatusService;
+import reactor.core.publisher.Mono;
 
 import java.time.LocalDate;
 
@@ -24,6 +25,11 @@ public class PayStrategyByDates implements PayStrategy {
      */
     private final LocalDate endDate;
 
+    /**
+     * Код страны производственного календаря или null для страны по умолчанию
+     */
+    private final String country;
+
     /**
      * Сервис, определяющий, является ли день рабочим
      */
@@ -38,9 +44,24 @@ public class PayStrategyByDates implements PayStrategy {
      * @param dayStatusService сервис, определяющий рабочие дни
      */
     public PayStrategyByDates(Double averageSalary, LocalDate startDate, LocalDate endDate, DayStatusService dayStatusService) {
+        this(averageSalary, startDate, endDate, null, dayStatusService);
+    }
+
+    /**
+     * Конструктор стратегии расчёта отпускных по датам и производственному календарю страны
+     *
+     * @param averageSalary    средняя зарплата за 12 месяцев
+     * @param startDate        дата начала отпуска
+     * @param endDate          дата окончания отпуска
+     * @param country          код страны или null для страны по умолчанию
+     * @param dayStatusService сервис, определяющий рабочие дни
+     */
+    public PayStrategyByDates(Double averageSalary, LocalDate startDate, LocalDate endDate, String country,
+                              DayStatusService dayStatusService) {
         this.averageSalary = averageSalary;
         this.startDate = startDate;
         this.endDate = endDate;
+        this.country = country;
         this.dayStatusService = dayStatusService;
     }
 
@@ -52,30 +73,49 @@ public class PayStrategyByDates implements PayStrategy {
      */
     @Override
     public double calculate() {
-        double oneDayPay = averageSalary / AVERAGE_MONTH_DAYS;
-        int workDays = countWorkDays(startDate, endDate);
-        return roundToTwoDigits(oneDayPay * workDays);
+        return calculatePay(countWorkDays(startDate, endDate));
+    }
+
+    /**
+     * Неблокирующий вариант расчёта: календари недостающих лет загружаются без блокировки потока
+     *
+     * @return рассчитанная сумма отпускных, округлённая до двух знаков после запятой
+     */
+    @Override
+    public Mono<Double> calculateAsync() {
+        return dayStatusService.countWorkDaysAsync(country, startDate, endDate).map(this::calculatePay);
+    }
+
+    /**
+     * Результат приблизительный, если календарь какого-либо года диапазона
+     * был построен без данных производственного календаря
+     *
+     * @return true — если результат приблизительный
+     */
+    @Override
+    public boolean isApproximate() {
+        return dayStatusService.isApproximate(country, startDate, endDate);
+    }
+
+    /**
+     * Рассчитывает сумму отпускных за указанное количество рабочих дней
+     *
+     * @param workDays количество рабочих дней
+     * @return сумма отпускных, округлённая до двух знаков после запятой
+     */
+    private double calculatePay(int workDays) {
+        return PayStrategy.payFor(averageSalary, workDays);
     }
 
     /**
      * Подсчитывает количество рабочих дней между двумя датами включительно,
-     * используя {@link DayStatusService}
+     * используя накопленный индекс рабочих дней {@link DayStatusService}
      *
      * @param startDate дата начала
      * @param endDate   дата окончания
      * @return количество рабочих дней
      */
     private int countWorkDays(LocalDate startDate, LocalDate endDate) {
-        int workDays = 0;
-        LocalDate currentDate = startDate;
-        while (!currentDate.isAfter(endDate)) {
-            if (dayStatusService.isWorkDay(currentDate)) {
-                workDays++;
-            }
-            currentDate = currentDate.plusDays(1);
-        }
-        return workDays;
+        return dayStatusService.countWorkDays(country, startDate, endDate);
     }
-
-
 }
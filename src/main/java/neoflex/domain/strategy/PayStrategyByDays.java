@@ -33,7 +33,6 @@ public class PayStrategyByDays implements PayStrategy {
      */
     @Override
     public double calculate() {
-        double oneDayPay = averageSalary / AVERAGE_MONTH_DAYS;
-        return roundToTwoDigits(oneDayPay * vacationDays);
+        return PayStrategy.payFor(averageSalary, vacationDays);
     }
 }
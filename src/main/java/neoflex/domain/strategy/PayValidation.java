@@ -0,0 +1,127 @@
+package neoflex.domain.strategy;
+
+import neoflex.domain.money.Money;
+
+import java.time.LocalDate;
+
+/**
+ * Проверки входных данных расчёта отпускных, общие для {@link PayStrategyBuilder}
+ * и {@link neoflex.domain.service.VacationPayService}.
+ * Принимают примитивные значения, чтобы проверка не создавала объектов.
+ * Методы {@code ...Error} возвращают заранее созданную {@link ValidationError} или {@code null}
+ * и используются там, где некорректные данные — ожидаемый результат, а не исключительная ситуация;
+ * методы {@code check...} бросают исключение с тем же сообщением
+ */
+public final class PayValidation {
+
+    /**
+     * Сообщение об отсутствии средней зарплаты
+     */
+    public static final String AVERAGE_SALARY_MISSING = "Средняя зарплата не указана!";
+
+    /**
+     * Сообщение об отрицательной средней зарплате
+     */
+    public static final String AVERAGE_SALARY_NEGATIVE = "Средняя зарплата за 12 месяцев должна быть положительной!";
+
+    /**
+     * Сообщение о средней зарплате, которая не является числом или слишком велика для расчёта
+     */
+    public static final String AVERAGE_SALARY_OUT_OF_RANGE =
+            "Средняя зарплата за 12 месяцев должна быть числом не больше " + (long) Money.MAX_AMOUNT + "!";
+
+    /**
+     * Сообщение об отрицательном количестве дней отпуска
+     */
+    public static final String VACATION_DAYS_NEGATIVE = "Количество дней отпуска должно быть положительным!";
+
+    /**
+     * Сообщение о дате окончания отпуска раньше даты начала
+     */
+    public static final String END_DATE_BEFORE_START = "Конечная дата отпуска не может быть раньше даты старта!";
+
+    /**
+     * Сообщение о недостаточности данных для выбора способа расчёта
+     */
+    public static final String INSUFFICIENT_DATA = "Недостаточно данных для расчета!";
+
+    private PayValidation() {
+    }
+
+    /**
+     * Проверяет корректность средней зарплаты без исключений
+     *
+     * @param averageSalary средняя зарплата
+     * @return ошибка проверки или null, если зарплата корректна
+     */
+    public static ValidationError averageSalaryError(double averageSalary) {
+        if (averageSalary < 0) {
+            return ValidationError.AVERAGE_SALARY_NEGATIVE;
+        }
+        return Money.isRepresentable(averageSalary) ? null : ValidationError.AVERAGE_SALARY_OUT_OF_RANGE;
+    }
+
+    /**
+     * Проверяет корректность количества дней отпуска без исключений
+     *
+     * @param vacationDays количество дней отпуска
+     * @return ошибка проверки или null, если количество корректно
+     */
+    public static ValidationError vacationDaysError(int vacationDays) {
+        return vacationDays < 0 ? ValidationError.VACATION_DAYS_NEGATIVE : null;
+    }
+
+    /**
+     * Проверяет без исключений, что конечная дата отпуска не раньше начальной
+     *
+     * @param startDate дата начала
+     * @param endDate   дата окончания
+     * @return ошибка проверки или null, если даты корректны
+     */
+    public static ValidationError vacationDatesError(LocalDate startDate, LocalDate endDate) {
+        return endDate.isBefore(startDate) ? ValidationError.END_DATE_BEFORE_START : null;
+    }
+
+    /**
+     * Проверяет корректность средней зарплаты
+     *
+     * @param averageSalary средняя зарплата
+     * @throws IllegalArgumentException если зарплата отрицательная, не число или слишком велика
+     */
+    public static void checkAverageSalary(double averageSalary) {
+        throwIfInvalid(averageSalaryError(averageSalary));
+    }
+
+    /**
+     * Проверяет корректность количества дней отпуска
+     *
+     * @param vacationDays количество дней отпуска
+     * @throws IllegalArgumentException если значение отрицательное
+     */
+    public static void checkVacationDays(int vacationDays) {
+        throwIfInvalid(vacationDaysError(vacationDays));
+    }
+
+    /**
+     * Проверяет, что конечная дата отпуска не раньше начальной
+     *
+     * @param startDate дата начала
+     * @param endDate   дата окончания
+     * @throws IllegalArgumentException если даты некорректны
+     */
+    public static void checkVacationDates(LocalDate startDate, LocalDate endDate) {
+        throwIfInvalid(vacationDatesError(startDate, endDate));
+    }
+
+    /**
+     * Бросает исключение, если проверка не пройдена
+     *
+     * @param error ошибка проверки или null
+     * @throws IllegalArgumentException если ошибка указана
+     */
+    public static void throwIfInvalid(ValidationError error) {
+        if (error != null) {
+            throw error.toException();
+        }
+    }
+}
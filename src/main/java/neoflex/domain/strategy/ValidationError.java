@@ -0,0 +1,110 @@
+package neoflex.domain.strategy;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Результат проверки входных данных, не прошедших проверку: код ошибки, сообщение и готовое тело ответа.
+ * Экземпляры создаются заранее — для постоянных ошибок это константы класса, а для ошибок,
+ * зависящих от настроек, один экземпляр создаётся при запуске. Поэтому отклонение некорректного запроса
+ * не создаёт ни исключения со стектрейсом, ни тела ответа. Методы проверки возвращают {@code null},
+ * если данные корректны
+ */
+public final class ValidationError {
+
+    /**
+     * Средняя зарплата не указана
+     */
+    public static final ValidationError AVERAGE_SALARY_MISSING =
+            new ValidationError("AVERAGE_SALARY_MISSING", PayValidation.AVERAGE_SALARY_MISSING);
+
+    /**
+     * Средняя зарплата отрицательная
+     */
+    public static final ValidationError AVERAGE_SALARY_NEGATIVE =
+            new ValidationError("AVERAGE_SALARY_NEGATIVE", PayValidation.AVERAGE_SALARY_NEGATIVE);
+
+    /**
+     * Средняя зарплата не число, бесконечна или не переводится в копейки без потери точности
+     */
+    public static final ValidationError AVERAGE_SALARY_OUT_OF_RANGE =
+            new ValidationError("AVERAGE_SALARY_OUT_OF_RANGE", PayValidation.AVERAGE_SALARY_OUT_OF_RANGE);
+
+    /**
+     * Количество дней отпуска отрицательное
+     */
+    public static final ValidationError VACATION_DAYS_NEGATIVE =
+            new ValidationError("VACATION_DAYS_NEGATIVE", PayValidation.VACATION_DAYS_NEGATIVE);
+
+    /**
+     * Дата окончания отпуска раньше даты начала
+     */
+    public static final ValidationError END_DATE_BEFORE_START =
+            new ValidationError("END_DATE_BEFORE_START", PayValidation.END_DATE_BEFORE_START);
+
+    /**
+     * Недостаточно данных для выбора способа расчёта
+     */
+    public static final ValidationError INSUFFICIENT_DATA =
+            new ValidationError("INSUFFICIENT_DATA", PayValidation.INSUFFICIENT_DATA);
+
+    /**
+     * Код ошибки для клиентов
+     */
+    private final String code;
+
+    /**
+     * Сообщение об ошибке
+     */
+    private final String message;
+
+    /**
+     * Неизменяемое тело ответа {@code {"error": ..., "code": ...}}
+     */
+    private final Map<String, String> body;
+
+    /**
+     * Конструктор ошибки проверки. Вызывается один раз на вид ошибки, а не на каждый запрос
+     *
+     * @param code    код ошибки
+     * @param message сообщение об ошибке
+     */
+    public ValidationError(String code, String message) {
+        this.code = code;
+        this.message = message;
+        Map<String, String> responseBody = new LinkedHashMap<>();
+        responseBody.put("error", message);
+        responseBody.put("code", code);
+        this.body = Collections.unmodifiableMap(responseBody);
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    /**
+     * @return неизменяемое тело ответа с сообщением и кодом ошибки
+     */
+    public Map<String, String> getBody() {
+        return body;
+    }
+
+    /**
+     * Создаёт исключение для вызывающих, ожидающих ошибку проверки в виде исключения
+     *
+     * @return исключение с сообщением об ошибке
+     */
+    public IllegalArgumentException toException() {
+        return new IllegalArgumentException(message);
+    }
+
+    @Override
+    public String toString() {
+        return code;
+    }
+}
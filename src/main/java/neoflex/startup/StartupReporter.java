@@ -0,0 +1,126 @@
+package neoflex.startup;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Отчёт о запуске приложения: время от старта JVM до готовности принимать запросы
+ * (включая фазу прогрева) и объём занятой процессом физической памяти (RSS).
+ * <p>
+ * Используется задачами сборки {@code startupReport} и {@code cdsArchive}: с параметром
+ * {@code startup.exit-after-start=true} приложение завершается сразу после готовности,
+ * что позволяет сравнить варианты запуска и записать архив AppCDS по классам, загруженным при старте
+ */
+@Component
+public class StartupReporter implements ApplicationListener<ApplicationReadyEvent> {
+
+    private static final Logger logger = LoggerFactory.getLogger(StartupReporter.class);
+
+    /**
+     * Название варианта запуска в отчёте
+     */
+    private final String variant;
+
+    /**
+     * Файл, в который дописывается строка отчёта; пустая строка — только запись в лог
+     */
+    private final String reportFile;
+
+    /**
+     * Признак завершения приложения сразу после готовности
+     */
+    private final boolean exitAfterStart;
+
+    /**
+     * Конструктор отчёта о запуске
+     *
+     * @param variant        название варианта запуска
+     * @param reportFile     файл отчёта или пустая строка
+     * @param exitAfterStart признак завершения приложения после готовности
+     */
+    public StartupReporter(@Value("${startup.variant:default}") String variant,
+                           @Value("${startup.report-file:}") String reportFile,
+                           @Value("${startup.exit-after-start:false}") boolean exitAfterStart) {
+        this.variant = variant;
+        this.reportFile = reportFile;
+        this.exitAfterStart = exitAfterStart;
+    }
+
+    /**
+     * Записывает время запуска и RSS после перехода приложения в состояние готовности
+     *
+     * @param event событие готовности приложения
+     */
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        long startupMillis = ManagementFactory.getRuntimeMXBean().getUptime();
+        long residentSetKb = readResidentSetKb();
+        logger.info("Запуск ({}) завершён за {} мс после старта JVM, RSS {} КБ", variant, startupMillis, residentSetKb);
+
+        if (!reportFile.isEmpty()) {
+            appendReport(variant + "\t" + startupMillis + "\t" + residentSetKb + System.lineSeparator());
+        }
+        if (exitAfterStart) {
+            System.exit(SpringApplication.exit(event.getApplicationContext()));
+        }
+    }
+
+    /**
+     * Дописывает строку в файл отчёта. Ошибка записи только логируется
+     *
+     * @param line строка отчёта
+     */
+    private void appendReport(String line) {
+        try {
+            Path path = Paths.get(reportFile);
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            Files.write(path, line.getBytes(StandardCharsets.UTF_8), StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            logger.warn("Не удалось записать отчёт о запуске в {}: {}", reportFile, e.getMessage());
+        }
+    }
+
+    /**
+     * Определяет RSS текущего процесса по {@code /proc/self/status}
+     *
+     * @return RSS в килобайтах или -1, если он недоступен (например, не в Linux)
+     */
+    private static long readResidentSetKb() {
+        try {
+            return parseResidentSetKb(Files.readAllLines(Paths.get("/proc/self/status"), StandardCharsets.US_ASCII));
+        } catch (IOException | RuntimeException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Находит RSS в содержимом {@code /proc/<pid>/status}
+     *
+     * @param statusLines строки файла состояния процесса
+     * @return значение поля {@code VmRSS} в килобайтах или -1, если поле отсутствует
+     */
+    static long parseResidentSetKb(List<String> statusLines) {
+        for (String line : statusLines) {
+            if (line.startsWith("VmRSS:")) {
+                return Long.parseLong(line.substring("VmRSS:".length()).replace("kB", "").trim());
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,174 @@
+package neoflex.startup;
+
+import neoflex.domain.service.DayStatusService;
+import neoflex.domain.service.VacationPayService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.Year;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Фаза прогрева, выполняемая при запуске приложения.
+ * Параллельно загружает календари окна лет вокруг текущего года в {@link DayStatusService}
+ * и выполняет серию синтетических расчётов по дням и по датам, чтобы JIT скомпилировал горячие пути.
+ * <p>
+ * Spring Boot переводит приложение в состояние готовности ({@code ReadinessState.ACCEPTING_TRAFFIC})
+ * только после завершения всех {@link ApplicationRunner}, поэтому балансировщик не направит
+ * трафик на экземпляр, который ещё не прогрет
+ */
+@Component
+@ConditionalOnProperty(name = "warmup.enabled", havingValue = "true", matchIfMissing = true)
+public class WarmUpRunner implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(WarmUpRunner.class);
+
+    /**
+     * Сервис для определения рабочих и нерабочих дней
+     */
+    private final DayStatusService dayStatusService;
+
+    /**
+     * Сервис расчёта отпускных, обслуживающий запросы
+     */
+    private final VacationPayService vacationPayService;
+
+    /**
+     * Количество лет до текущего, календари которых загружаются при запуске
+     */
+    private final int yearsBefore;
+
+    /**
+     * Количество лет после текущего, календари которых загружаются при запуске
+     */
+    private final int yearsAfter;
+
+    /**
+     * Количество синтетических расчётов каждого вида
+     */
+    private final int iterations;
+
+    /**
+     * Максимальное время ожидания загрузки календарей в секундах
+     */
+    private final long timeoutSeconds;
+
+    /**
+     * Конструктор фазы прогрева
+     *
+     * @param dayStatusService   сервис определения рабочих дней
+     * @param vacationPayService сервис расчёта отпускных
+     * @param yearsBefore        количество лет до текущего
+     * @param yearsAfter         количество лет после текущего
+     * @param iterations         количество синтетических расчётов каждого вида
+     * @param timeoutSeconds     максимальное время ожидания загрузки календарей в секундах
+     */
+    public WarmUpRunner(DayStatusService dayStatusService,
+                        VacationPayService vacationPayService,
+                        @Value("${warmup.years-before:1}") int yearsBefore,
+                        @Value("${warmup.years-after:2}") int yearsAfter,
+                        @Value("${warmup.iterations:10000}") int iterations,
+                        @Value("${warmup.timeout-seconds:30}") long timeoutSeconds) {
+        this.dayStatusService = dayStatusService;
+        this.vacationPayService = vacationPayService;
+        this.yearsBefore = yearsBefore;
+        this.yearsAfter = yearsAfter;
+        this.iterations = iterations;
+        this.timeoutSeconds = timeoutSeconds;
+    }
+
+    /**
+     * Выполняет загрузку календарей и прогрев расчётов
+     *
+     * @param args аргументы запуска приложения
+     */
+    @Override
+    public void run(ApplicationArguments args) {
+        long startTime = System.nanoTime();
+        List<Integer> loadedYears = preloadCalendars(Year.now().getValue());
+        double checksum = warmUpStrategies(loadedYears);
+        logger.info("Прогрев завершён за {} мс: загружено лет {}, контрольная сумма расчётов {}",
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime), loadedYears.size(), checksum);
+    }
+
+    /**
+     * Параллельно загружает календари лет с {@code currentYear - yearsBefore} по {@code currentYear + yearsAfter}.
+     * Ошибки загрузки только логируются: такие годы будут загружены при первом запросе
+     *
+     * @param currentYear текущий год
+     * @return годы, календари которых удалось загрузить
+     */
+    List<Integer> preloadCalendars(int currentYear) {
+        List<Integer> years = new ArrayList<>();
+        List<Callable<Integer>> tasks = new ArrayList<>();
+        for (int year = currentYear - yearsBefore; year <= currentYear + yearsAfter; year++) {
+            int loadingYear = year;
+            years.add(loadingYear);
+            tasks.add(() -> dayStatusService.getYearCalendar(loadingYear).getYear());
+        }
+        if (tasks.isEmpty()) {
+            return years;
+        }
+
+        List<Integer> loadedYears = new ArrayList<>();
+        ExecutorService executor = Executors.newFixedThreadPool(tasks.size());
+        try {
+            List<Future<Integer>> results = executor.invokeAll(tasks, timeoutSeconds, TimeUnit.SECONDS);
+            for (int i = 0; i < results.size(); i++) {
+                try {
+                    loadedYears.add(results.get(i).get());
+                } catch (ExecutionException e) {
+                    logger.warn("Не удалось загрузить календарь {} года при запуске: {}",
+                            years.get(i), e.getCause().getMessage());
+                } catch (CancellationException e) {
+                    logger.warn("Загрузка календаря {} года при запуске не завершилась вовремя", years.get(i));
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            executor.shutdownNow();
+        }
+        return loadedYears;
+    }
+
+    /**
+     * Выполняет синтетические расчёты по дням и по датам внутри загруженных лет.
+     * На время расчётов обращения к кешу календарей не учитываются в метрике {@code calendar.cache.gets}
+     *
+     * @param loadedYears годы с загруженными календарями
+     * @return сумма результатов, не позволяющая JIT отбросить расчёты
+     */
+    double warmUpStrategies(List<Integer> loadedYears) {
+        double checksum = 0;
+        dayStatusService.setCacheGetsRecorded(false);
+        try {
+            for (int i = 0; i < iterations; i++) {
+                checksum += vacationPayService.calculateByDays(50000.0 + i, 1 + i % 28);
+
+                if (!loadedYears.isEmpty()) {
+                    int year = loadedYears.get(i % loadedYears.size());
+                    LocalDate startDate = LocalDate.ofYearDay(year, 1 + i % 300);
+                    checksum += vacationPayService.calculateByDates(50000.0 + i, startDate, startDate.plusDays(i % 28));
+                }
+            }
+        } finally {
+            dayStatusService.setCacheGetsRecorded(true);
+        }
+        return checksum;
+    }
+}
@@ -0,0 +1,69 @@
+package neoflex.tracing;
+
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.context.Scope;
+import reactor.util.context.ContextView;
+
+import java.util.function.Function;
+
+/**
+ * Передача контекста трассировки OpenTelemetry через контекст Reactor.
+ * Контекст OpenTelemetry хранится в потоке и теряется при переходе цепочки {@link reactor.core.publisher.Mono}
+ * на другой поток, поэтому при подписке он записывается в контекст Reactor,
+ * откуда его читает, например, {@link TracingExchangeFilterFunction}.
+ * Span этапов расчёта создаются только внутри уже начатой трассы ({@link #isTracing()}),
+ * поэтому синтетические расчёты прогрева не порождают отдельных трасс, а вне трассы
+ * не создаются ни построители span, ни их атрибуты
+ */
+public final class TracingContext {
+
+    /**
+     * Ключ контекста трассировки в контексте Reactor
+     */
+    private static final Object KEY = Context.class;
+
+    private TracingContext() {
+    }
+
+    /**
+     * Записывает контекст трассировки в контекст Reactor, используется в {@code contextWrite}
+     *
+     * @param context контекст трассировки
+     * @return функция изменения контекста Reactor
+     */
+    public static Function<reactor.util.context.Context, reactor.util.context.Context> with(Context context) {
+        return reactorContext -> reactorContext.put(KEY, context);
+    }
+
+    /**
+     * Проверяет, есть ли в текущем потоке трасса, например span входящего запроса.
+     * Вызывается до создания построителя span, чтобы вне трассы не тратить время на span и его атрибуты
+     *
+     * @return true — если в текущем потоке есть трасса
+     */
+    public static boolean isTracing() {
+        return Span.current().getSpanContext().isValid();
+    }
+
+    /**
+     * Делает span текущим, если он записывается; для span без записи ({@link Span#getInvalid()})
+     * контекст потока не меняется
+     *
+     * @param span span
+     * @return область действия span, закрываемая по завершении этапа
+     */
+    public static Scope makeCurrent(Span span) {
+        return span.getSpanContext().isValid() ? span.makeCurrent() : Scope.noop();
+    }
+
+    /**
+     * Читает контекст трассировки из контекста Reactor
+     *
+     * @param reactorContext контекст Reactor
+     * @return записанный контекст трассировки или контекст текущего потока, если он не записан
+     */
+    public static Context from(ContextView reactorContext) {
+        return reactorContext.getOrDefault(KEY, Context.current());
+    }
+}
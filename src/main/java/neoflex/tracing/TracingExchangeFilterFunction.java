@@ -0,0 +1,80 @@
+package neoflex.tracing;
+
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.context.propagation.TextMapPropagator;
+import io.opentelemetry.context.propagation.TextMapSetter;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+
+/**
+ * Фильтр {@link org.springframework.web.reactive.function.client.WebClient}, создающий на каждый исходящий запрос
+ * span вида CLIENT и передающий контекст трассировки внешнему сервису в заголовке {@code traceparent} (W3C Trace Context).
+ * Родительский контекст берётся из контекста Reactor ({@link TracingContext}), а при его отсутствии — из текущего потока.
+ * Span завершается при получении ответа или ошибки и содержит метод, адрес и код ответа
+ */
+public class TracingExchangeFilterFunction implements ExchangeFilterFunction {
+
+    /**
+     * Запись заголовков контекста трассировки в исходящий запрос
+     */
+    private static final TextMapSetter<ClientRequest.Builder> HEADER_SETTER = (request, name, value) -> {
+        if (request != null) {
+            request.header(name, value);
+        }
+    };
+
+    /**
+     * Трассировщик
+     */
+    private final Tracer tracer;
+
+    /**
+     * Формат передачи контекста трассировки в заголовках
+     */
+    private final TextMapPropagator propagator;
+
+    /**
+     * Конструктор фильтра
+     *
+     * @param tracer     трассировщик
+     * @param propagator формат передачи контекста трассировки в заголовках
+     */
+    public TracingExchangeFilterFunction(Tracer tracer, TextMapPropagator propagator) {
+        this.tracer = tracer;
+        this.propagator = propagator;
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        return Mono.deferContextual(reactorContext -> {
+            Context parent = TracingContext.from(reactorContext);
+            Span span = tracer.spanBuilder("HTTP " + request.method().name())
+                    .setParent(parent)
+                    .setSpanKind(SpanKind.CLIENT)
+                    .setAttribute("http.method", request.method().name())
+                    .setAttribute("http.url", request.url().toString())
+                    .startSpan();
+            ClientRequest.Builder traced = ClientRequest.from(request);
+            propagator.inject(parent.with(span), traced, HEADER_SETTER);
+            return next.exchange(traced.build())
+                    .doOnSuccess(response -> {
+                        if (response != null) {
+                            int status = response.rawStatusCode();
+                            span.setAttribute("http.status_code", status);
+                            if (status >= 400) {
+                                span.setStatus(StatusCode.ERROR);
+                            }
+                        }
+                    })
+                    .doOnError(e -> span.recordException(e).setStatus(StatusCode.ERROR))
+                    .doFinally(signal -> span.end());
+        });
+    }
+}
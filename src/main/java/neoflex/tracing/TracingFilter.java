@@ -0,0 +1,174 @@
+package neoflex.tracing;
+
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.context.Scope;
+import io.opentelemetry.context.propagation.TextMapGetter;
+import io.opentelemetry.context.propagation.TextMapPropagator;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Collections;
+
+/**
+ * Фильтр входящих HTTP-запросов, создающий на каждый запрос span вида SERVER.
+ * Контекст трассировки вызывающей стороны читается из заголовка {@code traceparent}.
+ * Span остаётся текущим на всё время обработки запроса, включая запись метрики {@code http.server.requests},
+ * поэтому фильтр регистрируется раньше фильтра метрик, и гистограммы Prometheus получают exemplar с идентификатором трассы.
+ * Span асинхронного запроса завершается по окончании асинхронной обработки.
+ * Имя span — метод и шаблон пути обработчика (например, {@code GET /calendar/{year}}), известный только после
+ * выбора обработчика, поэтому span переименовывается по завершении цепочки фильтров; без шаблона имя — только метод.
+ * Так количество различных имён span ограничено количеством endpoint, а фактический путь записывается
+ * в атрибут {@code http.target}
+ */
+public class TracingFilter extends OncePerRequestFilter {
+
+    /**
+     * Чтение заголовков контекста трассировки из входящего запроса
+     */
+    private static final TextMapGetter<HttpServletRequest> HEADER_GETTER = new TextMapGetter<HttpServletRequest>() {
+        @Override
+        public Iterable<String> keys(HttpServletRequest request) {
+            return Collections.list(request.getHeaderNames());
+        }
+
+        @Override
+        public String get(HttpServletRequest request, String name) {
+            return request == null ? null : request.getHeader(name);
+        }
+    };
+
+    /**
+     * Трассировщик
+     */
+    private final Tracer tracer;
+
+    /**
+     * Формат передачи контекста трассировки в заголовках
+     */
+    private final TextMapPropagator propagator;
+
+    /**
+     * Конструктор фильтра
+     *
+     * @param tracer     трассировщик
+     * @param propagator формат передачи контекста трассировки в заголовках
+     */
+    public TracingFilter(Tracer tracer, TextMapPropagator propagator) {
+        this.tracer = tracer;
+        this.propagator = propagator;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        Context parent = propagator.extract(Context.root(), request, HEADER_GETTER);
+        Span span = tracer.spanBuilder(request.getMethod())
+                .setParent(parent)
+                .setSpanKind(SpanKind.SERVER)
+                .setAttribute("http.method", request.getMethod())
+                .setAttribute("http.target", request.getRequestURI())
+                .startSpan();
+        boolean async = false;
+        try (Scope ignored = parent.with(span).makeCurrent()) {
+            chain.doFilter(request, response);
+            async = request.isAsyncStarted();
+        } catch (IOException | ServletException | RuntimeException e) {
+            span.recordException(e).setStatus(StatusCode.ERROR);
+            throw e;
+        } finally {
+            nameByRoute(span, request);
+            if (async) {
+                request.getAsyncContext().addListener(new EndSpanListener(span, response));
+            } else {
+                end(span, response);
+            }
+        }
+    }
+
+    /**
+     * Переименовывает span по шаблону пути выбранного обработчика, если обработчик был выбран
+     *
+     * @param span    span запроса
+     * @param request запрос
+     */
+    private static void nameByRoute(Span span, HttpServletRequest request) {
+        Object route = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        if (route != null) {
+            span.updateName(request.getMethod() + " " + route);
+            span.setAttribute("http.route", route.toString());
+        }
+    }
+
+    /**
+     * Записывает код ответа и завершает span
+     *
+     * @param span     span запроса
+     * @param response ответ
+     */
+    private static void end(Span span, HttpServletResponse response) {
+        int status = response.getStatus();
+        span.setAttribute("http.status_code", status);
+        if (status >= 500) {
+            span.setStatus(StatusCode.ERROR);
+        }
+        span.end();
+    }
+
+    /**
+     * Завершает span асинхронного запроса по окончании его обработки
+     */
+    private static final class EndSpanListener implements AsyncListener {
+
+        /**
+         * Span запроса
+         */
+        private final Span span;
+
+        /**
+         * Ответ
+         */
+        private final HttpServletResponse response;
+
+        /**
+         * @param span     span запроса
+         * @param response ответ
+         */
+        private EndSpanListener(Span span, HttpServletResponse response) {
+            this.span = span;
+            this.response = response;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            end(span, response);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            span.setStatus(StatusCode.ERROR, "timeout");
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            if (event.getThrowable() != null) {
+                span.recordException(event.getThrowable());
+            }
+            span.setStatus(StatusCode.ERROR);
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+}
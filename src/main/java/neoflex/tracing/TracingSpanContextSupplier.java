@@ -0,0 +1,34 @@
+package neoflex.tracing;
+
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanContext;
+import io.prometheus.client.exemplars.tracer.common.SpanContextSupplier;
+
+/**
+ * Источник идентификаторов текущей трассы для exemplar гистограмм Prometheus.
+ * Spring Boot подключает exemplar к метрикам, если в контексте есть бин {@link SpanContextSupplier}:
+ * тогда медленное значение в гистограмме {@code http.server.requests} ссылается на трассу запроса,
+ * по которой видно, на каком этапе было потрачено время. Для трасс, не попавших в выборку, exemplar не создаётся
+ */
+public class TracingSpanContextSupplier implements SpanContextSupplier {
+
+    @Override
+    public String getTraceId() {
+        SpanContext context = sampledContext();
+        return context != null ? context.getTraceId() : null;
+    }
+
+    @Override
+    public String getSpanId() {
+        SpanContext context = sampledContext();
+        return context != null ? context.getSpanId() : null;
+    }
+
+    /**
+     * @return контекст текущего span, если он попал в выборку, иначе null
+     */
+    private static SpanContext sampledContext() {
+        SpanContext context = Span.current().getSpanContext();
+        return context.isValid() && context.isSampled() ? context : null;
+    }
+}
@@ -0,0 +1,61 @@
+package neoflex.web.controller;
+
+import neoflex.domain.service.BulkCalculationService;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * REST-контроллер для пакетного расчёта отпускных.
+ * Принимает поток запросов в формате NDJSON и возвращает результаты потоком по мере расчёта
+ */
+@RestController
+public class BulkCalculationController {
+
+    /**
+     * Сервис пакетного расчёта отпускных
+     */
+    private final BulkCalculationService bulkCalculationService;
+
+    /**
+     * Конструктор контроллера пакетного расчёта
+     *
+     * @param bulkCalculationService сервис пакетного расчёта
+     */
+    public BulkCalculationController(BulkCalculationService bulkCalculationService) {
+        this.bulkCalculationService = bulkCalculationService;
+    }
+
+    /**
+     * HTTP POST endpoint для пакетного расчёта отпускных.
+     * Каждая строка тела — JSON-объект с полями {@code id}, {@code averageSalary}, {@code vacationDays},
+     * {@code startDate}, {@code endDate}; каждая строка ответа — JSON-объект с номером строки
+     * и суммой отпускных ({@code pay}) либо описанием ошибки ({@code error})
+     *
+     * @param body тело запроса
+     * @return поток результатов в формате NDJSON
+     */
+    @PostMapping(value = "/calculate/bulk",
+            consumes = MediaType.APPLICATION_NDJSON_VALUE,
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> calculateBulk(InputStream body) {
+        StreamingResponseBody results = outputStream -> {
+            BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+            Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+            bulkCalculationService.calculate(reader, writer);
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(results);
+    }
+}
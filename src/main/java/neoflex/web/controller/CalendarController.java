@@ -0,0 +1,228 @@
+package neoflex.web.controller;
+
+import neoflex.domain.calendar.CalendarCountries;
+import neoflex.domain.calendar.CalendarRange;
+import neoflex.domain.calendar.YearCalendar;
+import neoflex.domain.model.CalendarDays;
+import neoflex.domain.model.WorkDaysRange;
+import neoflex.domain.model.WorkDaysResult;
+import neoflex.domain.service.DayStatusService;
+import neoflex.domain.strategy.PayValidation;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * REST-контроллер для чтения производственного календаря и количества рабочих дней без расчёта отпускных.
+ * Ответы GET помечаются строгим ETag — версией календарей, по которым они построены, — и заголовком Cache-Control,
+ * поэтому клиенты и CDN повторно проверяют их условным запросом и получают 304, пока календарь не изменился.
+ * Страна календаря задаётся параметром {@code country}, по умолчанию используется страна по умолчанию
+ */
+@RestController
+public class CalendarController {
+
+    /**
+     * Сообщение об ошибке для пакетного запроса с неуказанными датами
+     */
+    static final String RANGE_DATES_MISSING = "Даты начала и конца диапазона не указаны!";
+
+    /**
+     * Сервис для определения рабочих и нерабочих дней
+     */
+    private final DayStatusService dayStatusService;
+
+    /**
+     * Поддерживаемые страны
+     */
+    private final CalendarCountries countries;
+
+    /**
+     * Заголовок Cache-Control для ответов по точным календарям
+     */
+    private final CacheControl cacheControl;
+
+    /**
+     * Максимальное количество диапазонов в пакетном запросе
+     */
+    private final int maxBatchSize;
+
+    /**
+     * Конструктор контроллера календаря
+     *
+     * @param dayStatusService сервис определения рабочих дней
+     * @param countries        поддерживаемые страны
+     * @param maxAge           время, в течение которого ответ можно использовать без повторной проверки
+     * @param maxBatchSize     максимальное количество диапазонов в пакетном запросе
+     */
+    public CalendarController(DayStatusService dayStatusService, CalendarCountries countries,
+                              @Value("${calendar.http.max-age:1h}") Duration maxAge,
+                              @Value("${workdays.batch.max-size:1000}") int maxBatchSize) {
+        this.dayStatusService = dayStatusService;
+        this.countries = countries;
+        this.cacheControl = CacheControl.maxAge(maxAge).cachePublic();
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    /**
+     * HTTP GET endpoint, возвращающий производственный календарь года
+     *
+     * @param year    год
+     * @param country код страны, по умолчанию — страна по умолчанию
+     * @param request запрос, по заголовку If-None-Match которого проверяется актуальность копии клиента
+     * @return календарь года или 304, если версия у клиента совпадает с текущей
+     * @throws IllegalArgumentException если страна или год не поддерживаются
+     */
+    @GetMapping("/calendar/{year}")
+    public ResponseEntity<CalendarDays> getCalendar(@PathVariable int year,
+                                                    @RequestParam(required = false) String country,
+                                                    WebRequest request) {
+        String code = countries.resolve(country);
+        YearCalendar calendar = dayStatusService.getYearCalendar(code, year);
+        String eTag = eTag(calendar.getFingerprint());
+        CacheControl cacheControl = cacheControl(calendar.isApproximate());
+        if (request.checkNotModified(eTag)) {
+            return notModified(eTag, cacheControl);
+        }
+        return ResponseEntity.ok()
+                .eTag(eTag)
+                .cacheControl(cacheControl)
+                .body(CalendarDays.of(code, calendar));
+    }
+
+    /**
+     * HTTP GET endpoint, возвращающий количество рабочих дней в диапазоне дат включительно
+     *
+     * @param start   дата начала диапазона (в формате ISO, например, 2024-01-01)
+     * @param end     дата окончания диапазона (в формате ISO)
+     * @param country код страны, по умолчанию — страна по умолчанию
+     * @param request запрос, по заголовку If-None-Match которого проверяется актуальность копии клиента
+     * @return количество рабочих дней или 304, если версия у клиента совпадает с текущей;
+     * в этом случае рабочие дни не подсчитываются
+     * @throws IllegalArgumentException если даты некорректны, страна или годы не поддерживаются
+     */
+    @GetMapping("/workdays")
+    public ResponseEntity<WorkDaysResult> getWorkDays(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate start,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate end,
+            @RequestParam(required = false) String country,
+            WebRequest request) {
+        String code = countries.resolve(country);
+        validate(start, end);
+        CalendarRange range = dayStatusService.getCalendarRange(code, start, end);
+        String eTag = eTag(range.getVersion());
+        CacheControl cacheControl = cacheControl(range.isApproximate());
+        if (request.checkNotModified(eTag)) {
+            return notModified(eTag, cacheControl);
+        }
+        return ResponseEntity.ok()
+                .eTag(eTag)
+                .cacheControl(cacheControl)
+                .body(toResult(code, range));
+    }
+
+    /**
+     * HTTP POST endpoint, возвращающий количество рабочих дней для нескольких диапазонов дат за один запрос.
+     * Ответы на POST не кешируются, поэтому версия календарей возвращается в каждом результате
+     *
+     * @param ranges диапазоны дат
+     * @return количество рабочих дней по каждому диапазону в порядке запроса
+     * @throws IllegalArgumentException если диапазонов слишком много, даты некорректны, страны или годы не поддерживаются
+     */
+    @PostMapping("/workdays")
+    public List<WorkDaysResult> getWorkDaysBatch(@RequestBody List<WorkDaysRange> ranges) {
+        if (ranges.size() > maxBatchSize) {
+            throw new IllegalArgumentException("Количество диапазонов в запросе не может превышать " + maxBatchSize + "!");
+        }
+        List<String> codes = new ArrayList<>(ranges.size());
+        for (WorkDaysRange range : ranges) {
+            if (range.getStart() == null || range.getEnd() == null) {
+                throw new IllegalArgumentException(RANGE_DATES_MISSING);
+            }
+            codes.add(countries.resolve(range.getCountry()));
+            validate(range.getStart(), range.getEnd());
+        }
+        List<WorkDaysResult> results = new ArrayList<>(ranges.size());
+        for (int i = 0; i < ranges.size(); i++) {
+            WorkDaysRange range = ranges.get(i);
+            results.add(toResult(codes.get(i),
+                    dayStatusService.getCalendarRange(codes.get(i), range.getStart(), range.getEnd())));
+        }
+        return results;
+    }
+
+    /**
+     * Проверяет диапазон дат до обращения к календарям
+     *
+     * @param start дата начала диапазона
+     * @param end   дата окончания диапазона
+     * @throws IllegalArgumentException если даты некорректны или годы не поддерживаются
+     */
+    private void validate(LocalDate start, LocalDate end) {
+        PayValidation.checkVacationDates(start, end);
+        dayStatusService.checkSupportedYears(start, end);
+    }
+
+    /**
+     * Подсчитывает рабочие дни в диапазоне дат. Количество, признак приблизительного календаря и версия
+     * берутся из одних и тех же календарей лет диапазона, поэтому ETag всегда соответствует телу ответа,
+     * даже если календарь обновится во время обработки запроса
+     *
+     * @param country код страны
+     * @param range   календари лет диапазона
+     * @return количество рабочих дней с версией календарей
+     */
+    private static WorkDaysResult toResult(String country, CalendarRange range) {
+        return new WorkDaysResult(country, range.getStartDate(), range.getEndDate(), range.countWorkDays(),
+                range.isApproximate(), range.getVersion());
+    }
+
+    /**
+     * Формирует ответ 304 с теми же заголовками ETag и Cache-Control, что и у полного ответа,
+     * чтобы клиент и CDN продлили срок хранения своей копии
+     *
+     * @param eTag         значение заголовка ETag
+     * @param cacheControl заголовок Cache-Control
+     * @return ответ 304 без тела
+     */
+    private static <T> ResponseEntity<T> notModified(String eTag, CacheControl cacheControl) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .eTag(eTag)
+                .cacheControl(cacheControl)
+                .build();
+    }
+
+    /**
+     * Возвращает заголовок Cache-Control. Приблизительный календарь будет заменён при первой возможности,
+     * поэтому ответ по нему клиент должен проверять при каждом использовании
+     *
+     * @param approximate признак приблизительного календаря
+     * @return заголовок Cache-Control
+     */
+    private CacheControl cacheControl(boolean approximate) {
+        return approximate ? CacheControl.noCache() : cacheControl;
+    }
+
+    /**
+     * Формирует строгий ETag из версии календарей
+     *
+     * @param version версия календарей
+     * @return значение заголовка ETag
+     */
+    private static String eTag(String version) {
+        return "\"" + version + "\"";
+    }
+}
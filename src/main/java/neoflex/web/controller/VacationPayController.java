@@ -1,35 +1,94 @@
 package neoflex.web.controller;
 
-import neoflex.domain.strategy.PayStrategyBuilder;
-import org.springframework.beans.factory.ObjectFactory;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import neoflex.domain.model.VacationPayResult;
+import neoflex.domain.service.VacationPayService;
+import neoflex.domain.strategy.PayStrategyByDates;
+import neoflex.domain.strategy.PayStrategyByDays;
+import neoflex.domain.strategy.ValidationError;
+import neoflex.web.exception.GlobalExceptionHandler;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
 
 import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
 
 /**
  * REST-контроллер для расчёта отпускных
- * Предоставляет endpoint для получения суммы отпускных по зарплате и количеству дней или датам отпуска
+ * Предоставляет endpoint для получения суммы отпускных по зарплате и количеству дней или датам отпуска.
+ * Расчёт выполняет {@link VacationPayService}, общий для всех запросов, поэтому на запрос не создаются
+ * ни билдер, ни стратегия. Время расчёта учитывается в таймере {@value #CALCULATION_METRIC}
+ * с тегом {@code strategy}: {@code PayStrategyByDays} или {@code PayStrategyByDates}.
+ * Некорректные данные — ожидаемый исход, а не исключительная ситуация: они проверяются до расчёта,
+ * и запрос отклоняется ответом 400 с заранее созданным телом {@link ValidationError} без создания исключения.
+ * Время отклонения учитывается в таймере {@value #REJECTION_METRIC}
  */
 @RestController
 @RequestMapping("")
 public class VacationPayController {
 
     /**
-     * Фабрика для создания новых экземпляров {@link PayStrategyBuilder}
+     * Заголовок ответа, сообщающий, что расчёт выполнен по приблизительному календарю
+     * без учёта праздников, так как производственный календарь был недоступен
      */
-    private final ObjectFactory<PayStrategyBuilder> builderFactory;
+    public static final String APPROXIMATE_HEADER = "X-Calendar-Approximate";
 
     /**
-     * Конструктор контроллера с внедрением зависимости {@link PayStrategyBuilder} через ObjectFactory
+     * Имя таймера расчёта отпускных
+     */
+    public static final String CALCULATION_METRIC = "vacation.pay.calculation";
+
+    /**
+     * Имя таймера отклонения запросов с некорректными данными
+     */
+    public static final String REJECTION_METRIC = "vacation.pay.rejection";
+
+    /**
+     * Сервис расчёта отпускных
+     */
+    private final VacationPayService vacationPayService;
+
+    /**
+     * Таймер расчёта по количеству дней
+     */
+    private final Timer byDaysTimer;
+
+    /**
+     * Таймер расчёта по датам
+     */
+    private final Timer byDatesTimer;
+
+    /**
+     * Таймер отклонения запросов с некорректными данными
+     */
+    private final Timer rejectionTimer;
+
+    /**
+     * Счётчик ошибок проверки данных, общий с {@link GlobalExceptionHandler}
+     */
+    private final Counter validationErrors;
+
+    /**
+     * Конструктор контроллера
      *
-     * @param builderFactory фабрика билдера стратегии расчёта
+     * @param vacationPayService сервис расчёта отпускных
+     * @param meterRegistry      реестр метрик
      */
-    public VacationPayController(ObjectFactory<PayStrategyBuilder> builderFactory) {
-        this.builderFactory = builderFactory;
+    public VacationPayController(VacationPayService vacationPayService, MeterRegistry meterRegistry) {
+        this.vacationPayService = vacationPayService;
+        this.byDaysTimer = calculationTimer(meterRegistry, PayStrategyByDays.class);
+        this.byDatesTimer = calculationTimer(meterRegistry, PayStrategyByDates.class);
+        this.rejectionTimer = Timer.builder(REJECTION_METRIC)
+                .description("Время отклонения запросов с некорректными данными")
+                .register(meterRegistry);
+        this.validationErrors = meterRegistry.counter(GlobalExceptionHandler.ERRORS_METRIC, "type", "validation");
     }
 
     /**
@@ -40,20 +99,148 @@ public class VacationPayController {
      * @param vacationDays  количество дней отпуска (опционально)
      * @param startDate     дата начала отпуска (опционально, в формате ISO, например, 2024-01-01)
      * @param endDate       дата окончания отпуска (опционально, в формате ISO)
-     * @return рассчитанная сумма отпускных
-     * @throws IllegalArgumentException если недостаточно данных или данные некорректны
+     * @param country       код страны производственного календаря (опционально, по умолчанию — страна по умолчанию)
+     * @return рассчитанная сумма отпускных; заголовок {@value #APPROXIMATE_HEADER}, если расчёт приблизительный;
+     * ответ 400 с сообщением и кодом ошибки, если недостаточно данных или данные некорректны
+     * @throws IllegalArgumentException если страна не поддерживается
      */
     @GetMapping("/calculate")
-    public double calculateVacationPay(
+    public ResponseEntity<?> calculateVacationPay(
+            @RequestParam Double averageSalary,
+            @RequestParam(required = false) Integer vacationDays,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) String country) {
+        long startTime = System.nanoTime();
+        ValidationError error = validate(averageSalary, vacationDays, startDate, endDate);
+        if (error != null) {
+            return reject(error, startTime);
+        }
+        double salary = averageSalary;
+        if (startDate != null && endDate != null) {
+            try {
+                return toResponse(vacationPayService.calculateResultByDates(country, salary, startDate, endDate));
+            } finally {
+                byDatesTimer.record(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
+            }
+        }
+        try {
+            return toResponse(vacationPayService.calculateByDays(salary, vacationDays), false);
+        } finally {
+            byDaysTimer.record(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Неблокирующий вариант {@link #calculateVacationPay}.
+     * Поток обработки запроса освобождается сразу после проверки данных,
+     * а ответ отправляется по завершении загрузки недостающих календарей
+     *
+     * @param averageSalary средняя зарплата за 12 месяцев (обязательный параметр)
+     * @param vacationDays  количество дней отпуска (опционально)
+     * @param startDate     дата начала отпуска (опционально, в формате ISO, например, 2024-01-01)
+     * @param endDate       дата окончания отпуска (опционально, в формате ISO)
+     * @param country       код страны производственного календаря (опционально, по умолчанию — страна по умолчанию)
+     * @return рассчитанная сумма отпускных; заголовок {@value #APPROXIMATE_HEADER}, если расчёт приблизительный;
+     * ответ 400 с сообщением и кодом ошибки, если недостаточно данных или данные некорректны
+     * @throws IllegalArgumentException если страна не поддерживается
+     */
+    @GetMapping("/reactive/calculate")
+    public Mono<ResponseEntity<?>> calculateVacationPayAsync(
             @RequestParam Double averageSalary,
             @RequestParam(required = false) Integer vacationDays,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
-            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
-        return builderFactory.getObject()
-                .withAverageSalary(averageSalary)
-                .withVacationDays(vacationDays)
-                .withStartEndDates(startDate, endDate)
-                .build()
-                .calculate();
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) String country) {
+        long startTime = System.nanoTime();
+        ValidationError error = validate(averageSalary, vacationDays, startDate, endDate);
+        if (error != null) {
+            return Mono.just(reject(error, startTime));
+        }
+        double salary = averageSalary;
+        if (startDate != null && endDate != null) {
+            return vacationPayService.calculateResultByDatesAsync(country, salary, startDate, endDate)
+                    .doFinally(signal -> byDatesTimer.record(System.nanoTime() - startTime, TimeUnit.NANOSECONDS))
+                    .map(VacationPayController::toResponse);
+        }
+        try {
+            return Mono.just(toResponse(vacationPayService.calculateByDays(salary, vacationDays), false));
+        } finally {
+            byDaysTimer.record(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Проверяет данные запроса так же, как {@link neoflex.domain.strategy.PayStrategyBuilder#validate()}
+     *
+     * @param averageSalary средняя зарплата
+     * @param vacationDays  количество дней отпуска
+     * @param startDate     дата начала отпуска
+     * @param endDate       дата окончания отпуска
+     * @return первая найденная ошибка проверки или null, если данных достаточно и они корректны
+     */
+    private ValidationError validate(Double averageSalary, Integer vacationDays, LocalDate startDate, LocalDate endDate) {
+        if (averageSalary == null) {
+            return ValidationError.AVERAGE_SALARY_MISSING;
+        }
+        if (startDate != null && endDate != null) {
+            return vacationPayService.validateByDates(averageSalary, startDate, endDate);
+        }
+        if (vacationDays != null) {
+            return vacationPayService.validateByDays(averageSalary, vacationDays);
+        }
+        return ValidationError.INSUFFICIENT_DATA;
+    }
+
+    /**
+     * Формирует ответ 400 с заранее созданным телом ошибки и учитывает отклонение в метриках
+     *
+     * @param error     ошибка проверки
+     * @param startTime момент начала обработки запроса в наносекундах
+     * @return ответ с сообщением и кодом ошибки
+     */
+    private ResponseEntity<?> reject(ValidationError error, long startTime) {
+        validationErrors.increment();
+        rejectionTimer.record(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
+        return ResponseEntity.badRequest().body(error.getBody());
+    }
+
+    /**
+     * Формирует ответ с суммой отпускных, рассчитанной по датам
+     *
+     * @param result сумма отпускных с признаком приблизительного расчёта
+     * @return ответ с суммой отпускных
+     */
+    private static ResponseEntity<Double> toResponse(VacationPayResult result) {
+        return toResponse(result.getPay(), result.isApproximate());
+    }
+
+    /**
+     * Формирует ответ с суммой отпускных и признаком приблизительного расчёта
+     *
+     * @param pay         рассчитанная сумма отпускных
+     * @param approximate признак расчёта по приблизительному календарю
+     * @return ответ с суммой отпускных
+     */
+    private static ResponseEntity<Double> toResponse(double pay, boolean approximate) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (approximate) {
+            response.header(APPROXIMATE_HEADER, Boolean.TRUE.toString());
+        }
+        return response.body(pay);
+    }
+
+    /**
+     * Регистрирует таймер расчёта для стратегии
+     *
+     * @param meterRegistry реестр метрик
+     * @param strategy      класс стратегии, имя которого становится тегом {@code strategy}
+     * @return таймер расчёта
+     */
+    private static Timer calculationTimer(MeterRegistry meterRegistry, Class<?> strategy) {
+        return Timer.builder(CALCULATION_METRIC)
+                .description("Время расчёта отпускных")
+                .tag("strategy", strategy.getSimpleName())
+                .register(meterRegistry);
     }
 }
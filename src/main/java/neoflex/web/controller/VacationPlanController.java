@@ -0,0 +1,72 @@
+package neoflex.web.controller;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import neoflex.domain.model.PlanObjective;
+import neoflex.domain.model.VacationPlan;
+import neoflex.domain.service.VacationPlannerService;
+import neoflex.domain.strategy.ValidationError;
+import neoflex.web.exception.GlobalExceptionHandler;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST-контроллер подбора дат отпуска.
+ * Предоставляет endpoint, возвращающий лучшие даты начала отпуска заданной длины в году:
+ * с наибольшей суммой отпускных или с наименьшим расходом рабочих дней.
+ * Некорректные данные отклоняются ответом 400 с заранее созданным телом {@link ValidationError}
+ */
+@RestController
+public class VacationPlanController {
+
+    /**
+     * Сервис подбора дат отпуска
+     */
+    private final VacationPlannerService vacationPlannerService;
+
+    /**
+     * Счётчик ошибок проверки данных, общий с {@link GlobalExceptionHandler}
+     */
+    private final Counter validationErrors;
+
+    /**
+     * Конструктор контроллера
+     *
+     * @param vacationPlannerService сервис подбора дат отпуска
+     * @param meterRegistry          реестр метрик
+     */
+    public VacationPlanController(VacationPlannerService vacationPlannerService, MeterRegistry meterRegistry) {
+        this.vacationPlannerService = vacationPlannerService;
+        this.validationErrors = meterRegistry.counter(GlobalExceptionHandler.ERRORS_METRIC, "type", "validation");
+    }
+
+    /**
+     * HTTP GET endpoint подбора дат начала отпуска
+     *
+     * @param averageSalary средняя зарплата за 12 месяцев
+     * @param year          год начала отпуска
+     * @param vacationDays  длина отпуска в календарных днях
+     * @param objective     цель подбора: MAX_PAY (по умолчанию) или MIN_WORK_DAYS
+     * @param top           количество вариантов (по умолчанию 5)
+     * @param country       код страны производственного календаря (опционально, по умолчанию — страна по умолчанию)
+     * @return варианты отпуска от лучшего к худшему; ответ 400 с сообщением и кодом ошибки, если данные некорректны
+     * @throws IllegalArgumentException если страна не поддерживается
+     */
+    @GetMapping("/plan")
+    public ResponseEntity<?> plan(@RequestParam double averageSalary,
+                                  @RequestParam int year,
+                                  @RequestParam int vacationDays,
+                                  @RequestParam(defaultValue = "MAX_PAY") PlanObjective objective,
+                                  @RequestParam(defaultValue = "5") int top,
+                                  @RequestParam(required = false) String country) {
+        ValidationError error = vacationPlannerService.validate(averageSalary, year, vacationDays, top);
+        if (error != null) {
+            validationErrors.increment();
+            return ResponseEntity.badRequest().body(error.getBody());
+        }
+        VacationPlan plan = vacationPlannerService.plan(country, averageSalary, year, vacationDays, objective, top);
+        return ResponseEntity.ok(plan);
+    }
+}
@@ -0,0 +1,98 @@
+package neoflex.web.endpoint;
+
+import neoflex.domain.calendar.CalendarRequestRejectedException;
+import neoflex.domain.calendar.TokenBucket;
+import neoflex.domain.model.CalendarSnapshot;
+import neoflex.domain.service.DayStatusService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+/**
+ * Служебный endpoint Actuator для администрирования кеша календарей: {@code GET /actuator/calendar/{year}}
+ * возвращает версию календаря года, используемого в расчётах, {@code POST /actuator/calendar/{year}}
+ * принудительно перезагружает его из источника.
+ * <p>
+ * Endpoint публикуется только на порту управления ({@code management.server.port}), а не на порту приложения.
+ * Перезагрузка обращается к источнику в обход хранилища на диске, поэтому ограничена по частоте
+ * ({@code calendar.admin.reload-rate}, {@code calendar.admin.reload-burst}) и, как и любая загрузка,
+ * проходит через ограничители обращений к источникам
+ */
+@Component
+@Endpoint(id = "calendar")
+public class CalendarEndpoint {
+
+    private static final Logger logger = LoggerFactory.getLogger(CalendarEndpoint.class);
+
+    /**
+     * Сервис для определения рабочих и нерабочих дней
+     */
+    private final DayStatusService dayStatusService;
+
+    /**
+     * Ограничитель частоты принудительных перезагрузок
+     */
+    private final TokenBucket reloadLimiter;
+
+    /**
+     * Конструктор endpoint администрирования календарей
+     *
+     * @param dayStatusService сервис определения рабочих дней
+     * @param reloadRate       допустимое количество перезагрузок в секунду; 0 — без ограничения
+     * @param reloadBurst      допустимое количество перезагрузок подряд
+     */
+    public CalendarEndpoint(DayStatusService dayStatusService,
+                            @Value("${calendar.admin.reload-rate:0.1}") double reloadRate,
+                            @Value("${calendar.admin.reload-burst:5}") int reloadBurst) {
+        this.dayStatusService = dayStatusService;
+        this.reloadLimiter = new TokenBucket(reloadRate, reloadBurst);
+    }
+
+    /**
+     * Возвращает сведения о календаре года, используемом в расчётах
+     *
+     * @param year    год
+     * @param country код страны, по умолчанию — страна по умолчанию
+     * @return сведения о календаре, 404, если календарь года ещё не загружен, или 400 для неподдерживаемой страны
+     */
+    @ReadOperation
+    public WebEndpointResponse<CalendarSnapshot> snapshot(@Selector int year, @Nullable String country) {
+        try {
+            return dayStatusService.getSnapshot(country, year)
+                    .map(WebEndpointResponse::new)
+                    .orElseGet(() -> new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND));
+        } catch (IllegalArgumentException e) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_BAD_REQUEST);
+        }
+    }
+
+    /**
+     * Принудительно перезагружает календарь года из источника
+     *
+     * @param year    год
+     * @param country код страны, по умолчанию — страна по умолчанию
+     * @return сведения о календаре, используемом после перезагрузки; 429, если превышена частота перезагрузок,
+     * 503, если источник отклонил запрос, 400 для неподдерживаемых страны или года
+     */
+    @WriteOperation
+    public WebEndpointResponse<CalendarSnapshot> reload(@Selector int year, @Nullable String country) {
+        if (!reloadLimiter.tryAcquire()) {
+            logger.warn("Перезагрузка календаря {} года отклонена: превышена частота перезагрузок", year);
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_TOO_MANY_REQUESTS);
+        }
+        try {
+            return new WebEndpointResponse<>(dayStatusService.reloadYear(country, year).block());
+        } catch (CalendarRequestRejectedException e) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_SERVICE_UNAVAILABLE);
+        } catch (IllegalArgumentException e) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_BAD_REQUEST);
+        }
+    }
+}
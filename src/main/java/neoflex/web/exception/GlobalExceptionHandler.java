@@ -1,12 +1,18 @@
 package neoflex.web.exception;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import neoflex.domain.calendar.CalendarRequestRejectedException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
 
 import java.util.Map;
@@ -14,12 +20,80 @@ import java.util.Map;
 /**
  * Глобальный обработчик исключений для REST-контроллеров.
  * Возвращает читабельные сообщения об ошибках с соответствующим HTTP-статусом.
+ * Каждая обработанная ошибка учитывается в счётчике {@value #ERRORS_METRIC} с тегом вида ошибки.
  */
 @RestControllerAdvice
 public class GlobalExceptionHandler {
 
     private static final Logger logger = LoggerFactory.getLogger(GlobalExceptionHandler.class);
 
+    /**
+     * Имя счётчика обработанных ошибок
+     */
+    public static final String ERRORS_METRIC = "vacation.pay.errors";
+
+    /**
+     * Рекомендуемая задержка перед повтором запроса, отклонённого из-за перегрузки источника календарей, в секундах
+     */
+    static final String RETRY_AFTER_SECONDS = "1";
+
+    /**
+     * Счётчик некорректных аргументов
+     */
+    private final Counter illegalArgumentErrors;
+
+    /**
+     * Счётчик ошибок недопустимого состояния
+     */
+    private final Counter illegalStateErrors;
+
+    /**
+     * Счётчик отказов перегруженного источника календарей
+     */
+    private final Counter calendarRejectedErrors;
+
+    /**
+     * Счётчик ошибок преобразования параметров запроса
+     */
+    private final Counter typeMismatchErrors;
+
+    /**
+     * Счётчик ошибочных ответов внешнего API
+     */
+    private final Counter upstreamResponseErrors;
+
+    /**
+     * Счётчик ошибок соединения с внешним API
+     */
+    private final Counter upstreamRequestErrors;
+
+    /**
+     * Счётчик непредвиденных ошибок выполнения
+     */
+    private final Counter runtimeErrors;
+
+    /**
+     * Счётчик прочих исключений
+     */
+    private final Counter otherErrors;
+
+    /**
+     * Конструктор обработчика исключений. Счётчики всех видов ошибок регистрируются заранее,
+     * чтобы обработка ошибки не искала счётчик в реестре
+     *
+     * @param meterRegistry реестр метрик
+     */
+    public GlobalExceptionHandler(MeterRegistry meterRegistry) {
+        this.illegalArgumentErrors = errorCounter(meterRegistry, "illegal_argument");
+        this.illegalStateErrors = errorCounter(meterRegistry, "illegal_state");
+        this.calendarRejectedErrors = errorCounter(meterRegistry, "calendar_rejected");
+        this.typeMismatchErrors = errorCounter(meterRegistry, "type_mismatch");
+        this.upstreamResponseErrors = errorCounter(meterRegistry, "upstream_response");
+        this.upstreamRequestErrors = errorCounter(meterRegistry, "upstream_request");
+        this.runtimeErrors = errorCounter(meterRegistry, "runtime");
+        this.otherErrors = errorCounter(meterRegistry, "exception");
+    }
+
     /**
      * Обработка {@link IllegalArgumentException}
      *
@@ -29,6 +103,7 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(IllegalArgumentException.class)
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     public Map<String, String> handleIllegalArgument(IllegalArgumentException e) {
+        illegalArgumentErrors.increment();
         return Map.of("error", e.getMessage());
     }
 
@@ -41,9 +116,25 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(IllegalStateException.class)
     @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
     public Map<String, String> handleIllegalStateException(IllegalStateException e) {
+        illegalStateErrors.increment();
         return Map.of("error", e.getMessage());
     }
 
+    /**
+     * Обработка отказа перегруженного источника календарей.
+     * Клиенту возвращается 503 с заголовком Retry-After, чтобы повтор не усиливал перегрузку
+     *
+     * @param e исключение
+     * @return сообщение об ошибке
+     */
+    @ExceptionHandler(CalendarRequestRejectedException.class)
+    public ResponseEntity<Map<String, String>> handleCalendarRequestRejected(CalendarRequestRejectedException e) {
+        calendarRejectedErrors.increment();
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS)
+                .body(Map.of("error", e.getMessage()));
+    }
+
     /**
      * Обработка ошибок преобразования параметров запроса
      *
@@ -53,6 +144,7 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(MethodArgumentTypeMismatchException.class)
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     public Map<String, String> handleTypeMismatch(MethodArgumentTypeMismatchException e) {
+        typeMismatchErrors.increment();
         return Map.of("error", "Неверный формат параметра: " + e.getName());
     }
 
@@ -65,6 +157,20 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(WebClientResponseException.class)
     @ResponseStatus(HttpStatus.BAD_GATEWAY)
     public Map<String, String> handleWebClientException(WebClientResponseException e) {
+        upstreamResponseErrors.increment();
+        return Map.of("error", "Ошибка при запросе к внешнему API: " + e.getMessage());
+    }
+
+    /**
+     * Обработка ошибок соединения с внешним API при запросах через WebClient
+     *
+     * @param e исключение
+     * @return сообщение об ошибке соединения с внешним API
+     */
+    @ExceptionHandler(WebClientRequestException.class)
+    @ResponseStatus(HttpStatus.BAD_GATEWAY)
+    public Map<String, String> handleWebClientRequestException(WebClientRequestException e) {
+        upstreamRequestErrors.increment();
         return Map.of("error", "Ошибка при запросе к внешнему API: " + e.getMessage());
     }
 
@@ -77,6 +183,7 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(RuntimeException.class)
     @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
     public Map<String, String> handleRuntimeException(RuntimeException e) {
+        runtimeErrors.increment();
         return Map.of("error", "Ошибка сервера: " + e.getMessage());
     }
 
@@ -89,6 +196,18 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(Exception.class)
     @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
     public Map<String, String> handleException(Exception e) {
+        otherErrors.increment();
         return Map.of("error", "Ошибка сервера: " + e.getMessage());
     }
+
+    /**
+     * Регистрирует счётчик ошибок указанного вида
+     *
+     * @param meterRegistry реестр метрик
+     * @param type          вид ошибки
+     * @return счётчик ошибок
+     */
+    private static Counter errorCounter(MeterRegistry meterRegistry, String type) {
+        return meterRegistry.counter(ERRORS_METRIC, "type", type);
+    }
 }
@@ -0,0 +1,97 @@
+package neoflex.domain.calendar;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CalendarStoreTest {
+
+    @TempDir
+    Path directory;
+
+    private CalendarStore calendarStore;
+
+    private final YearCalendar calendar2024 =
+            YearCalendar.parse(2024, "1" + "0".repeat(58) + "2" + "0".repeat(305) + "1");
+
+    @BeforeEach
+    void setUp() {
+        calendarStore = new CalendarStore(true, directory.toString());
+    }
+
+    @Test
+    void read_WhenWritten() {
+        calendarStore.write("RU", calendar2024);
+
+        Optional<YearCalendar> result = calendarStore.read("RU", 2024);
+
+        assertTrue(result.isPresent());
+        assertEquals(2024, result.get().getYear());
+        assertEquals(YearCalendar.SHORT_DAY, result.get().getDayType(60));
+        assertEquals(calendar2024.getWorkDaysCount(), result.get().getWorkDaysCount());
+    }
+
+    @Test
+    void read_WhenMissing() {
+        assertFalse(calendarStore.read("RU", 2025).isPresent());
+    }
+
+    @Test
+    void read_WhenCorrupted() throws Exception {
+        calendarStore.write("RU", calendar2024);
+        Path file = directory.resolve("RU").resolve("2024.cal");
+        byte[] content = Files.readAllBytes(file);
+        content[20] ^= 0x01;
+        Files.write(file, content);
+
+        assertFalse(calendarStore.read("RU", 2024).isPresent());
+        assertFalse(Files.exists(file));
+    }
+
+    @Test
+    void read_WhenOtherFormatVersion() throws Exception {
+        calendarStore.write("RU", calendar2024);
+        Path file = directory.resolve("RU").resolve("2024.cal");
+        byte[] content = Files.readAllBytes(file);
+        content[5] = 2;
+        Files.write(file, content);
+
+        assertFalse(calendarStore.read("RU", 2024).isPresent());
+    }
+
+    @Test
+    void read_WhenDisabled() {
+        CalendarStore disabled = CalendarStore.disabled();
+        disabled.write("RU", calendar2024);
+
+        assertFalse(disabled.read("RU", 2024).isPresent());
+    }
+
+    @Test
+    void read_WhenOtherCountry() {
+        calendarStore.write("RU", calendar2024);
+
+        assertFalse(calendarStore.read("BY", 2024).isPresent());
+        assertTrue(calendarStore.read("RU", 2024).isPresent());
+    }
+
+    @Test
+    void write_WhenMoveFails_ThenTempFileDeleted() throws Exception {
+        Path countryDirectory = directory.resolve("RU");
+        Files.createDirectories(countryDirectory.resolve("2024.cal").resolve("blocked"));
+
+        calendarStore.write("RU", calendar2024);
+
+        try (Stream<Path> files = Files.list(countryDirectory)) {
+            assertEquals(1, files.count());
+        }
+        assertFalse(calendarStore.read("RU", 2024).isPresent());
+    }
+}
@@ -0,0 +1,65 @@
+package neoflex.domain.calendar;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CircuitBreakerTest {
+
+    private final AtomicLong now = new AtomicLong();
+
+    private CircuitBreaker circuitBreaker;
+
+    @BeforeEach
+    void setUp() {
+        circuitBreaker = new CircuitBreaker(2, Duration.ofSeconds(10), now::get);
+    }
+
+    @Test
+    void tryAcquire_WhenFailuresBelowThreshold() {
+        circuitBreaker.onFailure();
+
+        assertTrue(circuitBreaker.tryAcquire());
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+    }
+
+    @Test
+    void tryAcquire_WhenOpen() {
+        circuitBreaker.onFailure();
+        circuitBreaker.onFailure();
+
+        assertFalse(circuitBreaker.tryAcquire());
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+    }
+
+    @Test
+    void tryAcquire_WhenOpenDurationElapsed() {
+        circuitBreaker.onFailure();
+        circuitBreaker.onFailure();
+        now.addAndGet(Duration.ofSeconds(10).toNanos());
+
+        assertTrue(circuitBreaker.tryAcquire());
+        assertFalse(circuitBreaker.tryAcquire());
+        assertEquals(CircuitBreaker.State.HALF_OPEN, circuitBreaker.getState());
+
+        circuitBreaker.onSuccess();
+        assertTrue(circuitBreaker.tryAcquire());
+    }
+
+    @Test
+    void onFailure_WhenHalfOpenProbeFails() {
+        circuitBreaker.onFailure();
+        circuitBreaker.onFailure();
+        now.addAndGet(Duration.ofSeconds(10).toNanos());
+        circuitBreaker.tryAcquire();
+
+        circuitBreaker.onFailure();
+
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+        assertFalse(circuitBreaker.tryAcquire());
+    }
+}
@@ -0,0 +1,80 @@
+package neoflex.domain.calendar;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import reactor.core.publisher.Mono;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class CompositeCalendarProviderTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void getYearCalendar_WhenLocalFileExists() throws Exception {
+        Files.writeString(directory.resolve("2025.txt"), "1".repeat(10) + "0".repeat(355) + "\n");
+        CalendarProvider remote = mock(CalendarProvider.class);
+        CompositeCalendarProvider provider = new CompositeCalendarProvider(
+                List.of(new LocalFileCalendarProvider(directory.toString()), remote));
+
+        YearCalendar result = provider.getYearCalendar("RU", 2025).block();
+
+        assertNotNull(result);
+        assertEquals(355, result.getWorkDaysCount());
+        verifyNoInteractions(remote);
+    }
+
+    @Test
+    void getYearCalendar_WhenLocalFileMissing() {
+        CalendarProvider remote = mock(CalendarProvider.class);
+        when(remote.getYearCalendar("RU", 2025)).thenReturn(Mono.just(YearCalendar.parse(2025, "0".repeat(365))));
+        CompositeCalendarProvider provider = new CompositeCalendarProvider(
+                List.of(new LocalFileCalendarProvider(directory.toString()), remote));
+
+        YearCalendar result = provider.getYearCalendar("RU", 2025).block();
+
+        assertNotNull(result);
+        assertEquals(365, result.getWorkDaysCount());
+    }
+
+    @Test
+    void getYearCalendar_WhenAllProvidersFail() {
+        CalendarProvider remote = mock(CalendarProvider.class);
+        when(remote.getName()).thenReturn("remote");
+        when(remote.getYearCalendar("RU", 2025)).thenReturn(Mono.error(new IllegalStateException("Пустой или некорректный ответ от сервиса!")));
+        CompositeCalendarProvider provider = new CompositeCalendarProvider(
+                List.of(new LocalFileCalendarProvider(directory.toString()), remote));
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> provider.getYearCalendar("RU", 2025).block());
+        assertEquals("Пустой или некорректный ответ от сервиса!", exception.getMessage());
+    }
+
+    @Test
+    void getYearCalendar_WhenNoProviderHasYear() {
+        CompositeCalendarProvider provider = new CompositeCalendarProvider(
+                List.of(new LocalFileCalendarProvider(directory.toString())));
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> provider.getYearCalendar("RU", 2025).block());
+        assertEquals("Календарь страны RU за 2025 год не найден ни в одном источнике!", exception.getMessage());
+    }
+
+    @Test
+    void getYearCalendar_WhenCountryFileExists() throws Exception {
+        Files.createDirectories(directory.resolve("BY"));
+        Files.writeString(directory.resolve("BY").resolve("2025.txt"), "1".repeat(5) + "0".repeat(360));
+        Files.writeString(directory.resolve("2025.txt"), "0".repeat(365));
+        LocalFileCalendarProvider provider = new LocalFileCalendarProvider(directory.toString());
+
+        assertEquals(360, provider.getYearCalendar("BY", 2025).block().getWorkDaysCount());
+        assertEquals(365, provider.getYearCalendar("RU", 2025).block().getWorkDaysCount());
+        assertNull(provider.getYearCalendar("KZ", 2025).block());
+    }
+}
@@ -0,0 +1,94 @@
+package neoflex.domain.calendar;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class ResilientCalendarProviderTest {
+
+    private static final YearCalendar CALENDAR_2025 = YearCalendar.parse(2025, "0".repeat(365));
+
+    private CalendarProvider delegate;
+
+    private CircuitBreaker circuitBreaker;
+
+    private ResilientCalendarProvider provider;
+
+    @BeforeEach
+    void setUp() {
+        delegate = mock(CalendarProvider.class);
+        circuitBreaker = new CircuitBreaker(2, Duration.ofMinutes(1));
+        provider = new ResilientCalendarProvider(delegate, circuitBreaker,
+                Duration.ofMillis(200), Duration.ofSeconds(2), 2, Duration.ofMillis(1), Duration.ofMillis(5), true);
+    }
+
+    @Test
+    void getYearCalendar_WhenTransientErrorThenSuccess() {
+        AtomicInteger attempts = new AtomicInteger();
+        when(delegate.getYearCalendar("RU", 2025)).thenReturn(Mono.defer(() -> attempts.incrementAndGet() == 1
+                ? Mono.error(WebClientResponseException.create(503, "Service Unavailable", null, null, null))
+                : Mono.just(CALENDAR_2025)));
+
+        YearCalendar result = provider.getYearCalendar("RU", 2025).block();
+
+        assertSame(CALENDAR_2025, result);
+        assertEquals(2, attempts.get());
+    }
+
+    @Test
+    void getYearCalendar_WhenUpstreamHangs() {
+        when(delegate.getYearCalendar("RU", 2025)).thenReturn(Mono.never());
+
+        YearCalendar result = provider.getYearCalendar("RU", 2025).block(Duration.ofSeconds(5));
+
+        assertNotNull(result);
+        assertTrue(result.isApproximate());
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+    }
+
+    @Test
+    void getYearCalendar_WhenClientError() {
+        when(delegate.getYearCalendar("RU", 2025)).thenReturn(Mono.error(
+                WebClientResponseException.create(HttpStatus.BAD_REQUEST.value(), "Bad Request", null, null, null)));
+
+        assertThrows(WebClientResponseException.class, () -> provider.getYearCalendar("RU", 2025).block());
+        verify(delegate, times(1)).getYearCalendar("RU", 2025);
+    }
+
+    @Test
+    void getYearCalendar_WhenCircuitOpen() {
+        when(delegate.getYearCalendar(anyString(), anyInt())).thenReturn(Mono.error(
+                WebClientResponseException.create(500, "Internal Server Error", null, null, null)));
+        provider.getYearCalendar("RU", 2025).block();
+        provider.getYearCalendar("RU", 2025).block();
+        clearInvocations(delegate);
+
+        YearCalendar result = provider.getYearCalendar("RU", 2025).block();
+
+        assertNotNull(result);
+        assertTrue(result.isApproximate());
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+        verifyNoInteractions(delegate);
+    }
+
+    @Test
+    void getYearCalendar_WhenUnavailableAfterSuccess_ThenApproximate() {
+        when(delegate.getYearCalendar("RU", 2025))
+                .thenReturn(Mono.just(CALENDAR_2025))
+                .thenReturn(Mono.error(WebClientResponseException.create(502, "Bad Gateway", null, null, null)));
+        provider.getYearCalendar("RU", 2025).block();
+
+        YearCalendar result = provider.getYearCalendar("RU", 2025).block();
+
+        assertNotNull(result);
+        assertTrue(result.isApproximate());
+    }
+}
@@ -0,0 +1,206 @@
+package neoflex.domain.calendar;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class ThrottlingCalendarProviderTest {
+
+    private static final YearCalendar CALENDAR_2025 = YearCalendar.parse(2025, "0".repeat(365));
+
+    private final List<Sinks.One<YearCalendar>> pending = new CopyOnWriteArrayList<>();
+
+    private CalendarProvider delegate;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        delegate = mock(CalendarProvider.class);
+        when(delegate.getName()).thenReturn("isdayoff");
+        when(delegate.getYearCalendar(anyString(), anyInt())).thenAnswer(invocation -> {
+            Sinks.One<YearCalendar> sink = Sinks.one();
+            pending.add(sink);
+            return sink.asMono();
+        });
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void getYearCalendar_WhenConcurrencyLimitReached_ThenQueued() {
+        ThrottlingCalendarProvider provider = new ThrottlingCalendarProvider(delegate, 1, 1,
+                new TokenBucket(0, 1), Duration.ZERO, Duration.ZERO, meterRegistry);
+        AtomicReference<YearCalendar> second = new AtomicReference<>();
+
+        provider.getYearCalendar("RU", 2025).subscribe();
+        provider.getYearCalendar("RU", 2026).subscribe(second::set);
+
+        verify(delegate, times(1)).getYearCalendar(anyString(), anyInt());
+        assertEquals(1, meterRegistry.get("calendar.provider.queue").tag("provider", "isdayoff").gauge().value());
+
+        pending.get(0).tryEmitValue(CALENDAR_2025);
+        verify(delegate).getYearCalendar("RU", 2026);
+        pending.get(1).tryEmitValue(CALENDAR_2025);
+
+        assertSame(CALENDAR_2025, second.get());
+        assertEquals(0, provider.getActive());
+        assertEquals(0, provider.getQueueDepth());
+    }
+
+    @Test
+    void getYearCalendar_WhenQueueFull_ThenRejected() {
+        ThrottlingCalendarProvider provider = new ThrottlingCalendarProvider(delegate, 1, 1,
+                new TokenBucket(0, 1), Duration.ZERO, Duration.ZERO, meterRegistry);
+        AtomicReference<Throwable> error = new AtomicReference<>();
+
+        provider.getYearCalendar("RU", 2025).subscribe();
+        provider.getYearCalendar("RU", 2026).subscribe();
+        provider.getYearCalendar("RU", 2027).subscribe(calendar -> { }, error::set);
+
+        assertInstanceOf(CalendarRequestRejectedException.class, error.get());
+        assertEquals("Источник календаря isdayoff перегружен, повторите запрос позже!", error.get().getMessage());
+        assertEquals(1, meterRegistry.get("calendar.provider.rejections").tag("provider", "isdayoff").counter().count());
+        verify(delegate, never()).getYearCalendar("RU", 2027);
+    }
+
+    @Test
+    void getYearCalendar_WhenQueuedRequestCancelled_ThenRemovedFromQueue() {
+        ThrottlingCalendarProvider provider = new ThrottlingCalendarProvider(delegate, 1, 1,
+                new TokenBucket(0, 1), Duration.ZERO, Duration.ZERO, meterRegistry);
+
+        provider.getYearCalendar("RU", 2025).subscribe();
+        Disposable queued = provider.getYearCalendar("RU", 2026).subscribe();
+        queued.dispose();
+        pending.get(0).tryEmitValue(CALENDAR_2025);
+
+        assertEquals(0, provider.getQueueDepth());
+        assertEquals(0, provider.getActive());
+        verify(delegate, never()).getYearCalendar("RU", 2026);
+    }
+
+    @Test
+    void getYearCalendar_WhenActiveRequestCancelled_ThenSlotReleased() {
+        ThrottlingCalendarProvider provider = new ThrottlingCalendarProvider(delegate, 1, 1,
+                new TokenBucket(0, 1), Duration.ZERO, Duration.ZERO, meterRegistry);
+
+        Disposable active = provider.getYearCalendar("RU", 2025).subscribe();
+        provider.getYearCalendar("RU", 2026).subscribe();
+        active.dispose();
+
+        verify(delegate).getYearCalendar("RU", 2026);
+        assertEquals(1, provider.getActive());
+    }
+
+    @Test
+    void getYearCalendar_WhenRateLimited_ThenStartedWhenTokenAvailable() throws Exception {
+        AtomicLong now = new AtomicLong();
+        ThrottlingCalendarProvider provider = new ThrottlingCalendarProvider(delegate, 4, 10,
+                new TokenBucket(20, 1, now::get), Duration.ZERO, Duration.ZERO, meterRegistry);
+        CountDownLatch completed = new CountDownLatch(2);
+        when(delegate.getYearCalendar(anyString(), anyInt())).thenReturn(Mono.just(CALENDAR_2025));
+
+        provider.getYearCalendar("RU", 2025).subscribe(calendar -> completed.countDown());
+        provider.getYearCalendar("RU", 2026).subscribe(calendar -> completed.countDown());
+
+        assertEquals(1, completed.getCount());
+        assertEquals(1, provider.getQueueDepth());
+
+        now.addAndGet(Duration.ofMillis(50).toNanos());
+        assertTrue(completed.await(1, TimeUnit.SECONDS));
+        assertEquals(0, provider.getQueueDepth());
+    }
+
+    @Test
+    void getYearCalendar_WhenQueueWaitExceeded_ThenRejected() throws Exception {
+        ThrottlingCalendarProvider provider = new ThrottlingCalendarProvider(delegate, 1, 1,
+                new TokenBucket(0, 1), Duration.ZERO, Duration.ofMillis(50), meterRegistry);
+        CountDownLatch rejected = new CountDownLatch(1);
+        AtomicReference<Throwable> error = new AtomicReference<>();
+
+        provider.getYearCalendar("RU", 2025).subscribe();
+        provider.getYearCalendar("RU", 2026).subscribe(calendar -> { }, e -> {
+            error.set(e);
+            rejected.countDown();
+        });
+
+        assertTrue(rejected.await(1, TimeUnit.SECONDS));
+        assertInstanceOf(CalendarRequestRejectedException.class, error.get());
+        assertEquals(0, provider.getQueueDepth());
+        assertEquals(1, meterRegistry.get("calendar.provider.rejections").tag("provider", "isdayoff").counter().count());
+        verify(delegate, never()).getYearCalendar("RU", 2026);
+    }
+
+    @Test
+    void getYearCalendar_WhenQueueWaitUnbounded_ThenQueuedRequestStartedAfterDelay() throws Exception {
+        ThrottlingCalendarProvider provider = new ThrottlingCalendarProvider(delegate, 1, 1,
+                new TokenBucket(0, 1), Duration.ZERO, Duration.ZERO, meterRegistry);
+        AtomicReference<Throwable> error = new AtomicReference<>();
+        AtomicReference<YearCalendar> second = new AtomicReference<>();
+
+        provider.getYearCalendar("RU", 2025).subscribe();
+        provider.getYearCalendar("RU", 2026).subscribe(second::set, error::set);
+        Thread.sleep(200);
+        pending.get(0).tryEmitValue(CALENDAR_2025);
+        pending.get(1).tryEmitValue(CALENDAR_2025);
+
+        assertNull(error.get());
+        assertSame(CALENDAR_2025, second.get());
+        assertEquals(0, meterRegistry.get("calendar.provider.rejections").tag("provider", "isdayoff").counter().count());
+    }
+
+    @Test
+    void getYearCalendar_WhenAttemptTimeoutSet_ThenCountedFromStartNotFromQueue() throws Exception {
+        ThrottlingCalendarProvider provider = new ThrottlingCalendarProvider(delegate, 1, 1,
+                new TokenBucket(0, 1), Duration.ofMillis(300), Duration.ZERO, meterRegistry);
+        CountDownLatch timedOut = new CountDownLatch(1);
+        AtomicReference<Throwable> error = new AtomicReference<>();
+
+        provider.getYearCalendar("RU", 2025).subscribe();
+        provider.getYearCalendar("RU", 2026).subscribe(calendar -> { }, e -> {
+            error.set(e);
+            timedOut.countDown();
+        });
+        Thread.sleep(200);
+        pending.get(0).tryEmitValue(CALENDAR_2025);
+
+        assertFalse(timedOut.await(200, TimeUnit.MILLISECONDS));
+        assertTrue(timedOut.await(1, TimeUnit.SECONDS));
+        assertInstanceOf(TimeoutException.class, error.get());
+        assertEquals(0, provider.getActive());
+    }
+
+    @Test
+    void getYearCalendar_WhenQueueFullBehindResilientProvider_ThenCircuitBreakerStaysClosed() {
+        ThrottlingCalendarProvider throttling = new ThrottlingCalendarProvider(delegate, 1, 1,
+                new TokenBucket(0, 1), Duration.ofSeconds(3), Duration.ofSeconds(1), meterRegistry);
+        CircuitBreaker circuitBreaker = new CircuitBreaker(1, Duration.ofMinutes(1));
+        ResilientCalendarProvider provider = new ResilientCalendarProvider(throttling, circuitBreaker,
+                Duration.ZERO, Duration.ofSeconds(8), 2, Duration.ofMillis(1), Duration.ofMillis(5), true);
+
+        provider.getYearCalendar("RU", 2025).subscribe();
+        provider.getYearCalendar("RU", 2026).subscribe();
+        for (int i = 0; i < 5; i++) {
+            assertThrows(CalendarRequestRejectedException.class,
+                    () -> provider.getYearCalendar("RU", 2027).block(Duration.ofSeconds(1)));
+        }
+
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+        assertEquals(5, meterRegistry.get("calendar.provider.rejections").tag("provider", "isdayoff").counter().count());
+        verify(delegate, never()).getYearCalendar("RU", 2027);
+    }
+}
@@ -0,0 +1,57 @@
+package neoflex.domain.calendar;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TokenBucketTest {
+
+    private final AtomicLong now = new AtomicLong();
+
+    @Test
+    void tryAcquire_WhenBurstExhausted() {
+        TokenBucket tokenBucket = new TokenBucket(2, 3, now::get);
+
+        assertTrue(tokenBucket.tryAcquire());
+        assertTrue(tokenBucket.tryAcquire());
+        assertTrue(tokenBucket.tryAcquire());
+        assertFalse(tokenBucket.tryAcquire());
+        assertEquals(Duration.ofMillis(500).toNanos(), tokenBucket.nanosUntilAvailable());
+    }
+
+    @Test
+    void tryAcquire_WhenTokensRefilled() {
+        TokenBucket tokenBucket = new TokenBucket(2, 1, now::get);
+        assertTrue(tokenBucket.tryAcquire());
+
+        now.addAndGet(Duration.ofMillis(499).toNanos());
+        assertFalse(tokenBucket.tryAcquire());
+
+        now.addAndGet(Duration.ofMillis(1).toNanos());
+        assertEquals(0, tokenBucket.nanosUntilAvailable());
+        assertTrue(tokenBucket.tryAcquire());
+    }
+
+    @Test
+    void tryAcquire_WhenIdleLongerThanBurst() {
+        TokenBucket tokenBucket = new TokenBucket(10, 2, now::get);
+        now.addAndGet(Duration.ofMinutes(1).toNanos());
+
+        assertTrue(tokenBucket.tryAcquire());
+        assertTrue(tokenBucket.tryAcquire());
+        assertFalse(tokenBucket.tryAcquire());
+    }
+
+    @Test
+    void tryAcquire_WhenRateUnlimited() {
+        TokenBucket tokenBucket = new TokenBucket(0, 1, now::get);
+
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(tokenBucket.tryAcquire());
+        }
+        assertEquals(0, tokenBucket.nanosUntilAvailable());
+    }
+}
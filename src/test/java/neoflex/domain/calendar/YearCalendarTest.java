@@ -0,0 +1,65 @@
+package neoflex.domain.calendar;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class YearCalendarTest {
+
+    @Test
+    void parse_WhenLeapYear() {
+        String codes = "1" + "0".repeat(58) + "2" + "0".repeat(305) + "1";
+
+        YearCalendar calendar = YearCalendar.parse(2024, codes);
+
+        assertEquals(366, calendar.getDaysCount());
+        assertFalse(calendar.isWorkDay(1));
+        assertTrue(calendar.isWorkDay(LocalDate.of(2024, 2, 28)));
+        assertEquals(YearCalendar.SHORT_DAY, calendar.getDayType(60));
+        assertFalse(calendar.isWorkDay(LocalDate.of(2024, 2, 29)));
+        assertEquals(YearCalendar.DAY_OFF, calendar.getDayType(366));
+    }
+
+    @Test
+    void parse_WhenWrongLength() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> YearCalendar.parse(2025, "0".repeat(366)));
+        assertEquals("Календарь за 2025 год должен содержать 365 дней!", exception.getMessage());
+    }
+
+    @Test
+    void parse_WhenNotDigit() {
+        assertThrows(IllegalArgumentException.class, () -> YearCalendar.parse(2025, "x".repeat(365)));
+    }
+
+    @Test
+    void countWorkDays_WhenRangeWithinYear() {
+        String codes = "1" + "0".repeat(58) + "2" + "0".repeat(305) + "1";
+        YearCalendar calendar = YearCalendar.parse(2024, codes);
+
+        assertEquals(58, calendar.countWorkDays(1, 60));
+        assertEquals(0, calendar.countWorkDays(60, 60));
+        assertEquals(1, calendar.countWorkDays(64, 64));
+        assertEquals(363, calendar.getWorkDaysCount());
+        assertEquals(0, calendar.countWorkDays(10, 9));
+    }
+
+    @Test
+    void toCodes_WhenParsed() {
+        String codes = "1" + "0".repeat(58) + "2" + "0".repeat(305) + "1";
+
+        assertEquals(codes, YearCalendar.parse(2024, codes).toCodes());
+    }
+
+    @Test
+    void getFingerprint_WhenSameContent_ThenSameValueComputedOnce() {
+        String codes = "1" + "0".repeat(58) + "2" + "0".repeat(305) + "1";
+        YearCalendar calendar = YearCalendar.parse(2024, codes);
+
+        assertSame(calendar.getFingerprint(), calendar.getFingerprint());
+        assertEquals(calendar.getFingerprint(), YearCalendar.parse(2024, codes).getFingerprint());
+        assertNotEquals(calendar.getFingerprint(), YearCalendar.parse(2024, "0".repeat(366)).getFingerprint());
+    }
+}
@@ -0,0 +1,88 @@
+package neoflex.domain.money;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MoneyTest {
+
+    private static final BigDecimal AVERAGE_MONTH_DAYS = new BigDecimal("29.3");
+
+    @Test
+    void vacationPay_WhenSameAsBigDecimal() {
+        Random random = new Random(42);
+        for (int i = 0; i < 100_000; i++) {
+            long salaryMinor = random.nextInt(1_000_000_000);
+            int days = random.nextInt(400);
+            for (RoundingMode mode : new RoundingMode[]{RoundingMode.HALF_UP, RoundingMode.HALF_EVEN,
+                    RoundingMode.HALF_DOWN, RoundingMode.UP, RoundingMode.DOWN, RoundingMode.CEILING, RoundingMode.FLOOR}) {
+                long expected = BigDecimal.valueOf(salaryMinor, 2)
+                        .multiply(BigDecimal.valueOf(days))
+                        .divide(AVERAGE_MONTH_DAYS, 2, mode)
+                        .unscaledValue()
+                        .longValueExact();
+
+                assertEquals(expected, Money.vacationPay(salaryMinor, days, mode), salaryMinor + " × " + days + " " + mode);
+            }
+        }
+    }
+
+    @Test
+    void vacationPay_WhenCorrectData() {
+        assertEquals(2047782, Money.vacationPay(Money.toMinorUnits(60000.0), 10, RoundingMode.HALF_UP));
+        assertEquals(300000, Money.vacationPay(Money.toMinorUnits(29300.0), 3, RoundingMode.HALF_UP));
+    }
+
+    @Test
+    void vacationPay_WhenOverflowException() {
+        assertThrows(IllegalArgumentException.class,
+                () -> Money.vacationPay(Long.MAX_VALUE / 2, 365, RoundingMode.HALF_UP));
+    }
+
+    @Test
+    void divide_WhenHalfway() {
+        assertEquals(3, Money.divide(5, 2, RoundingMode.HALF_UP));
+        assertEquals(2, Money.divide(5, 2, RoundingMode.HALF_EVEN));
+        assertEquals(2, Money.divide(5, 2, RoundingMode.HALF_DOWN));
+        assertEquals(-3, Money.divide(-5, 2, RoundingMode.HALF_UP));
+        assertEquals(-2, Money.divide(-5, 2, RoundingMode.CEILING));
+        assertEquals(-3, Money.divide(-5, 2, RoundingMode.FLOOR));
+    }
+
+    @Test
+    void divide_WhenRoundingUnnecessaryException() {
+        assertEquals(2, Money.divide(4, 2, RoundingMode.UNNECESSARY));
+        assertThrows(ArithmeticException.class, () -> Money.divide(5, 2, RoundingMode.UNNECESSARY));
+    }
+
+    @Test
+    void toMinorUnits_WhenAmountOutOfRange() {
+        assertEquals(1234567, Money.toMinorUnits(12345.67));
+        assertThrows(IllegalArgumentException.class, () -> Money.toMinorUnits(Double.NaN));
+        assertThrows(IllegalArgumentException.class, () -> Money.toMinorUnits(1e15));
+    }
+
+    @Test
+    void isRepresentable_WhenNotNumberOrTooLarge() {
+        assertTrue(Money.isRepresentable(Money.MAX_AMOUNT));
+        assertTrue(Money.isRepresentable(-12345.67));
+        assertFalse(Money.isRepresentable(Double.NaN));
+        assertFalse(Money.isRepresentable(Double.POSITIVE_INFINITY));
+        assertFalse(Money.isRepresentable(1e15));
+    }
+
+    @Test
+    void averageMonthDays_WhenDerivedFromFraction() {
+        assertEquals(0, AVERAGE_MONTH_DAYS.compareTo(BigDecimal.valueOf(Money.AVERAGE_MONTH_DAYS)));
+    }
+
+    @Test
+    void toAmount_WhenPrinted() {
+        assertEquals("20477.82", String.valueOf(Money.toAmount(2047782)));
+        assertEquals("0.1", String.valueOf(Money.toAmount(10)));
+    }
+}
@@ -0,0 +1,96 @@
+package neoflex.domain.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import neoflex.domain.calendar.YearCalendar;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.io.StringWriter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.*;
+
+public class BulkCalculationServiceTest {
+
+    private DayStatusService dayStatusService;
+
+    private BulkCalculationService bulkCalculationService;
+
+    @BeforeEach
+    void setUp() {
+        dayStatusService = mock(DayStatusService.class);
+        when(dayStatusService.resolveCountry(any())).thenReturn("RU");
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        bulkCalculationService = new BulkCalculationService(dayStatusService, objectMapper, 2, 100, 2);
+    }
+
+    @Test
+    void calculate_WhenMixedLines() throws Exception {
+        when(dayStatusService.getYearCalendarAsync("RU", 2025)).thenReturn(Mono.just(YearCalendar.parse(2025, "0".repeat(365))));
+        String input = "{\"id\":\"a\",\"averageSalary\":29300,\"vacationDays\":1}\n"
+                + "{\"id\":\"b\",\"vacationDays\":1}\n"
+                + "\n"
+                + "not json\n"
+                + "{\"id\":\"c\",\"averageSalary\":29300,\"startDate\":\"2025-04-10\",\"endDate\":\"2025-04-14\"}\n";
+
+        StringWriter output = new StringWriter();
+        bulkCalculationService.calculate(new BufferedReader(new StringReader(input)), output);
+
+        String[] lines = output.toString().split("\n");
+        assertEquals(4, lines.length);
+        assertEquals("{\"line\":1,\"id\":\"a\",\"pay\":1000.0}", lines[0]);
+        assertEquals("{\"line\":2,\"id\":\"b\",\"error\":\"Средняя зарплата не указана!\"}", lines[1]);
+        assertEquals(true, lines[2].startsWith("{\"line\":4,\"error\":\"Некорректная строка запроса"));
+        assertEquals("{\"line\":5,\"id\":\"c\",\"pay\":5000.0}", lines[3]);
+        verify(dayStatusService, times(1)).getYearCalendarAsync("RU", 2025);
+        verify(dayStatusService, never()).getCalendarRange(any(), any(), any());
+        verify(dayStatusService, never()).countWorkDays(any(), any(), any());
+        verify(dayStatusService, never()).isApproximate(any(), any(), any());
+    }
+
+    @Test
+    void calculate_WhenYearUnavailable() throws Exception {
+        when(dayStatusService.getYearCalendarAsync("RU", 2025))
+                .thenReturn(Mono.error(new IllegalStateException("Пустой или некорректный ответ от сервиса!")));
+        String input = "{\"averageSalary\":29300,\"startDate\":\"2025-04-10\",\"endDate\":\"2025-04-14\"}\n";
+
+        StringWriter output = new StringWriter();
+        bulkCalculationService.calculate(new BufferedReader(new StringReader(input)), output);
+
+        assertEquals("{\"line\":1,\"error\":\"Пустой или некорректный ответ от сервиса!\"}\n", output.toString());
+        verify(dayStatusService, never()).countWorkDays(any(), any(), any());
+    }
+
+    @Test
+    void calculate_WhenLineTooLong_ThenLineFailedAndRestCalculated() throws Exception {
+        String input = "{\"id\":\"a\",\"averageSalary\":29300,\"vacationDays\":1}\r\n"
+                + "{\"id\":\"" + "x".repeat(1000) + "\",\"averageSalary\":29300,\"vacationDays\":1}\n"
+                + "{\"id\":\"c\",\"averageSalary\":29300,\"vacationDays\":1}";
+
+        StringWriter output = new StringWriter();
+        bulkCalculationService.calculate(new BufferedReader(new StringReader(input)), output);
+
+        String[] lines = output.toString().split("\n");
+        assertEquals(3, lines.length);
+        assertEquals("{\"line\":1,\"id\":\"a\",\"pay\":1000.0}", lines[0]);
+        assertEquals("{\"line\":2,\"error\":\"Строка запроса длиннее 100 символов\"}", lines[1]);
+        assertEquals("{\"line\":3,\"id\":\"c\",\"pay\":1000.0}", lines[2]);
+    }
+
+    @Test
+    void calculate_WhenRangeCrossesYears_ThenPayAndFlagFromBatchCalendars() throws Exception {
+        when(dayStatusService.getYearCalendarAsync("RU", 2025)).thenReturn(Mono.just(YearCalendar.parse(2025, "0".repeat(365))));
+        when(dayStatusService.getYearCalendarAsync("RU", 2026)).thenReturn(Mono.just(YearCalendar.weekdayApproximation(2026)));
+        String input = "{\"averageSalary\":29300,\"startDate\":\"2025-12-30\",\"endDate\":\"2026-01-05\"}\n";
+
+        StringWriter output = new StringWriter();
+        bulkCalculationService.calculate(new BufferedReader(new StringReader(input)), output);
+
+        assertEquals("{\"line\":1,\"pay\":5000.0,\"approximate\":true}\n", output.toString());
+        verify(dayStatusService, never()).getCalendarRange(any(), any(), any());
+    }
+}
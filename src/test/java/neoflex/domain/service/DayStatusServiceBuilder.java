@@ -0,0 +1,88 @@
+package neoflex.domain.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.opentelemetry.api.OpenTelemetry;
+import io.opentelemetry.api.trace.Tracer;
+import neoflex.domain.calendar.CalendarCountries;
+import neoflex.domain.calendar.CalendarProvider;
+import neoflex.domain.calendar.CalendarStore;
+
+import java.time.Duration;
+
+/**
+ * Строитель {@link DayStatusService} для тестов: настройки, не заданные явно,
+ * совпадают со значениями по умолчанию из application.properties, календари на диск не сохраняются
+ */
+public class DayStatusServiceBuilder {
+
+    private final CalendarProvider calendarProvider;
+
+    private CalendarStore calendarStore = CalendarStore.disabled();
+
+    private CalendarCountries countries = CalendarCountries.defaults();
+
+    private Duration refreshTtl = Duration.ofHours(24);
+
+    private int maxCachedYears = 32;
+
+    private Duration negativeTtl = Duration.ofHours(1);
+
+    private int minYear = 2000;
+
+    private int maxYear = 2100;
+
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private Tracer tracer = OpenTelemetry.noop().getTracer(DayStatusService.class.getName());
+
+    public DayStatusServiceBuilder(CalendarProvider calendarProvider) {
+        this.calendarProvider = calendarProvider;
+    }
+
+    public DayStatusServiceBuilder withCalendarStore(CalendarStore calendarStore) {
+        this.calendarStore = calendarStore;
+        return this;
+    }
+
+    public DayStatusServiceBuilder withCountries(CalendarCountries countries) {
+        this.countries = countries;
+        return this;
+    }
+
+    public DayStatusServiceBuilder withRefreshTtl(Duration refreshTtl) {
+        this.refreshTtl = refreshTtl;
+        return this;
+    }
+
+    public DayStatusServiceBuilder withMaxCachedYears(int maxCachedYears) {
+        this.maxCachedYears = maxCachedYears;
+        return this;
+    }
+
+    public DayStatusServiceBuilder withNegativeTtl(Duration negativeTtl) {
+        this.negativeTtl = negativeTtl;
+        return this;
+    }
+
+    public DayStatusServiceBuilder withYears(int minYear, int maxYear) {
+        this.minYear = minYear;
+        this.maxYear = maxYear;
+        return this;
+    }
+
+    public DayStatusServiceBuilder withMeterRegistry(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        return this;
+    }
+
+    public DayStatusServiceBuilder withTracer(Tracer tracer) {
+        this.tracer = tracer;
+        return this;
+    }
+
+    public DayStatusService build() {
+        return new DayStatusService(calendarProvider, calendarStore, countries, refreshTtl, maxCachedYears,
+                negativeTtl, minYear, maxYear, meterRegistry, tracer);
+    }
+}
@@ -0,0 +1,321 @@
+package neoflex.domain.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Scope;
+import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+import neoflex.domain.calendar.CalendarCountries;
+import neoflex.domain.calendar.CalendarNotFoundException;
+import neoflex.domain.calendar.CalendarProvider;
+import neoflex.domain.calendar.CalendarRange;
+import neoflex.domain.calendar.YearCalendar;
+import neoflex.domain.strategy.ValidationError;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.Year;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class DayStatusServiceCacheTest {
+
+    private CalendarProvider calendarProvider;
+
+    private DayStatusService dayStatusService;
+
+    @BeforeEach
+    void setUp() {
+        calendarProvider = mock(CalendarProvider.class);
+        when(calendarProvider.getYearCalendar(anyString(), anyInt()))
+                .thenAnswer(invocation -> Mono.just(workDaysOnly(invocation.getArgument(1))));
+        dayStatusService = new DayStatusServiceBuilder(calendarProvider).withMaxCachedYears(3).build();
+    }
+
+    @Test
+    void getYearCalendar_WhenCacheFull_ThenLeastRecentlyUsedEvicted() {
+        dayStatusService.getYearCalendar(2001);
+        dayStatusService.getYearCalendar(2002);
+        dayStatusService.getYearCalendar(2003);
+        dayStatusService.getYearCalendar(2001);
+
+        dayStatusService.getYearCalendar(2004);
+        dayStatusService.getYearCalendar(2001);
+        dayStatusService.getYearCalendar(2002);
+
+        verify(calendarProvider, times(1)).getYearCalendar("RU", 2001);
+        verify(calendarProvider, times(2)).getYearCalendar("RU", 2002);
+    }
+
+    @Test
+    void getYearCalendar_WhenCacheFull_ThenCurrentYearPinned() {
+        int currentYear = Year.now().getValue();
+        dayStatusService.getYearCalendar(currentYear);
+        dayStatusService.getYearCalendar(2001);
+        dayStatusService.getYearCalendar(2002);
+
+        dayStatusService.getYearCalendar(2003);
+        dayStatusService.getYearCalendar(currentYear);
+
+        verify(calendarProvider, times(1)).getYearCalendar("RU", currentYear);
+        assertTrue(dayStatusService.getSnapshot(2001).isEmpty());
+    }
+
+    @Test
+    void getYearCalendar_WhenYearNotSupported() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> dayStatusService.getYearCalendar(9999));
+
+        assertEquals("Расчёт возможен только для дат с 2000 по 2100 год!", exception.getMessage());
+        verifyNoInteractions(calendarProvider);
+    }
+
+    @Test
+    void checkSupportedYears_WhenRangeOutsideWindow() {
+        assertThrows(IllegalArgumentException.class,
+                () -> dayStatusService.checkSupportedYears(LocalDate.of(1, 1, 1), LocalDate.of(9999, 12, 31)));
+        assertDoesNotThrow(
+                () -> dayStatusService.checkSupportedYears(LocalDate.of(2000, 1, 1), LocalDate.of(2100, 12, 31)));
+    }
+
+    @Test
+    void supportedYearsError_WhenRangeOutsideWindow_ThenSameErrorReturned() {
+        ValidationError error = dayStatusService.supportedYearsError(LocalDate.of(1, 1, 1), LocalDate.of(2025, 1, 1));
+
+        assertNotNull(error);
+        assertEquals("YEAR_NOT_SUPPORTED", error.getCode());
+        assertSame(error, dayStatusService.supportedYearsError(LocalDate.of(2025, 1, 1), LocalDate.of(9999, 12, 31)));
+        assertNull(dayStatusService.supportedYearsError(LocalDate.of(2000, 1, 1), LocalDate.of(2100, 12, 31)));
+    }
+
+    @Test
+    void getYearCalendar_WhenYearNotFound_ThenNotRequestedAgain() {
+        when(calendarProvider.getYearCalendar("RU", 2099))
+                .thenReturn(Mono.error(new CalendarNotFoundException("Календарь за 2099 год не найден!")));
+
+        assertThrows(CalendarNotFoundException.class, () -> dayStatusService.getYearCalendar(2099));
+        assertThrows(CalendarNotFoundException.class, () -> dayStatusService.getYearCalendar(2099));
+
+        verify(calendarProvider, times(1)).getYearCalendar("RU", 2099);
+    }
+
+    @Test
+    void getYearCalendar_WhenClientError_ThenNotRequestedAgain() {
+        when(calendarProvider.getYearCalendar("RU", 2099)).thenReturn(Mono.error(
+                WebClientResponseException.create(404, "Not Found", null, null, null)));
+
+        assertThrows(WebClientResponseException.class, () -> dayStatusService.getYearCalendar(2099));
+        assertThrows(WebClientResponseException.class, () -> dayStatusService.getYearCalendar(2099));
+
+        verify(calendarProvider, times(1)).getYearCalendar("RU", 2099);
+    }
+
+    @Test
+    void getYearCalendar_WhenNegativeEntryExpired_ThenRequestedAgain() {
+        dayStatusService = new DayStatusServiceBuilder(calendarProvider)
+                .withMaxCachedYears(3)
+                .withNegativeTtl(Duration.ZERO)
+                .build();
+        when(calendarProvider.getYearCalendar("RU", 2099))
+                .thenReturn(Mono.error(new CalendarNotFoundException("Календарь за 2099 год не найден!")))
+                .thenReturn(Mono.just(workDaysOnly(2099)));
+
+        assertThrows(CalendarNotFoundException.class, () -> dayStatusService.getYearCalendar(2099));
+        YearCalendar result = dayStatusService.getYearCalendar(2099);
+
+        assertEquals(2099, result.getYear());
+        verify(calendarProvider, times(2)).getYearCalendar("RU", 2099);
+    }
+
+    @Test
+    void getYearCalendar_WhenServerError_ThenRequestedAgain() {
+        when(calendarProvider.getYearCalendar("RU", 2099))
+                .thenReturn(Mono.error(WebClientResponseException.create(503, "Service Unavailable", null, null, null)))
+                .thenReturn(Mono.just(workDaysOnly(2099)));
+
+        assertThrows(WebClientResponseException.class, () -> dayStatusService.getYearCalendar(2099));
+        YearCalendar result = dayStatusService.getYearCalendar(2099);
+
+        assertEquals(2099, result.getYear());
+        verify(calendarProvider, times(2)).getYearCalendar("RU", 2099);
+    }
+
+    @Test
+    void getYearCalendar_WhenCacheUsed_ThenMetricsRecorded() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        dayStatusService = new DayStatusServiceBuilder(calendarProvider)
+                .withMaxCachedYears(3)
+                .withMeterRegistry(meterRegistry)
+                .build();
+
+        dayStatusService.getYearCalendar(2001);
+        dayStatusService.getYearCalendar(2001);
+        dayStatusService.getYearCalendar(2001);
+
+        assertEquals(2, meterRegistry.get("calendar.cache.gets").tag("result", "hit").counter().count());
+        assertEquals(1, meterRegistry.get("calendar.cache.gets").tag("result", "miss").counter().count());
+        assertEquals(1, meterRegistry.get("calendar.cache.size").gauge().value());
+        assertEquals(1, meterRegistry.get("calendar.load").tag("country", "RU").tag("year", "2001").timer().count());
+    }
+
+    @Test
+    void reloadYear_WhenSourceReturnsApproximate_ThenLoadedCalendarKept() {
+        YearCalendar loaded = dayStatusService.getYearCalendar(2001);
+        when(calendarProvider.getYearCalendar("RU", 2001)).thenReturn(Mono.just(YearCalendar.weekdayApproximation(2001)));
+
+        dayStatusService.reloadYear(2001).block();
+
+        assertSame(loaded, dayStatusService.getYearCalendar(2001));
+        assertFalse(dayStatusService.getSnapshot(2001).orElseThrow().isApproximate());
+    }
+
+    @Test
+    void getVersion_WhenRangeSpansYears() {
+        String singleYear = dayStatusService.getVersion(LocalDate.of(2001, 1, 1), LocalDate.of(2001, 12, 31));
+        String twoYears = dayStatusService.getVersion(LocalDate.of(2001, 1, 1), LocalDate.of(2002, 12, 31));
+
+        assertEquals(workDaysOnly(2001).getFingerprint(), singleYear);
+        assertNotEquals(singleYear, twoYears);
+        assertEquals(twoYears, dayStatusService.getVersion(LocalDate.of(2001, 6, 1), LocalDate.of(2002, 6, 1)));
+    }
+
+    @Test
+    void getYearCalendar_WhenCacheGetsNotRecorded_ThenMetricsUnchanged() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        dayStatusService = new DayStatusServiceBuilder(calendarProvider)
+                .withMeterRegistry(meterRegistry)
+                .build();
+
+        dayStatusService.getYearCalendar(2001);
+        dayStatusService.setCacheGetsRecorded(false);
+        dayStatusService.getYearCalendar(2001);
+        dayStatusService.getYearCalendar(2001);
+        dayStatusService.setCacheGetsRecorded(true);
+        dayStatusService.getYearCalendar(2001);
+
+        assertEquals(1, meterRegistry.get("calendar.cache.gets").tag("result", "hit").counter().count());
+        assertEquals(1, meterRegistry.get("calendar.cache.gets").tag("result", "miss").counter().count());
+    }
+
+    @Test
+    void getCalendarRange_WhenRangeSpansYears_ThenEachYearLookedUpOnce() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        dayStatusService = new DayStatusServiceBuilder(calendarProvider)
+                .withMaxCachedYears(3)
+                .withMeterRegistry(meterRegistry)
+                .build();
+
+        CalendarRange range = dayStatusService.getCalendarRange(null, LocalDate.of(2001, 12, 31), LocalDate.of(2002, 1, 1));
+
+        assertEquals(2, range.countWorkDays());
+        assertFalse(range.isApproximate());
+        assertEquals(dayStatusService.getVersion(LocalDate.of(2001, 1, 1), LocalDate.of(2002, 12, 31)), range.getVersion());
+        assertEquals(2, meterRegistry.get("calendar.cache.gets").tag("result", "miss").counter().count());
+        assertEquals(2, meterRegistry.get("calendar.cache.gets").tag("result", "hit").counter().count());
+    }
+
+    @Test
+    void countWorkDays_WhenRangeSpansYears_ThenYearsLoadedConcurrently() throws Exception {
+        Map<Integer, Sinks.One<YearCalendar>> pendingYears = new ConcurrentHashMap<>();
+        CountDownLatch requested = new CountDownLatch(3);
+        when(calendarProvider.getYearCalendar(anyString(), anyInt())).thenAnswer(invocation -> {
+            Sinks.One<YearCalendar> sink = Sinks.one();
+            pendingYears.put(invocation.getArgument(1), sink);
+            requested.countDown();
+            return sink.asMono();
+        });
+
+        CompletableFuture<Integer> result = CompletableFuture.supplyAsync(
+                () -> dayStatusService.countWorkDays(LocalDate.of(2001, 12, 31), LocalDate.of(2003, 1, 1)));
+
+        assertTrue(requested.await(1, TimeUnit.SECONDS));
+        assertFalse(result.isDone());
+        pendingYears.forEach((year, sink) -> sink.tryEmitValue(workDaysOnly(year)));
+        assertEquals(367, result.get(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void getYearCalendar_WhenCountriesDiffer_ThenCachedSeparately() {
+        dayStatusService = new DayStatusServiceBuilder(calendarProvider)
+                .withCountries(new CalendarCountries(List.of("RU", "KZ"), "RU"))
+                .withMaxCachedYears(3)
+                .build();
+        when(calendarProvider.getYearCalendar("KZ", 2001)).thenReturn(Mono.just(
+                YearCalendar.parse(2001, "1" + "0".repeat(Year.of(2001).length() - 1))));
+
+        YearCalendar russian = dayStatusService.getYearCalendar(2001);
+        YearCalendar kazakh = dayStatusService.getYearCalendar("kz", 2001);
+        dayStatusService.getYearCalendar("KZ", 2001);
+
+        assertEquals(365, russian.getWorkDaysCount());
+        assertEquals(364, kazakh.getWorkDaysCount());
+        assertEquals(364, dayStatusService.countWorkDays("KZ", LocalDate.of(2001, 1, 1), LocalDate.of(2001, 12, 31)));
+        assertEquals("KZ", dayStatusService.getSnapshot("KZ", 2001).orElseThrow().getCountry());
+        verify(calendarProvider, times(1)).getYearCalendar("RU", 2001);
+        verify(calendarProvider, times(1)).getYearCalendar("KZ", 2001);
+    }
+
+    @Test
+    void getYearCalendar_WhenCountryNotSupported() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> dayStatusService.getYearCalendar("KZ", 2001));
+
+        assertEquals("Производственный календарь страны KZ не поддерживается!", exception.getMessage());
+        verifyNoInteractions(calendarProvider);
+    }
+
+    @Test
+    void getYearCalendar_WhenNoTrace_ThenLoadSpanNotCreated() {
+        InMemorySpanExporter spanExporter = InMemorySpanExporter.create();
+        dayStatusService = new DayStatusServiceBuilder(calendarProvider).withTracer(tracer(spanExporter)).build();
+
+        dayStatusService.getYearCalendar(2001);
+
+        assertTrue(spanExporter.getFinishedSpanItems().isEmpty());
+    }
+
+    @Test
+    void getYearCalendar_WhenInTrace_ThenLoadSpanIsChildOfRequestSpan() {
+        InMemorySpanExporter spanExporter = InMemorySpanExporter.create();
+        Tracer tracer = tracer(spanExporter);
+        dayStatusService = new DayStatusServiceBuilder(calendarProvider).withTracer(tracer).build();
+        Span parent = tracer.spanBuilder("GET /calculate").startSpan();
+
+        try (Scope ignored = parent.makeCurrent()) {
+            dayStatusService.getYearCalendar(2001);
+        }
+        parent.end();
+
+        SpanData load = spanExporter.getFinishedSpanItems().stream()
+                .filter(span -> span.getName().equals("calendar.load"))
+                .findFirst()
+                .orElseThrow();
+        assertEquals(parent.getSpanContext().getSpanId(), load.getParentSpanId());
+    }
+
+    private static Tracer tracer(InMemorySpanExporter spanExporter) {
+        return SdkTracerProvider.builder()
+                .addSpanProcessor(SimpleSpanProcessor.create(spanExporter))
+                .build()
+                .get("test");
+    }
+
+    private static YearCalendar workDaysOnly(int year) {
+        return YearCalendar.parse(year, "0".repeat(Year.of(year).length()));
+    }
+}
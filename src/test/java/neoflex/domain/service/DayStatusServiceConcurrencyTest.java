@@ -0,0 +1,121 @@
+package neoflex.domain.service;
+
+import com.sun.net.httpserver.HttpServer;
+import neoflex.domain.calendar.IsDayOffCalendarProvider;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class DayStatusServiceConcurrencyTest {
+
+    private static final int THREADS = 300;
+    private static final int[] YEARS = {2024, 2025, 2026};
+
+    private HttpServer server;
+    private ExecutorService serverExecutor;
+    private final Map<Integer, AtomicInteger> requestsPerYear = new ConcurrentHashMap<>();
+
+    private DayStatusService dayStatusService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        serverExecutor = Executors.newFixedThreadPool(16);
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.setExecutor(serverExecutor);
+        server.createContext("/api/getdata", exchange -> {
+            String query = exchange.getRequestURI().getQuery();
+            int year = Integer.parseInt(query.replaceAll(".*year=(\\d+).*", "$1"));
+            requestsPerYear.computeIfAbsent(year, y -> new AtomicInteger()).incrementAndGet();
+            try {
+                Thread.sleep(200);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            byte[] body = weekendCalendar(year).getBytes(StandardCharsets.US_ASCII);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+
+        WebClient webClient = WebClient.create("http://localhost:" + server.getAddress().getPort());
+        dayStatusService = new DayStatusServiceBuilder(new IsDayOffCalendarProvider(webClient)).build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    @Test
+    void isWorkDay_WhenManyThreadsRequestColdYears_ThenOneRequestPerYear() throws Exception {
+        ExecutorService clients = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> results = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            LocalDate date = LocalDate.of(YEARS[i % YEARS.length], 1, 1).plusDays(i % 365);
+            results.add(clients.submit(() -> {
+                start.await();
+                return dayStatusService.isWorkDay(date);
+            }));
+        }
+
+        start.countDown();
+        for (int i = 0; i < THREADS; i++) {
+            LocalDate date = LocalDate.of(YEARS[i % YEARS.length], 1, 1).plusDays(i % 365);
+            assertEquals(isWeekday(date), results.get(i).get(30, TimeUnit.SECONDS));
+        }
+        clients.shutdown();
+
+        for (int year : YEARS) {
+            assertEquals(1, requestsPerYear.get(year).get(), "Запросов за " + year + " год");
+        }
+    }
+
+    @Test
+    void countWorkDays_WhenRangeSpansYears() {
+        LocalDate startDate = LocalDate.of(2024, 12, 20);
+        LocalDate endDate = LocalDate.of(2026, 1, 10);
+        int expected = 0;
+        for (LocalDate date = startDate; !date.isAfter(endDate); date = date.plusDays(1)) {
+            if (isWeekday(date)) {
+                expected++;
+            }
+        }
+
+        assertEquals(expected, dayStatusService.countWorkDays(startDate, endDate));
+    }
+
+    private static String weekendCalendar(int year) {
+        StringBuilder days = new StringBuilder();
+        for (LocalDate date = LocalDate.of(year, 1, 1); date.getYear() == year; date = date.plusDays(1)) {
+            days.append(isWeekday(date) ? '0' : '1');
+        }
+        return days.toString();
+    }
+
+    private static boolean isWeekday(LocalDate date) {
+        return date.getDayOfWeek() != DayOfWeek.SATURDAY && date.getDayOfWeek() != DayOfWeek.SUNDAY;
+    }
+}
@@ -1,5 +1,7 @@
 package neoflex.domain.service;
 
+import neoflex.domain.calendar.IsDayOffCalendarProvider;
+import neoflex.domain.model.CalendarSnapshot;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -47,7 +49,7 @@ public class DayStatusServiceTest {
 
     @BeforeEach
     void setUp() {
-        dayStatusService = new DayStatusService(mockWebClient);
+        dayStatusService = new DayStatusServiceBuilder(new IsDayOffCalendarProvider(mockWebClient)).build();
     }
 
     @Test
@@ -86,4 +88,69 @@ public class DayStatusServiceTest {
         });
         assertEquals("Пустой или некорректный ответ от сервиса!", exception.getMessage());
     }
+
+    @Test
+    void countWorkDays_WhenRangeWithinYear() {
+        when(mockWebClient.get()).thenReturn(requestHeadersUriSpec);
+        when(requestHeadersUriSpec.uri(anyString())).thenReturn(requestHeadersSpec);
+        when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
+        when(responseSpec.bodyToMono(String.class)).thenReturn(Mono.just(MOCKED_YEAR_RESPONSE_2025));
+
+        int result = dayStatusService.countWorkDays(LocalDate.of(2025, 1, 1), LocalDate.of(2025, 1, 14));
+
+        assertEquals(4, result);
+    }
+
+    @Test
+    void countWorkDaysAsync_WhenRangeWithinYear() {
+        when(mockWebClient.get()).thenReturn(requestHeadersUriSpec);
+        when(requestHeadersUriSpec.uri(anyString())).thenReturn(requestHeadersSpec);
+        when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
+        when(responseSpec.bodyToMono(String.class)).thenReturn(Mono.just(MOCKED_YEAR_RESPONSE_2025));
+
+        Integer result = dayStatusService.countWorkDaysAsync(LocalDate.of(2025, 1, 1), LocalDate.of(2025, 1, 14)).block();
+
+        assertEquals(4, result);
+    }
+
+    @Test
+    void reloadYear_WhenCalendarChanged() {
+        String amendedResponse = "0" + MOCKED_YEAR_RESPONSE_2025.substring(1);
+        when(mockWebClient.get()).thenReturn(requestHeadersUriSpec);
+        when(requestHeadersUriSpec.uri(anyString())).thenReturn(requestHeadersSpec);
+        when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
+        when(responseSpec.bodyToMono(String.class))
+                .thenReturn(Mono.just(MOCKED_YEAR_RESPONSE_2025))
+                .thenReturn(Mono.just(amendedResponse));
+        assertFalse(dayStatusService.isWorkDay(LocalDate.of(2025, 1, 1)));
+        CalendarSnapshot before = dayStatusService.getSnapshot(2025).orElseThrow();
+
+        CalendarSnapshot after = dayStatusService.reloadYear(2025).block();
+
+        assertNotNull(after);
+        assertNotEquals(before.getVersion(), after.getVersion());
+        assertEquals(after.getVersion(), dayStatusService.getSnapshot(2025).orElseThrow().getVersion());
+        assertTrue(dayStatusService.isWorkDay(LocalDate.of(2025, 1, 1)));
+    }
+
+    @Test
+    void reloadYear_WhenSourceFails() {
+        when(mockWebClient.get()).thenReturn(requestHeadersUriSpec);
+        when(requestHeadersUriSpec.uri(anyString())).thenReturn(requestHeadersSpec);
+        when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
+        when(responseSpec.bodyToMono(String.class))
+                .thenReturn(Mono.just(MOCKED_YEAR_RESPONSE_2025))
+                .thenReturn(Mono.justOrEmpty(null));
+        dayStatusService.isWorkDay(LocalDate.of(2025, 1, 1));
+        CalendarSnapshot before = dayStatusService.getSnapshot(2025).orElseThrow();
+
+        assertThrows(IllegalStateException.class, () -> dayStatusService.reloadYear(2025).block());
+
+        assertEquals(before.getVersion(), dayStatusService.getSnapshot(2025).orElseThrow().getVersion());
+    }
+
+    @Test
+    void getSnapshot_WhenYearNotLoaded() {
+        assertTrue(dayStatusService.getSnapshot(2025).isEmpty());
+    }
 }
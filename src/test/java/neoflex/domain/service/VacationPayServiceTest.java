@@ -0,0 +1,130 @@
+package neoflex.domain.service;
+
+import io.opentelemetry.api.OpenTelemetry;
+import io.opentelemetry.api.trace.Tracer;
+import neoflex.domain.calendar.CalendarRange;
+import neoflex.domain.calendar.YearCalendar;
+import neoflex.domain.model.VacationPayResult;
+import neoflex.domain.strategy.PayStrategyBuilder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class VacationPayServiceTest {
+
+    private DayStatusService dayStatusService;
+
+    private VacationPayService vacationPayService;
+
+    @BeforeEach
+    void setUp() {
+        dayStatusService = mock(DayStatusService.class);
+        vacationPayService = new VacationPayService(dayStatusService,
+                OpenTelemetry.noop().getTracer(VacationPayService.class.getName()));
+    }
+
+    @Test
+    void testCalculateByDays_WhenCorrectData() {
+        double result = vacationPayService.calculateByDays(60000.0, 10);
+
+        assertEquals(20477.82, result);
+    }
+
+    @Test
+    void testCalculateByDays_WhenNoTrace_ThenSpanNotBuilt() {
+        Tracer tracer = mock(Tracer.class);
+        vacationPayService = new VacationPayService(dayStatusService, tracer);
+
+        vacationPayService.calculateByDays(60000.0, 10);
+
+        verifyNoInteractions(tracer);
+    }
+
+    @Test
+    void testCalculateByDays_WhenSameAsStrategy() {
+        for (int days = 0; days <= 60; days++) {
+            double averageSalary = 12345.67 + days * 1000.01;
+            double expected = new PayStrategyBuilder(dayStatusService)
+                    .withAverageSalary(averageSalary)
+                    .withVacationDays(days)
+                    .build()
+                    .calculate();
+
+            assertEquals(expected, vacationPayService.calculateByDays(averageSalary, days));
+        }
+    }
+
+    @Test
+    void testCalculateByDays_NegativeSalaryException() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> vacationPayService.calculateByDays(-1.0, 10));
+
+        assertEquals("Средняя зарплата за 12 месяцев должна быть положительной!", exception.getMessage());
+    }
+
+    @Test
+    void testCalculateByDays_NegativeVacationDaysException() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> vacationPayService.calculateByDays(60000.0, -1));
+
+        assertEquals("Количество дней отпуска должно быть положительным!", exception.getMessage());
+    }
+
+    @Test
+    void testCalculateByDates_WhenWorkDaysWithHolidays() {
+        LocalDate startDate = LocalDate.of(2025, 4, 10);
+        LocalDate endDate = LocalDate.of(2025, 4, 14);
+        when(dayStatusService.countWorkDays(null, startDate, endDate)).thenReturn(3);
+
+        double result = vacationPayService.calculateByDates(29300.0, startDate, endDate);
+
+        assertEquals(3000.0, result);
+        verify(dayStatusService).supportedYearsError(startDate, endDate);
+    }
+
+    @Test
+    void testCalculateByDates_StartDateAfterEndDateException() {
+        LocalDate startDate = LocalDate.of(2025, 4, 14);
+        LocalDate endDate = LocalDate.of(2025, 4, 10);
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> vacationPayService.calculateByDates(80000.0, startDate, endDate));
+
+        assertEquals("Конечная дата отпуска не может быть раньше даты старта!", exception.getMessage());
+        verifyNoInteractions(dayStatusService);
+    }
+
+    @Test
+    void testCalculateResultByDates_WhenCalendarApproximate() {
+        LocalDate startDate = LocalDate.of(2025, 4, 10);
+        LocalDate endDate = LocalDate.of(2025, 4, 14);
+        when(dayStatusService.getCalendarRange(null, startDate, endDate))
+                .thenReturn(new CalendarRange(startDate, endDate, List.of(YearCalendar.weekdayApproximation(2025))));
+
+        VacationPayResult result = vacationPayService.calculateResultByDates(null, 29300.0, startDate, endDate);
+
+        assertEquals(3000.0, result.getPay());
+        assertTrue(result.isApproximate());
+        verify(dayStatusService, never()).isApproximate(any(), any(), any());
+    }
+
+    @Test
+    void testCalculateResultByDatesAsync_WhenWorkDaysWithoutHolidays() {
+        LocalDate startDate = LocalDate.of(2025, 4, 10);
+        LocalDate endDate = LocalDate.of(2025, 4, 14);
+        when(dayStatusService.getCalendarRangeAsync(null, startDate, endDate))
+                .thenReturn(Mono.just(new CalendarRange(startDate, endDate, List.of(YearCalendar.parse(2025, "0".repeat(365))))));
+
+        VacationPayResult result = vacationPayService.calculateResultByDatesAsync(null, 29300.0, startDate, endDate).block();
+
+        assertEquals(5000.0, result.getPay());
+        assertFalse(result.isApproximate());
+        verify(dayStatusService, never()).isApproximate(any(), any(), any());
+    }
+}
@@ -0,0 +1,134 @@
+package neoflex.domain.service;
+
+import neoflex.domain.calendar.CalendarProvider;
+import neoflex.domain.calendar.YearCalendar;
+import neoflex.domain.model.PlanObjective;
+import neoflex.domain.model.VacationOption;
+import neoflex.domain.model.VacationPlan;
+import neoflex.domain.strategy.PayStrategy;
+import neoflex.domain.strategy.ValidationError;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class VacationPlannerServiceTest {
+
+    private CalendarProvider calendarProvider;
+
+    private DayStatusService dayStatusService;
+
+    private VacationPlannerService vacationPlannerService;
+
+    @BeforeEach
+    void setUp() {
+        calendarProvider = mock(CalendarProvider.class);
+        when(calendarProvider.getYearCalendar(anyString(), anyInt()))
+                .thenAnswer(invocation -> Mono.just(calendarWithNewYearHolidays(invocation.getArgument(1))));
+        dayStatusService = new DayStatusServiceBuilder(calendarProvider).build();
+        vacationPlannerService = new VacationPlannerService(dayStatusService, 90, 20);
+    }
+
+    @Test
+    void plan_WhenMaxPay_ThenMostWorkDaysFirstAndMatchesDirectCount() {
+        VacationPlan plan = vacationPlannerService.plan(null, 60000.0, 2025, 14, PlanObjective.MAX_PAY, 5);
+
+        assertEquals("RU", plan.getCountry());
+        assertEquals(5, plan.getOptions().size());
+        assertFalse(plan.isApproximate());
+        assertOrdered(plan.getOptions(), true);
+        for (VacationOption option : plan.getOptions()) {
+            assertEquals(dayStatusService.countWorkDays(option.getStartDate(), option.getEndDate()), option.getWorkDays());
+            assertEquals(PayStrategy.payFor(60000.0, option.getWorkDays()), option.getPay());
+        }
+        assertEquals(10, plan.getOptions().get(0).getWorkDays());
+    }
+
+    @Test
+    void plan_WhenMinWorkDays_ThenNewYearHolidaysFirst() {
+        VacationPlan plan = vacationPlannerService.plan(null, 60000.0, 2025, 10, PlanObjective.MIN_WORK_DAYS, 3);
+
+        assertOrdered(plan.getOptions(), false);
+        assertEquals(LocalDate.of(2025, 1, 1), plan.getOptions().get(0).getStartDate());
+        assertEquals(LocalDate.of(2025, 1, 2), plan.getOptions().get(1).getStartDate());
+        assertEquals(LocalDate.of(2025, 1, 3), plan.getOptions().get(2).getStartDate());
+        plan.getOptions().forEach(option -> assertEquals(2, option.getWorkDays()));
+    }
+
+    @Test
+    void plan_WhenEveryStartRequested_ThenEachWindowMatchesDirectCount() {
+        VacationPlan plan = vacationPlannerService.plan(null, 50000.0, 2024, 7, PlanObjective.MAX_PAY, 20);
+
+        for (VacationOption option : plan.getOptions()) {
+            assertEquals(option.getStartDate().plusDays(6), option.getEndDate());
+            assertEquals(dayStatusService.countWorkDays(option.getStartDate(), option.getEndDate()), option.getWorkDays());
+        }
+    }
+
+    @Test
+    void plan_WhenNextYearNotSupported_ThenVacationEndsWithinYear() {
+        VacationPlan plan = vacationPlannerService.plan(null, 50000.0, 2100, 30, PlanObjective.MIN_WORK_DAYS, 20);
+
+        plan.getOptions().forEach(option -> assertEquals(2100, option.getEndDate().getYear()));
+    }
+
+    @Test
+    void plan_WhenNextYearNotPublished_ThenVacationEndsWithinYear() {
+        when(calendarProvider.getYearCalendar("RU", 2026)).thenReturn(Mono.empty());
+
+        VacationPlan plan = vacationPlannerService.plan(null, 50000.0, 2025, 30, PlanObjective.MIN_WORK_DAYS, 20);
+
+        assertEquals(20, plan.getOptions().size());
+        plan.getOptions().forEach(option -> assertEquals(2025, option.getEndDate().getYear()));
+    }
+
+    @Test
+    void validate_WhenDataIncorrect_ThenPreallocatedError() {
+        assertSame(ValidationError.AVERAGE_SALARY_NEGATIVE, vacationPlannerService.validate(-1.0, 2025, 14, 5));
+        assertEquals("VACATION_DAYS_OUT_OF_RANGE", vacationPlannerService.validate(60000.0, 2025, 0, 5).getCode());
+        assertEquals("VACATION_DAYS_OUT_OF_RANGE", vacationPlannerService.validate(60000.0, 2025, 91, 5).getCode());
+        assertEquals("TOP_OUT_OF_RANGE", vacationPlannerService.validate(60000.0, 2025, 14, 21).getCode());
+        assertEquals("YEAR_NOT_SUPPORTED", vacationPlannerService.validate(60000.0, Integer.MAX_VALUE, 14, 5).getCode());
+        assertNull(vacationPlannerService.validate(60000.0, 2025, 14, 5));
+    }
+
+    @Test
+    void plan_WhenDataIncorrect_ThenException() {
+        assertThrows(IllegalArgumentException.class,
+                () -> vacationPlannerService.plan(null, 60000.0, 2025, 0, PlanObjective.MAX_PAY, 5));
+    }
+
+    private static void assertOrdered(List<VacationOption> options, boolean descending) {
+        for (int i = 1; i < options.size(); i++) {
+            VacationOption previous = options.get(i - 1);
+            VacationOption current = options.get(i);
+            int compare = Integer.compare(current.getWorkDays(), previous.getWorkDays());
+            assertTrue(descending ? compare <= 0 : compare >= 0);
+            if (compare == 0) {
+                assertTrue(current.getStartDate().isAfter(previous.getStartDate()));
+            }
+        }
+    }
+
+    /**
+     * Календарь, в котором нерабочими считаются выходные и первые восемь дней января
+     */
+    private static YearCalendar calendarWithNewYearHolidays(int year) {
+        StringBuilder codes = new StringBuilder();
+        for (LocalDate date = LocalDate.of(year, 1, 1); date.getYear() == year; date = date.plusDays(1)) {
+            boolean dayOff = date.getDayOfWeek() == DayOfWeek.SATURDAY || date.getDayOfWeek() == DayOfWeek.SUNDAY
+                    || date.getDayOfYear() <= 8;
+            codes.append(dayOff ? YearCalendar.DAY_OFF : YearCalendar.WORK_DAY);
+        }
+        return YearCalendar.parse(year, codes);
+    }
+}
@@ -10,6 +10,8 @@ import static org.junit.jupiter.api.Assertions.*;
 
 
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 public class PayStrategyBuilderTest {
 
@@ -77,6 +79,25 @@ public class PayStrategyBuilderTest {
         assertEquals("Конечная дата отпуска не может быть раньше даты старта!", exception.getMessage());
     }
 
+    @Test
+    void testBuild_UnsupportedYearsException(){
+        double averageSalary = 80000.0;
+        LocalDate startDate = LocalDate.of(1, 1, 1);
+        LocalDate endDate = LocalDate.of(9999, 12, 31);
+        when(dayStatusService.supportedYearsError(startDate, endDate))
+                .thenReturn(new ValidationError("YEAR_NOT_SUPPORTED", "Расчёт возможен только для дат с 2000 по 2100 год!"));
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> {
+           new PayStrategyBuilder(dayStatusService)
+                   .withAverageSalary(averageSalary)
+                   .withStartEndDates(startDate, endDate)
+                   .build();
+        });
+
+        assertEquals("Расчёт возможен только для дат с 2000 по 2100 год!", exception.getMessage());
+        verify(dayStatusService).supportedYearsError(startDate, endDate);
+    }
+
 
     @Test
     void testBuild_ZeroVacationDaysException(){
@@ -147,4 +168,44 @@ public class PayStrategyBuilderTest {
 
         assertEquals("DayStatusService не проинициализирован!", exception.getMessage());
     }
+
+    @Test
+    void testValidate_WhenDataIsCorrect(){
+        ValidationError error = new PayStrategyBuilder(dayStatusService)
+                .withAverageSalary(60000.0)
+                .withVacationDays(10)
+                .validate();
+
+        assertNull(error);
+    }
+
+    @Test
+    void testValidate_WhenDataIsIncorrect(){
+        assertSame(ValidationError.AVERAGE_SALARY_MISSING, new PayStrategyBuilder(dayStatusService)
+                .withVacationDays(10)
+                .validate());
+        assertSame(ValidationError.AVERAGE_SALARY_NEGATIVE, new PayStrategyBuilder(dayStatusService)
+                .withAverageSalary(-1.0)
+                .withVacationDays(10)
+                .validate());
+        assertSame(ValidationError.AVERAGE_SALARY_OUT_OF_RANGE, new PayStrategyBuilder(dayStatusService)
+                .withAverageSalary(Double.NaN)
+                .withVacationDays(10)
+                .validate());
+        assertSame(ValidationError.AVERAGE_SALARY_OUT_OF_RANGE, new PayStrategyBuilder(dayStatusService)
+                .withAverageSalary(Double.POSITIVE_INFINITY)
+                .withVacationDays(10)
+                .validate());
+        assertSame(ValidationError.AVERAGE_SALARY_OUT_OF_RANGE, new PayStrategyBuilder(dayStatusService)
+                .withAverageSalary(1e20)
+                .withVacationDays(10)
+                .validate());
+        assertSame(ValidationError.END_DATE_BEFORE_START, new PayStrategyBuilder(dayStatusService)
+                .withAverageSalary(60000.0)
+                .withStartEndDates(LocalDate.of(2025, 4, 14), LocalDate.of(2025, 4, 10))
+                .validate());
+        assertSame(ValidationError.INSUFFICIENT_DATA, new PayStrategyBuilder(dayStatusService)
+                .withAverageSalary(60000.0)
+                .validate());
+    }
 }
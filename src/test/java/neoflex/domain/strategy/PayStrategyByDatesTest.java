@@ -3,6 +3,7 @@ package neoflex.domain.strategy;
 import neoflex.domain.service.DayStatusService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
 
 import java.time.LocalDate;
 
@@ -23,11 +24,7 @@ public class PayStrategyByDatesTest {
         double averageSalary = 29300.0;
         LocalDate startDate = LocalDate.of(2025, 4, 10);
         LocalDate endDate = LocalDate.of(2025, 4, 14);
-        when(dayStatusService.isWorkDay(LocalDate.of(2025, 4, 10))).thenReturn(true);
-        when(dayStatusService.isWorkDay(LocalDate.of(2025, 4, 11))).thenReturn(true);
-        when(dayStatusService.isWorkDay(LocalDate.of(2025, 4, 12))).thenReturn(false);
-        when(dayStatusService.isWorkDay(LocalDate.of(2025, 4, 13))).thenReturn(false);
-        when(dayStatusService.isWorkDay(LocalDate.of(2025, 4, 14))).thenReturn(true);
+        when(dayStatusService.countWorkDays(null, startDate, endDate)).thenReturn(3);
 
         PayStrategy payStrategy = new PayStrategyByDates(averageSalary, startDate, endDate, dayStatusService);
         double result = payStrategy.calculate();
@@ -40,8 +37,7 @@ public class PayStrategyByDatesTest {
         double averageSalary = 29300.0;
         LocalDate startDate = LocalDate.of(2025, 4, 12);
         LocalDate endDate = LocalDate.of(2025, 4, 13);
-        when(dayStatusService.isWorkDay(LocalDate.of(2025, 4, 12))).thenReturn(false);
-        when(dayStatusService.isWorkDay(LocalDate.of(2025, 4, 13))).thenReturn(false);
+        when(dayStatusService.countWorkDays(null, startDate, endDate)).thenReturn(0);
 
         PayStrategy payStrategy = new PayStrategyByDates(averageSalary, startDate, endDate, dayStatusService);
         double result = payStrategy.calculate();
@@ -53,7 +49,7 @@ public class PayStrategyByDatesTest {
     void testCalculate_WhenOneWorkDay(){
         double averageSalary = 29300.0;
         LocalDate startDate = LocalDate.of(2025, 4, 10);
-        when(dayStatusService.isWorkDay(LocalDate.of(2025, 4, 10))).thenReturn(true);
+        when(dayStatusService.countWorkDays(null, startDate, startDate)).thenReturn(1);
 
         PayStrategy payStrategy = new PayStrategyByDates(averageSalary, startDate, startDate, dayStatusService);
         double result = payStrategy.calculate();
@@ -65,11 +61,24 @@ public class PayStrategyByDatesTest {
     void testCalculate_WhenOneHoliday(){
         double averageSalary = 29300.0;
         LocalDate startDay = LocalDate.of(2025, 4, 12);
-        when(dayStatusService.isWorkDay(LocalDate.of(2025, 4, 12))).thenReturn(false);
+        when(dayStatusService.countWorkDays(null, startDay, startDay)).thenReturn(0);
 
         PayStrategy payStrategy = new PayStrategyByDates(averageSalary, startDay, startDay, dayStatusService);
         double result = payStrategy.calculate();
 
         assertEquals(0.0, result);
     }
+
+    @Test
+    void testCalculateAsync_WhenWorkDaysWithHolidays(){
+        double averageSalary = 29300.0;
+        LocalDate startDate = LocalDate.of(2025, 4, 10);
+        LocalDate endDate = LocalDate.of(2025, 4, 14);
+        when(dayStatusService.countWorkDaysAsync(null, startDate, endDate)).thenReturn(Mono.just(3));
+
+        PayStrategy payStrategy = new PayStrategyByDates(averageSalary, startDate, endDate, dayStatusService);
+        Double result = payStrategy.calculateAsync().block();
+
+        assertEquals(3000.0, result);
+    }
 }
@@ -0,0 +1,22 @@
+package neoflex.startup;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class StartupReporterTest {
+
+    @Test
+    void parseResidentSetKb_WhenFieldPresent() {
+        List<String> status = List.of("Name:\tjava", "VmPeak:\t 4123456 kB", "VmRSS:\t  187432 kB", "Threads:\t42");
+
+        assertEquals(187432, StartupReporter.parseResidentSetKb(status));
+    }
+
+    @Test
+    void parseResidentSetKb_WhenFieldMissing() {
+        assertEquals(-1, StartupReporter.parseResidentSetKb(List.of("Name:\tjava")));
+    }
+}
@@ -0,0 +1,73 @@
+package neoflex.startup;
+
+import io.opentelemetry.api.OpenTelemetry;
+import neoflex.domain.calendar.YearCalendar;
+import neoflex.domain.service.DayStatusService;
+import neoflex.domain.service.VacationPayService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class WarmUpRunnerTest {
+
+    private DayStatusService dayStatusService;
+
+    private WarmUpRunner warmUpRunner;
+
+    @BeforeEach
+    void setUp() {
+        dayStatusService = mock(DayStatusService.class);
+        VacationPayService vacationPayService = new VacationPayService(dayStatusService,
+                OpenTelemetry.noop().getTracer(VacationPayService.class.getName()));
+        warmUpRunner = new WarmUpRunner(dayStatusService, vacationPayService, 1, 2, 100, 5);
+    }
+
+    @Test
+    void preloadCalendars_WhenAllYearsAvailable() {
+        for (int year = 2024; year <= 2027; year++) {
+            when(dayStatusService.getYearCalendar(year)).thenReturn(YearCalendar.parse(year, "0".repeat(LocalDate.of(year, 1, 1).lengthOfYear())));
+        }
+
+        List<Integer> result = warmUpRunner.preloadCalendars(2025);
+
+        assertEquals(List.of(2024, 2025, 2026, 2027), result);
+    }
+
+    @Test
+    void preloadCalendars_WhenYearUnavailable() {
+        when(dayStatusService.getYearCalendar(anyInt())).thenReturn(YearCalendar.parse(2025, "0".repeat(365)));
+        when(dayStatusService.getYearCalendar(2027)).thenThrow(new IllegalStateException("Пустой или некорректный ответ от сервиса!"));
+
+        List<Integer> result = warmUpRunner.preloadCalendars(2025);
+
+        assertEquals(3, result.size());
+    }
+
+    @Test
+    void warmUpStrategies_WhenYearsLoaded() {
+        when(dayStatusService.countWorkDays(any(), any(), any())).thenReturn(1);
+
+        warmUpRunner.warmUpStrategies(List.of(2025));
+
+        verify(dayStatusService, times(100)).countWorkDays(any(), any(), any());
+    }
+
+    @Test
+    void warmUpStrategies_WhenFinished_ThenCacheGetsRecordedAgain() {
+        when(dayStatusService.countWorkDays(any(), any(), any())).thenReturn(1);
+
+        warmUpRunner.warmUpStrategies(List.of(2025));
+
+        InOrder inOrder = inOrder(dayStatusService);
+        inOrder.verify(dayStatusService).setCacheGetsRecorded(false);
+        inOrder.verify(dayStatusService, times(100)).countWorkDays(any(), any(), any());
+        inOrder.verify(dayStatusService).setCacheGetsRecorded(true);
+    }
+}
@@ -0,0 +1,71 @@
+package neoflex.tracing;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.api.trace.propagation.W3CTraceContextPropagator;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TracingExchangeFilterFunctionTest {
+
+    private InMemorySpanExporter spanExporter;
+
+    private Tracer tracer;
+
+    private TracingExchangeFilterFunction filter;
+
+    @BeforeEach
+    void setUp() {
+        spanExporter = InMemorySpanExporter.create();
+        tracer = SdkTracerProvider.builder()
+                .addSpanProcessor(SimpleSpanProcessor.create(spanExporter))
+                .build()
+                .get("test");
+        filter = new TracingExchangeFilterFunction(tracer, W3CTraceContextPropagator.getInstance());
+    }
+
+    @Test
+    void filter_WhenParentInReactorContext_ThenTraceparentSentAndClientSpanRecorded() {
+        Span parent = tracer.spanBuilder("calendar.load").startSpan();
+        ClientRequest request = ClientRequest.create(HttpMethod.GET, URI.create("http://localhost/api/getdata?year=2025")).build();
+        AtomicReference<ClientRequest> sent = new AtomicReference<>();
+
+        filter.filter(request, req -> {
+                    sent.set(req);
+                    return Mono.just(ClientResponse.create(HttpStatus.OK).build());
+                })
+                .contextWrite(TracingContext.with(Context.root().with(parent)))
+                .block();
+        parent.end();
+
+        String traceparent = sent.get().headers().getFirst("traceparent");
+        assertNotNull(traceparent);
+        assertTrue(traceparent.contains(parent.getSpanContext().getTraceId()));
+        List<SpanData> spans = spanExporter.getFinishedSpanItems();
+        SpanData client = spans.get(0);
+        assertEquals(SpanKind.CLIENT, client.getKind());
+        assertEquals(parent.getSpanContext().getSpanId(), client.getParentSpanId());
+        assertTrue(traceparent.contains(client.getSpanId()));
+        assertEquals(200L, client.getAttributes().get(AttributeKey.longKey("http.status_code")));
+    }
+}
@@ -0,0 +1,96 @@
+package neoflex.tracing;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.propagation.W3CTraceContextPropagator;
+import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class TracingFilterTest {
+
+    private static final String TRACE_ID = "4bf92f3577b34da6a3ce929d0e0e4736";
+
+    private static final String PARENT_SPAN_ID = "00f067aa0ba902b7";
+
+    private InMemorySpanExporter spanExporter;
+
+    private TracingFilter tracingFilter;
+
+    @BeforeEach
+    void setUp() {
+        spanExporter = InMemorySpanExporter.create();
+        SdkTracerProvider tracerProvider = SdkTracerProvider.builder()
+                .addSpanProcessor(SimpleSpanProcessor.create(spanExporter))
+                .build();
+        tracingFilter = new TracingFilter(tracerProvider.get("test"), W3CTraceContextPropagator.getInstance());
+    }
+
+    @Test
+    void doFilter_WhenTraceparentReceived_ThenServerSpanContinuesTrace() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/calculate");
+        request.addHeader("traceparent", "00-" + TRACE_ID + "-" + PARENT_SPAN_ID + "-01");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        AtomicReference<String> currentTraceId = new AtomicReference<>();
+        MockFilterChain chain = new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void doGet(HttpServletRequest req, HttpServletResponse resp) {
+                currentTraceId.set(Span.current().getSpanContext().getTraceId());
+                req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/calculate");
+                resp.setStatus(400);
+            }
+        });
+
+        tracingFilter.doFilter(request, response, chain);
+
+        assertEquals(TRACE_ID, currentTraceId.get());
+        SpanData span = spanExporter.getFinishedSpanItems().get(0);
+        assertEquals("GET /calculate", span.getName());
+        assertEquals(SpanKind.SERVER, span.getKind());
+        assertEquals(TRACE_ID, span.getTraceId());
+        assertEquals(PARENT_SPAN_ID, span.getParentSpanId());
+        assertEquals(400L, span.getAttributes().get(AttributeKey.longKey("http.status_code")));
+    }
+
+    @Test
+    void doFilter_WhenPathHasVariables_ThenSpanNamedByRoute() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/calendar/2025");
+        MockFilterChain chain = new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void doGet(HttpServletRequest req, HttpServletResponse resp) {
+                req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/calendar/{year}");
+            }
+        });
+
+        tracingFilter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        SpanData span = spanExporter.getFinishedSpanItems().get(0);
+        assertEquals("GET /calendar/{year}", span.getName());
+        assertEquals("/calendar/{year}", span.getAttributes().get(AttributeKey.stringKey("http.route")));
+        assertEquals("/calendar/2025", span.getAttributes().get(AttributeKey.stringKey("http.target")));
+    }
+
+    @Test
+    void doFilter_WhenNoHandlerMatched_ThenSpanNamedByMethod() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/unknown/12345");
+
+        tracingFilter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+        assertEquals("GET", spanExporter.getFinishedSpanItems().get(0).getName());
+    }
+}
@@ -0,0 +1,180 @@
+package neoflex.web.controller;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import neoflex.domain.calendar.CalendarCountries;
+import neoflex.domain.calendar.CalendarRange;
+import neoflex.domain.calendar.YearCalendar;
+import neoflex.domain.service.DayStatusService;
+import neoflex.web.exception.GlobalExceptionHandler;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.Year;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+public class CalendarControllerTest {
+
+    private static final YearCalendar CALENDAR_2025 = YearCalendar.parse(2025, "0".repeat(Year.of(2025).length()));
+
+    private static final String ETAG_2025 = "\"" + CALENDAR_2025.getFingerprint() + "\"";
+
+    @Mock
+    private DayStatusService dayStatusService;
+
+    private MockMvc mockMvc;
+    private AutoCloseable closeable;
+
+    @BeforeEach
+    void setUp() {
+        closeable = MockitoAnnotations.openMocks(this);
+        CalendarController calendarController = new CalendarController(dayStatusService,
+                new CalendarCountries(List.of("RU", "KZ"), "RU"), Duration.ofHours(1), 2);
+        mockMvc = MockMvcBuilders.standaloneSetup(calendarController)
+                .setControllerAdvice(new GlobalExceptionHandler(new SimpleMeterRegistry()))
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        closeable.close();
+    }
+
+    @Test
+    void testGetCalendar_WhenYearLoaded() throws Exception {
+        when(dayStatusService.getYearCalendar("RU", 2025)).thenReturn(CALENDAR_2025);
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/calendar/2025"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", ETAG_2025))
+                .andExpect(header().string("Cache-Control", "max-age=3600, public"))
+                .andExpect(jsonPath("$.year").value(2025))
+                .andExpect(jsonPath("$.workDays").value(365))
+                .andExpect(jsonPath("$.days").value(CALENDAR_2025.toCodes()));
+    }
+
+    @Test
+    void testGetCalendar_WhenETagMatches() throws Exception {
+        when(dayStatusService.getYearCalendar("RU", 2025)).thenReturn(CALENDAR_2025);
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/calendar/2025").header("If-None-Match", ETAG_2025))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", ETAG_2025))
+                .andExpect(header().string("Cache-Control", "max-age=3600, public"));
+    }
+
+    @Test
+    void testGetCalendar_WhenCalendarApproximate() throws Exception {
+        when(dayStatusService.getYearCalendar("RU", 2025)).thenReturn(YearCalendar.weekdayApproximation(2025));
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/calendar/2025"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", "no-cache"))
+                .andExpect(jsonPath("$.approximate").value(true));
+    }
+
+    @Test
+    void testGetWorkDays_WhenCorrectRange() throws Exception {
+        LocalDate start = LocalDate.of(2025, 4, 14);
+        LocalDate end = LocalDate.of(2025, 4, 20);
+        when(dayStatusService.getCalendarRange("RU", start, end)).thenReturn(range(start, end, CALENDAR_2025));
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/workdays")
+                        .param("start", start.toString())
+                        .param("end", end.toString()))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", ETAG_2025))
+                .andExpect(jsonPath("$.workDays").value(7))
+                .andExpect(jsonPath("$.version").value(CALENDAR_2025.getFingerprint()));
+
+        verify(dayStatusService, times(1)).getCalendarRange("RU", start, end);
+        verify(dayStatusService, never()).getVersion(any(), any(), any());
+        verify(dayStatusService, never()).countWorkDays(any(), any(), any());
+        verify(dayStatusService, never()).isApproximate(any(), any(), any());
+    }
+
+    @Test
+    void testGetWorkDays_WhenETagMatches() throws Exception {
+        LocalDate start = LocalDate.of(2025, 4, 14);
+        LocalDate end = LocalDate.of(2025, 4, 20);
+        when(dayStatusService.getCalendarRange("RU", start, end)).thenReturn(range(start, end, CALENDAR_2025));
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/workdays")
+                        .param("start", start.toString())
+                        .param("end", end.toString())
+                        .header("If-None-Match", ETAG_2025))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", ETAG_2025))
+                .andExpect(header().string("Cache-Control", "max-age=3600, public"))
+                .andExpect(content().string(""));
+
+        verify(dayStatusService, times(1)).getCalendarRange("RU", start, end);
+    }
+
+    @Test
+    void testGetWorkDaysBatch_WhenCorrectRanges() throws Exception {
+        when(dayStatusService.getCalendarRange(eq("RU"), any(), any()))
+                .thenAnswer(invocation -> range(invocation.getArgument(1), invocation.getArgument(2), CALENDAR_2025));
+
+        mockMvc.perform(MockMvcRequestBuilders.post("/workdays")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"start\":\"2025-04-14\",\"end\":\"2025-04-20\"},"
+                                + "{\"start\":\"2025-05-01\",\"end\":\"2025-05-31\"}]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].workDays").value(7))
+                .andExpect(jsonPath("$[1].workDays").value(31))
+                .andExpect(jsonPath("$[1].version").value(CALENDAR_2025.getFingerprint()));
+    }
+
+    @Test
+    void testGetWorkDays_WhenCountrySpecified() throws Exception {
+        LocalDate start = LocalDate.of(2025, 4, 14);
+        LocalDate end = LocalDate.of(2025, 4, 20);
+        YearCalendar kazakh = YearCalendar.weekdayApproximation(2025);
+        when(dayStatusService.getCalendarRange("KZ", start, end)).thenReturn(range(start, end, kazakh));
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/workdays")
+                        .param("start", start.toString())
+                        .param("end", end.toString())
+                        .param("country", "kz"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"" + kazakh.getFingerprint() + "\""))
+                .andExpect(header().string("Cache-Control", "no-cache"))
+                .andExpect(jsonPath("$.country").value("KZ"))
+                .andExpect(jsonPath("$.workDays").value(5))
+                .andExpect(jsonPath("$.approximate").value(true));
+    }
+
+    @Test
+    void testGetCalendar_WhenCountryNotSupported() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/calendar/2025").param("country", "DE"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Производственный календарь страны DE не поддерживается!"));
+
+        verify(dayStatusService, never()).getYearCalendar(any(), anyInt());
+    }
+
+    private static CalendarRange range(LocalDate start, LocalDate end, YearCalendar calendar) {
+        return new CalendarRange(start, end, List.of(calendar));
+    }
+}
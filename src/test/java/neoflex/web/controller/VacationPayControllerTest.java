@@ -1,49 +1,56 @@
 package neoflex.web.controller;
 
-import neoflex.domain.strategy.PayStrategy;
-import neoflex.domain.strategy.PayStrategyBuilder;
-import neoflex.web.controller.VacationPayController;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import neoflex.domain.model.VacationPayResult;
+import neoflex.domain.service.VacationPayService;
+import neoflex.domain.strategy.ValidationError;
+import neoflex.web.exception.GlobalExceptionHandler;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import java.lang.AutoCloseable;
 import java.time.LocalDate;
 
-import org.junit.jupiter.api.AfterEach;
-import org.springframework.beans.factory.ObjectFactory;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import reactor.core.publisher.Mono;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 public class VacationPayControllerTest {
 
     @Mock
-    private ObjectFactory<PayStrategyBuilder> builderFactory;
-
-    @Mock
-    private PayStrategyBuilder payStrategyBuilder;
+    private VacationPayService vacationPayService;
 
-    @Mock
-    private PayStrategy payStrategy;
-
-    @InjectMocks
     private VacationPayController vacationPayController;
 
+    private SimpleMeterRegistry meterRegistry;
+
     private MockMvc mockMvc;
     private AutoCloseable closeable;
 
     @BeforeEach
     void setUp(){
         closeable = MockitoAnnotations.openMocks(this);
+        meterRegistry = new SimpleMeterRegistry();
+        vacationPayController = new VacationPayController(vacationPayService, meterRegistry);
         mockMvc = MockMvcBuilders.standaloneSetup(vacationPayController).build();
     }
 
@@ -56,12 +63,7 @@ public class VacationPayControllerTest {
     void testCalculateVacationPay_WhenCorrectVacationDays() throws Exception {
         double averageSalary = 60000.0;
         int vacationDays = 10;
-        when(builderFactory.getObject()).thenReturn(payStrategyBuilder);
-        when(payStrategyBuilder.withAverageSalary(averageSalary)).thenReturn(payStrategyBuilder);
-        when(payStrategyBuilder.withVacationDays(vacationDays)).thenReturn(payStrategyBuilder);
-        when(payStrategyBuilder.withStartEndDates(null, null)).thenReturn(payStrategyBuilder);
-        when(payStrategyBuilder.build()).thenReturn(payStrategy);
-        when(payStrategy.calculate()).thenReturn(20477.82);
+        when(vacationPayService.calculateByDays(averageSalary, vacationDays)).thenReturn(20477.82);
 
         mockMvc.perform(MockMvcRequestBuilders.get("/calculate")
                 .param("averageSalary", String.valueOf(averageSalary))
@@ -70,9 +72,10 @@ public class VacationPayControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(content().string("20477.82"));
 
-        verify(payStrategyBuilder).withAverageSalary(averageSalary);
-        verify(payStrategyBuilder).withVacationDays(vacationDays);
-        verify(payStrategy).calculate();
+        verify(vacationPayService).calculateByDays(averageSalary, vacationDays);
+        Timer timer = meterRegistry.find(VacationPayController.CALCULATION_METRIC).tag("strategy", "PayStrategyByDays").timer();
+        assertNotNull(timer);
+        assertEquals(1, timer.count());
     }
 
     @Test
@@ -80,12 +83,7 @@ public class VacationPayControllerTest {
         double averageSalary = 100000.0;
         LocalDate startDate = LocalDate.of(2025,4,14);
         LocalDate endDate = LocalDate.of(2025, 4, 20);
-        when(builderFactory.getObject()).thenReturn(payStrategyBuilder);
-        when(payStrategyBuilder.withAverageSalary(averageSalary)).thenReturn(payStrategyBuilder);
-        when(payStrategyBuilder.withVacationDays(null)).thenReturn(payStrategyBuilder);
-        when(payStrategyBuilder.withStartEndDates(startDate, endDate)).thenReturn(payStrategyBuilder);
-        when(payStrategyBuilder.build()).thenReturn(payStrategy);
-        when(payStrategy.calculate()).thenReturn(17064.85);
+        when(vacationPayService.calculateResultByDates(null, averageSalary, startDate, endDate)).thenReturn(new VacationPayResult(17064.85, false));
 
         mockMvc.perform(MockMvcRequestBuilders.get("/calculate")
                         .param("averageSalary", String.valueOf(averageSalary))
@@ -94,9 +92,7 @@ public class VacationPayControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(content().string("17064.85"));
 
-        verify(payStrategyBuilder).withAverageSalary(averageSalary);
-        verify(payStrategyBuilder).withStartEndDates(startDate, endDate);
-        verify(payStrategy).calculate();
+        verify(vacationPayService).calculateResultByDates(null, averageSalary, startDate, endDate);
     }
 
     @Test
@@ -105,12 +101,7 @@ public class VacationPayControllerTest {
         int vacationDays = 10;
         LocalDate startDate = LocalDate.of(2025,4,14);
         LocalDate endDate = LocalDate.of(2025, 4, 20);
-        when(builderFactory.getObject()).thenReturn(payStrategyBuilder);
-        when(payStrategyBuilder.withAverageSalary(averageSalary)).thenReturn(payStrategyBuilder);
-        when(payStrategyBuilder.withVacationDays(vacationDays)).thenReturn(payStrategyBuilder);
-        when(payStrategyBuilder.withStartEndDates(startDate, endDate)).thenReturn(payStrategyBuilder);
-        when(payStrategyBuilder.build()).thenReturn(payStrategy);
-        when(payStrategy.calculate()).thenReturn(17064.85);
+        when(vacationPayService.calculateResultByDates(null, averageSalary, startDate, endDate)).thenReturn(new VacationPayResult(17064.85, false));
 
         mockMvc.perform(MockMvcRequestBuilders.get("/calculate")
                         .param("averageSalary", String.valueOf(averageSalary))
@@ -120,10 +111,64 @@ public class VacationPayControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(content().string("17064.85"));
 
-        verify(payStrategyBuilder).withAverageSalary(averageSalary);
-        verify(payStrategyBuilder).withVacationDays(vacationDays);
-        verify(payStrategyBuilder).withStartEndDates(startDate, endDate);
-        verify(payStrategy).calculate();
+        verify(vacationPayService).calculateResultByDates(null, averageSalary, startDate, endDate);
+        verify(vacationPayService, never()).calculateByDays(anyDouble(), anyInt());
+    }
+
+    @Test
+    void testCalculateVacationPayAsync_WhenCorrectStartEndDate() throws Exception {
+        double averageSalary = 100000.0;
+        LocalDate startDate = LocalDate.of(2025,4,14);
+        LocalDate endDate = LocalDate.of(2025, 4, 20);
+        when(vacationPayService.calculateResultByDatesAsync(null, averageSalary, startDate, endDate))
+                .thenReturn(Mono.just(new VacationPayResult(17064.85, false)));
+
+        MvcResult mvcResult = mockMvc.perform(MockMvcRequestBuilders.get("/reactive/calculate")
+                        .param("averageSalary", String.valueOf(averageSalary))
+                        .param("startDate", startDate.toString())
+                        .param("endDate", endDate.toString()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk())
+                .andExpect(content().string("17064.85"));
+
+        verify(vacationPayService).calculateResultByDatesAsync(null, averageSalary, startDate, endDate);
+    }
+
+    @Test
+    void testCalculateVacationPay_WhenCalendarApproximate() throws Exception {
+        double averageSalary = 100000.0;
+        LocalDate startDate = LocalDate.of(2025,4,14);
+        LocalDate endDate = LocalDate.of(2025, 4, 20);
+        when(vacationPayService.calculateResultByDates(null, averageSalary, startDate, endDate)).thenReturn(new VacationPayResult(17064.85, true));
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/calculate")
+                        .param("averageSalary", String.valueOf(averageSalary))
+                        .param("startDate", startDate.toString())
+                        .param("endDate", endDate.toString()))
+                .andExpect(status().isOk())
+                .andExpect(header().string(VacationPayController.APPROXIMATE_HEADER, "true"))
+                .andExpect(content().string("17064.85"));
+    }
+
+    @Test
+    void testCalculateVacationPay_WhenCountrySpecified() throws Exception {
+        double averageSalary = 100000.0;
+        LocalDate startDate = LocalDate.of(2025,4,14);
+        LocalDate endDate = LocalDate.of(2025, 4, 20);
+        when(vacationPayService.calculateResultByDates("KZ", averageSalary, startDate, endDate)).thenReturn(new VacationPayResult(17064.85, false));
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/calculate")
+                        .param("averageSalary", String.valueOf(averageSalary))
+                        .param("startDate", startDate.toString())
+                        .param("endDate", endDate.toString())
+                        .param("country", "KZ"))
+                .andExpect(status().isOk())
+                .andExpect(content().string("17064.85"));
+
+        verify(vacationPayService).calculateResultByDates("KZ", averageSalary, startDate, endDate);
     }
 
     @Test
@@ -144,4 +189,34 @@ public class VacationPayControllerTest {
                         .param("endDate", endDate.toString()))
                 .andExpect(status().isBadRequest());
     }
+
+    @Test
+    void testCalculateVacationPay_WhenValidationFails_ThenRejectedWithoutCalculation() throws Exception {
+        double averageSalary = 60000.0;
+        int vacationDays = -5;
+        when(vacationPayService.validateByDays(averageSalary, vacationDays)).thenReturn(ValidationError.VACATION_DAYS_NEGATIVE);
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/calculate")
+                        .param("averageSalary", String.valueOf(averageSalary))
+                        .param("vacationDays", String.valueOf(vacationDays)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code").value("VACATION_DAYS_NEGATIVE"))
+                .andExpect(jsonPath("$.error").value(ValidationError.VACATION_DAYS_NEGATIVE.getMessage()));
+
+        verify(vacationPayService, never()).calculateByDays(anyDouble(), anyInt());
+        assertEquals(1, meterRegistry.get(VacationPayController.REJECTION_METRIC).timer().count());
+        assertEquals(1, meterRegistry.get(GlobalExceptionHandler.ERRORS_METRIC).tag("type", "validation").counter().count());
+    }
+
+    @Test
+    void testCalculateVacationPayAsync_WhenInsufficientData_ThenRejected() throws Exception {
+        MvcResult mvcResult = mockMvc.perform(MockMvcRequestBuilders.get("/reactive/calculate")
+                        .param("averageSalary", "60000.0"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code").value("INSUFFICIENT_DATA"));
+    }
 }
@@ -0,0 +1,83 @@
+package neoflex.web.controller;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import neoflex.domain.model.PlanObjective;
+import neoflex.domain.model.VacationOption;
+import neoflex.domain.model.VacationPlan;
+import neoflex.domain.service.VacationPlannerService;
+import neoflex.domain.strategy.ValidationError;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+public class VacationPlanControllerTest {
+
+    @Mock
+    private VacationPlannerService vacationPlannerService;
+
+    private MockMvc mockMvc;
+    private AutoCloseable closeable;
+
+    @BeforeEach
+    void setUp() {
+        closeable = MockitoAnnotations.openMocks(this);
+        VacationPlanController controller = new VacationPlanController(vacationPlannerService, new SimpleMeterRegistry());
+        mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        closeable.close();
+    }
+
+    @Test
+    void testPlan_WhenCorrectParams() throws Exception {
+        VacationOption option = new VacationOption(LocalDate.of(2025, 1, 1), LocalDate.of(2025, 1, 14), 6, 12286.69);
+        when(vacationPlannerService.plan("KZ", 60000.0, 2025, 14, PlanObjective.MIN_WORK_DAYS, 3))
+                .thenReturn(new VacationPlan("KZ", 2025, 14, PlanObjective.MIN_WORK_DAYS, false, List.of(option)));
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/plan")
+                        .param("averageSalary", "60000.0")
+                        .param("year", "2025")
+                        .param("vacationDays", "14")
+                        .param("objective", "MIN_WORK_DAYS")
+                        .param("top", "3")
+                        .param("country", "KZ"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.objective").value("MIN_WORK_DAYS"))
+                .andExpect(jsonPath("$.options[0].workDays").value(6))
+                .andExpect(jsonPath("$.options[0].pay").value(12286.69));
+    }
+
+    @Test
+    void testPlan_WhenValidationFails_ThenRejectedWithoutPlanning() throws Exception {
+        when(vacationPlannerService.validate(60000.0, 2025, 0, 5))
+                .thenReturn(new ValidationError("VACATION_DAYS_OUT_OF_RANGE", "Длина отпуска должна быть от 1 до 90 дней!"));
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/plan")
+                        .param("averageSalary", "60000.0")
+                        .param("year", "2025")
+                        .param("vacationDays", "0"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code").value("VACATION_DAYS_OUT_OF_RANGE"));
+
+        verify(vacationPlannerService, never()).plan(any(), anyDouble(), anyInt(), anyInt(), any(), anyInt());
+    }
+}
@@ -0,0 +1,99 @@
+package neoflex.web.endpoint;
+
+import neoflex.domain.calendar.CalendarRequestRejectedException;
+import neoflex.domain.model.CalendarSnapshot;
+import neoflex.domain.service.DayStatusService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class CalendarEndpointTest {
+
+    private static final CalendarSnapshot SNAPSHOT_2025 =
+            new CalendarSnapshot("RU", 2025, "1a2b3c4d", Instant.parse("2025-01-01T00:00:00Z"), false, 247);
+
+    private DayStatusService dayStatusService;
+    private CalendarEndpoint calendarEndpoint;
+
+    @BeforeEach
+    void setUp() {
+        dayStatusService = mock(DayStatusService.class);
+        calendarEndpoint = new CalendarEndpoint(dayStatusService, 0.001, 2);
+    }
+
+    @Test
+    void snapshot_WhenYearLoaded_ThenSnapshotReturned() {
+        when(dayStatusService.getSnapshot(null, 2025)).thenReturn(Optional.of(SNAPSHOT_2025));
+
+        WebEndpointResponse<CalendarSnapshot> response = calendarEndpoint.snapshot(2025, null);
+
+        assertEquals(WebEndpointResponse.STATUS_OK, response.getStatus());
+        assertSame(SNAPSHOT_2025, response.getBody());
+    }
+
+    @Test
+    void snapshot_WhenYearNotLoaded_ThenNotFound() {
+        when(dayStatusService.getSnapshot(null, 2030)).thenReturn(Optional.empty());
+
+        WebEndpointResponse<CalendarSnapshot> response = calendarEndpoint.snapshot(2030, null);
+
+        assertEquals(WebEndpointResponse.STATUS_NOT_FOUND, response.getStatus());
+        assertNull(response.getBody());
+    }
+
+    @Test
+    void snapshot_WhenCountryNotSupported_ThenBadRequest() {
+        when(dayStatusService.getSnapshot("XX", 2025)).thenThrow(new IllegalArgumentException("XX"));
+
+        assertEquals(WebEndpointResponse.STATUS_BAD_REQUEST, calendarEndpoint.snapshot(2025, "XX").getStatus());
+    }
+
+    @Test
+    void reload_WhenSourceAvailable_ThenSnapshotReturned() {
+        when(dayStatusService.reloadYear("RU", 2025)).thenReturn(Mono.just(SNAPSHOT_2025));
+
+        WebEndpointResponse<CalendarSnapshot> response = calendarEndpoint.reload(2025, "RU");
+
+        assertEquals(WebEndpointResponse.STATUS_OK, response.getStatus());
+        assertSame(SNAPSHOT_2025, response.getBody());
+    }
+
+    @Test
+    void reload_WhenRateExceeded_ThenTooManyRequestsWithoutSourceRequest() {
+        when(dayStatusService.reloadYear(null, 2025)).thenReturn(Mono.just(SNAPSHOT_2025));
+
+        calendarEndpoint.reload(2025, null);
+        calendarEndpoint.reload(2025, null);
+        WebEndpointResponse<CalendarSnapshot> response = calendarEndpoint.reload(2025, null);
+
+        assertEquals(WebEndpointResponse.STATUS_TOO_MANY_REQUESTS, response.getStatus());
+        verify(dayStatusService, times(2)).reloadYear(null, 2025);
+    }
+
+    @Test
+    void reload_WhenSourceRejectsRequest_ThenServiceUnavailable() {
+        when(dayStatusService.reloadYear(null, 2025))
+                .thenReturn(Mono.error(new CalendarRequestRejectedException("rejected")));
+
+        assertEquals(WebEndpointResponse.STATUS_SERVICE_UNAVAILABLE, calendarEndpoint.reload(2025, null).getStatus());
+    }
+
+    @Test
+    void reload_WhenYearNotSupported_ThenBadRequest() {
+        when(dayStatusService.reloadYear(null, 1900)).thenReturn(Mono.error(new IllegalArgumentException("1900")));
+
+        assertEquals(WebEndpointResponse.STATUS_BAD_REQUEST, calendarEndpoint.reload(1900, null).getStatus());
+    }
+}